@@ -80,6 +80,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/api/cities/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/autocomplete/**").permitAll()
 
                         // AUTH público (login/register)
                         .requestMatchers("/api/auth/**").permitAll()
@@ -111,6 +112,10 @@ public class SecurityConfig {
                         // =========================
 
                         .requestMatchers("/api/me").authenticated()
+                        .requestMatchers("/api/me/**").authenticated()
+
+                        // Reservas: cualquier usuario autenticado (el service valida el dueño)
+                        .requestMatchers("/api/reservations/**").authenticated()
 
                         .requestMatchers(HttpMethod.GET, "/api/admin/users")
                         .hasAnyRole("ADMIN", "SUPER_ADMIN")
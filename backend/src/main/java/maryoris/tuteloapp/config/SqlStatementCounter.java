@@ -0,0 +1,57 @@
+package maryoris.tuteloapp.config;
+
+/*
+ * Contador de sentencias SQL por hilo (lo alimenta SqlStatementCountingConfig).
+ * Los valores solo crecen: quien quiera medir un tramo toma un Snapshot
+ * al inicio y pide la diferencia al final. Así el filtro HTTP y los tests
+ * pueden medir a la vez sin pisarse.
+ */
+public final class SqlStatementCounter {
+
+    // [0] = sentencias ejecutadas, [1] = nanos acumulados
+    private static final ThreadLocal<long[]> STATS = ThreadLocal.withInitial(() -> new long[2]);
+
+    private SqlStatementCounter() {}
+
+    static void record(long nanos) {
+        long[] stats = STATS.get();
+        stats[0]++;
+        stats[1] += nanos;
+    }
+
+    public static Snapshot start() {
+        long[] stats = STATS.get();
+        return new Snapshot(stats[0], stats[1]);
+    }
+
+    public static final class Snapshot {
+
+        private final long count;
+        private final long nanos;
+
+        private Snapshot(long count, long nanos) {
+            this.count = count;
+            this.nanos = nanos;
+        }
+
+        public Usage usage() {
+            long[] stats = STATS.get();
+            return new Usage(stats[0] - count, stats[1] - nanos);
+        }
+    }
+
+    public static final class Usage {
+
+        private final long statements;
+        private final long nanos;
+
+        private Usage(long statements, long nanos) {
+            this.statements = statements;
+            this.nanos = nanos;
+        }
+
+        public long getStatements() { return statements; }
+        public long getNanos() { return nanos; }
+        public long getMillis() { return nanos / 1_000_000; }
+    }
+}
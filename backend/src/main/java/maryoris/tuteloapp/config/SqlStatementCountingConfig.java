@@ -0,0 +1,72 @@
+package maryoris.tuteloapp.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/*
+ * Envuelve el DataSource para contar (y cronometrar) cada sentencia SQL
+ * que se ejecuta, sin depender de Hibernate: cubre también JdbcTemplate.
+ * Los números quedan en SqlStatementCounter, por hilo.
+ *
+ * Se usa un proxy de clase (ProxyFactory) para que el bean siga siendo
+ * un HikariDataSource para el resto de la configuración de Spring Boot.
+ */
+@Configuration
+public class SqlStatementCountingConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return countingProxy(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static DataSource countingProxy(DataSource target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            Object result = invocation.proceed();
+            return result instanceof Connection connection ? countingProxy(connection) : result;
+        });
+        return (DataSource) factory.getProxy();
+    }
+
+    private static Connection countingProxy(Connection target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            Object result = invocation.proceed();
+            return result instanceof Statement statement ? countingProxy(statement) : result;
+        });
+        return (Connection) factory.getProxy();
+    }
+
+    // Statement, PreparedStatement y CallableStatement: cuenta cada execute*
+    private static Statement countingProxy(Statement target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            if (!invocation.getMethod().getName().startsWith("execute")) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                SqlStatementCounter.record(System.nanoTime() - start);
+            }
+        });
+        return (Statement) factory.getProxy();
+    }
+}
@@ -0,0 +1,113 @@
+package maryoris.tuteloapp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/*
+ * Solo para desarrollo (perfil dev, tutelo.sql.query-headers=true): agrega a cada
+ * respuesta cuántas sentencias SQL ejecutó el request y cuánto tardaron.
+ *   X-SQL-Statements: 2
+ *   X-SQL-Time-Ms: 3
+ * Los headers se escriben justo antes de que empiece el cuerpo (después ya no
+ * se pueden agregar); lo que se ejecute más tarde queda en el log DEBUG.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "tutelo.sql.query-headers", havingValue = "true")
+public class SqlStatementHeaderFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementHeaderFilter.class);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        SqlStatementCounter.Snapshot snapshot = SqlStatementCounter.start();
+        HeaderWritingResponse wrapped = new HeaderWritingResponse(response, snapshot);
+
+        try {
+            chain.doFilter(request, wrapped);
+        } finally {
+            wrapped.writeHeaders();
+
+            SqlStatementCounter.Usage usage = snapshot.usage();
+            log.debug("{} {} -> {} sentencias SQL en {} ms",
+                    request.getMethod(), request.getRequestURI(), usage.getStatements(), usage.getMillis());
+        }
+    }
+
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementCounter.Snapshot snapshot;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStatementCounter.Snapshot snapshot) {
+            super(response);
+            this.snapshot = snapshot;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+
+            SqlStatementCounter.Usage usage = snapshot.usage();
+            setHeader(STATEMENTS_HEADER, String.valueOf(usage.getStatements()));
+            setHeader(TIME_HEADER, String.valueOf(usage.getMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -1,28 +1,54 @@
 package maryoris.tuteloapp.controller;
 
 import jakarta.validation.Valid;
+import maryoris.tuteloapp.dto.HotelImportResponse;
+import maryoris.tuteloapp.dto.HotelPricingRequest;
+import maryoris.tuteloapp.dto.HotelPricingResponse;
 import maryoris.tuteloapp.dto.HotelRequest;
 import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.service.HotelCatalogStreamer;
+import maryoris.tuteloapp.service.HotelImportService;
 import maryoris.tuteloapp.service.HotelService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import maryoris.tuteloapp.dto.HotelCharacteristicValueRequest;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/admin/hotels")
 public class AdminHotelController {
 
     private final HotelService service;
+    private final HotelImportService importService;
+    private final HotelCatalogStreamer streamer;
 
-    public AdminHotelController(HotelService service) {
+    public AdminHotelController(HotelService service, HotelImportService importService, HotelCatalogStreamer streamer) {
         this.service = service;
+        this.importService = importService;
+        this.streamer = streamer;
     }
 
+    /*
+     * Si el nombre + dirección se parece a otro hotel de la misma ciudad
+     * responde 409 con los candidatos en details; allowDuplicate=true lo crea igual.
+     */
     @PostMapping
-    public HotelEntity create(@Valid @RequestBody HotelRequest req) {
-        return service.create(req);
+    public HotelEntity create(
+            @Valid @RequestBody HotelRequest req,
+            @RequestParam(defaultValue = "false") boolean allowDuplicate
+    ) {
+        return service.create(req, allowDuplicate);
     }
 
     @PutMapping("/{id}")
@@ -44,5 +70,82 @@ public class AdminHotelController {
         return service.updateCharacteristics(id, request);
     }
 
+    @GetMapping("/{id}/pricing")
+    public HotelPricingResponse getPricing(@PathVariable Long id) {
+        return service.getPricing(id);
+    }
 
+    /*
+     * Reemplaza tarifa base y reglas de temporada / día de semana:
+     * { "baseRate": 50000, "rules": [
+     *     { "startDate": "2025-12-20", "endDate": "2026-02-28", "percent": 30 },
+     *     { "weekdays": ["FRIDAY", "SATURDAY"], "percent": 15, "priority": 1 } ] }
+     */
+    @PutMapping("/{id}/pricing")
+    public HotelPricingResponse updatePricing(@PathVariable Long id, @Valid @RequestBody HotelPricingRequest req) {
+        return service.updatePricing(id, req);
+    }
+
+    /*
+     * Importación masiva. format = csv | ndjson; si no se envía se deduce de
+     * la extensión del archivo. Las filas con error se informan en la
+     * respuesta y no frenan el resto del archivo.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public HotelImportResponse importHotels(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false) String format
+    ) {
+        HotelImportService.Format resolved = resolveFormat(format, file.getOriginalFilename());
+
+        try (InputStream in = file.getInputStream()) {
+            return importService.importHotels(in, resolved);
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No se pudo leer el archivo", ex);
+        }
+    }
+
+    /*
+     * Exportación completa en NDJSON: una línea por hotel con el mismo JSON
+     * que GET /api/hotels/{id}. Se lee con cursor y se escribe a medida que
+     * llega, así el consumo de memoria no depende del tamaño del catálogo.
+     * Con Accept-Encoding: gzip la salida se comprime al vuelo.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"hotels.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (!gzip) {
+            return builder.body(streamer::writeNdjsonTo);
+        }
+
+        return builder
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    GZIPOutputStream gz = new GZIPOutputStream(out, 64 * 1024);
+                    streamer.writeNdjsonTo(gz);
+                    gz.finish();
+                });
+    }
+
+    private HotelImportService.Format resolveFormat(String format, String filename) {
+        String value = format;
+        if (value == null || value.isBlank()) {
+            String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) value = "csv";
+            else if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) value = "ndjson";
+        }
+
+        if ("csv".equalsIgnoreCase(value)) return HotelImportService.Format.CSV;
+        if ("ndjson".equalsIgnoreCase(value) || "jsonl".equalsIgnoreCase(value)) return HotelImportService.Format.NDJSON;
+
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato de importación inválido (csv | ndjson)");
+    }
 }
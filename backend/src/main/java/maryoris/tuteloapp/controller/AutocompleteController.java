@@ -0,0 +1,40 @@
+package maryoris.tuteloapp.controller;
+
+import maryoris.tuteloapp.dto.AutocompleteSuggestionResponse;
+import maryoris.tuteloapp.service.AutocompleteIndex;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+public class AutocompleteController {
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    public AutocompleteController(AutocompleteIndex autocompleteIndex) {
+        this.autocompleteIndex = autocompleteIndex;
+    }
+
+    // GET /api/autocomplete?q=bar&type=CITY&limit=5
+    // Sugerencias de ciudades, hoteles y categorías ordenadas por cantidad de hoteles
+    @GetMapping
+    public List<AutocompleteSuggestionResponse> suggest(
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        AutocompleteIndex.Type filter = null;
+        if (type != null && !type.isBlank()) {
+            try {
+                filter = AutocompleteIndex.Type.valueOf(type.trim().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "type debe ser CITY, HOTEL o CATEGORY");
+            }
+        }
+
+        return autocompleteIndex.suggest(q == null ? "" : q, filter, limit);
+    }
+}
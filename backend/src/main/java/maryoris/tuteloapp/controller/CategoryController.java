@@ -2,35 +2,51 @@ package maryoris.tuteloapp.controller;
 
 import maryoris.tuteloapp.entity.CategoryEntity;
 import maryoris.tuteloapp.repository.CategoryRepository;
+import maryoris.tuteloapp.service.CatalogChangedEvent;
 import maryoris.tuteloapp.service.FileStorageService;
+import maryoris.tuteloapp.service.PublicCatalogCache;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/categories")
 public class CategoryController {
 
     private final CategoryRepository repo;
     private final FileStorageService storage;
-
-    public CategoryController(CategoryRepository repo, FileStorageService storage) {
+    private final ApplicationEventPublisher events;
+    private final PublicCatalogCache catalogCache;
+
+    public CategoryController(
+            CategoryRepository repo,
+            FileStorageService storage,
+            ApplicationEventPublisher events,
+            PublicCatalogCache catalogCache
+    ) {
         this.repo = repo;
         this.storage = storage;
+        this.events = events;
+        this.catalogCache = catalogCache;
     }
 
     // ===============================
     // ✅ LISTAR (para el panel admin y sitio)
     // GET /api/categories
+    // (sale del catálogo en memoria, ya serializado)
     // ===============================
     @GetMapping
-    public List<CategoryEntity> list() {
-        return repo.findAll();
+    public ResponseEntity<byte[]> list(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return PublicCatalogResponses.of(catalogCache.get().getCategoriesBody(), acceptEncoding, ifNoneMatch);
     }
 
     // ===============================
@@ -70,7 +86,9 @@ public class CategoryController {
             category.setDescription(description.trim());
             category.setImageUrl(imageUrl);
 
-            return repo.save(category);
+            CategoryEntity saved = repo.save(category);
+            events.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.CATEGORY, saved.getId()));
+            return saved;
 
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Categoría duplicada (name/slug)", ex);
@@ -104,7 +122,9 @@ public class CategoryController {
         }
 
         try {
-            return repo.save(existing);
+            CategoryEntity saved = repo.save(existing);
+            events.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.CATEGORY, saved.getId()));
+            return saved;
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Conflicto (slug duplicado)", ex);
         }
@@ -143,7 +163,9 @@ public class CategoryController {
         }
 
         try {
-            return repo.save(existing);
+            CategoryEntity saved = repo.save(existing);
+            events.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.CATEGORY, saved.getId()));
+            return saved;
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Conflicto (slug duplicado)", ex);
         }
@@ -161,6 +183,7 @@ public class CategoryController {
         }
         try {
             repo.deleteById(id);
+            events.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.CATEGORY, id));
         } catch (DataIntegrityViolationException ex) {
             // por FK en hoteles/categorías, etc.
             throw new ResponseStatusException(HttpStatus.CONFLICT, "No se puede eliminar: categoría en uso", ex);
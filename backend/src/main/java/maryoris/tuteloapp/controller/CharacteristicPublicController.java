@@ -1,30 +1,26 @@
 package maryoris.tuteloapp.controller;
 
-import maryoris.tuteloapp.dto.CharacteristicPublicResponse;
-import maryoris.tuteloapp.repository.CharacteristicRepository;
+import maryoris.tuteloapp.service.PublicCatalogCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/characteristics")
 public class CharacteristicPublicController {
 
-    private final CharacteristicRepository characteristicRepository;
+    private final PublicCatalogCache catalogCache;
 
-    public CharacteristicPublicController(CharacteristicRepository characteristicRepository) {
-        this.characteristicRepository = characteristicRepository;
+    public CharacteristicPublicController(PublicCatalogCache catalogCache) {
+        this.catalogCache = catalogCache;
     }
 
+    // Sale del catálogo en memoria, ya serializado (ver PublicCatalogCache)
     @GetMapping
-    public List<CharacteristicPublicResponse> list() {
-        return characteristicRepository.findAll()
-                .stream()
-                .map(c -> new CharacteristicPublicResponse(
-                        c.getId(),
-                        c.getName(),
-                        c.getType() != null ? c.getType().name() : null
-                ))
-                .toList();
+    public ResponseEntity<byte[]> list(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return PublicCatalogResponses.of(catalogCache.get().getCharacteristicsBody(), acceptEncoding, ifNoneMatch);
     }
 }
@@ -1,7 +1,6 @@
 package maryoris.tuteloapp.controller;
 
-import maryoris.tuteloapp.repository.HotelRepository;
-import org.springframework.data.domain.PageRequest;
+import maryoris.tuteloapp.service.AutocompleteIndex;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -11,22 +10,19 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:5173") // en prod lo ajustás
 public class CitiesController {
 
-    private final HotelRepository hotelRepository;
+    private final AutocompleteIndex autocompleteIndex;
 
-    public CitiesController(HotelRepository hotelRepository) {
-        this.hotelRepository = hotelRepository;
+    public CitiesController(AutocompleteIndex autocompleteIndex) {
+        this.autocompleteIndex = autocompleteIndex;
     }
 
     // GET /api/cities?s=bu
+    // Se resuelve en memoria (AutocompleteIndex): sin LIKE ni DISTINCT por tecla.
+    // Si está vacío, devuelve las ciudades con más hoteles; con errores de tipeo
+    // ("barilohe") se completan con las ciudades más parecidas.
     @GetMapping("/cities")
     public List<String> cities(@RequestParam(name = "s", required = false) String s) {
         String q = (s == null) ? "" : s.trim();
-
-        // Si está vacío, devuelve un listado base (ej: primeras 10)
-        if (q.isBlank()) {
-            return hotelRepository.listCities(PageRequest.of(0, 10));
-        }
-
-        return hotelRepository.suggestCities(q, PageRequest.of(0, 10));
+        return autocompleteIndex.suggestCities(q, 10);
     }
-}
\ No newline at end of file
+}
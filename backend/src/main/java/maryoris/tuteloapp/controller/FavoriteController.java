@@ -0,0 +1,48 @@
+package maryoris.tuteloapp.controller;
+
+import maryoris.tuteloapp.dto.RawJson;
+import maryoris.tuteloapp.service.FavoriteService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/*
+ * Favoritos del usuario autenticado.
+ * PUT y DELETE son idempotentes: marcar dos veces el mismo hotel no falla.
+ */
+@RestController
+@RequestMapping("/api/me/favorites")
+public class FavoriteController {
+
+    private final FavoriteService service;
+
+    public FavoriteController(FavoriteService service) {
+        this.service = service;
+    }
+
+    // Resúmenes de los hoteles favoritos, el más reciente primero
+    @GetMapping
+    public List<RawJson> list(Authentication authentication) {
+        return service.list(authentication.getName());
+    }
+
+    // Solo los ids, para marcar favoritos sobre el listado completo
+    @GetMapping("/ids")
+    public List<Long> ids(Authentication authentication) {
+        return service.ids(authentication.getName());
+    }
+
+    @PutMapping("/{hotelId}")
+    public ResponseEntity<Void> add(@PathVariable Long hotelId, Authentication authentication) {
+        service.add(authentication.getName(), hotelId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{hotelId}")
+    public ResponseEntity<Void> remove(@PathVariable Long hotelId, Authentication authentication) {
+        service.remove(authentication.getName(), hotelId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,6 +2,7 @@ package maryoris.tuteloapp.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
 import maryoris.tuteloapp.dto.ApiErrorResponse;
+import maryoris.tuteloapp.service.DuplicateHotelException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -38,7 +39,7 @@ public class GlobalExceptionHandler {
                 status,
                 ex.getReason() != null ? ex.getReason() : "Error de negocio",
                 request.getRequestURI(),
-                null
+                ex instanceof DuplicateHotelException duplicate ? duplicate.getCandidates() : null
         );
 
         return ResponseEntity.status(status).body(body);
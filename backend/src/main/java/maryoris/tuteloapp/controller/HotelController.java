@@ -1,15 +1,36 @@
 package maryoris.tuteloapp.controller;
 
 import jakarta.validation.Valid;
-import maryoris.tuteloapp.dto.HotelPublicResponse;
+import maryoris.tuteloapp.dto.HotelComparisonResponse;
+import maryoris.tuteloapp.dto.HotelFacetsResponse;
+import maryoris.tuteloapp.dto.HotelNearbyResponse;
+import maryoris.tuteloapp.dto.HotelPageResponse;
 import maryoris.tuteloapp.dto.HotelRequest;
+import maryoris.tuteloapp.dto.HotelSearchResponse;
+import maryoris.tuteloapp.dto.HotelSimilarItem;
+import maryoris.tuteloapp.dto.PriceQuoteResponse;
+import maryoris.tuteloapp.dto.RawJson;
 import maryoris.tuteloapp.dto.UpdateHotelCategoriesRequest;
 import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.repository.HotelPublicViewRepository;
+import maryoris.tuteloapp.service.FavoriteService;
+import maryoris.tuteloapp.service.HotelCatalogStreamer;
+import maryoris.tuteloapp.service.HotelSearchCriteria;
 import maryoris.tuteloapp.service.HotelService;
+import maryoris.tuteloapp.service.NumericRange;
+import maryoris.tuteloapp.service.PublicCatalogCache;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -33,24 +54,226 @@ import java.util.Map;
 public class HotelController {
 
     private final HotelService service;
+    private final PublicCatalogCache catalogCache;
+    private final HotelCatalogStreamer streamer;
+    private final FavoriteService favorites;
 
-    public HotelController(HotelService service) {
+    public HotelController(
+            HotelService service,
+            PublicCatalogCache catalogCache,
+            HotelCatalogStreamer streamer,
+            FavoriteService favorites
+    ) {
         this.service = service;
+        this.catalogCache = catalogCache;
+        this.streamer = streamer;
+        this.favorites = favorites;
     }
 
     @PostMapping
-    public HotelEntity create(@Valid @RequestBody HotelRequest req) {
-        return service.create(req);
+    public HotelEntity create(
+            @Valid @RequestBody HotelRequest req,
+            @RequestParam(defaultValue = "false") boolean allowDuplicate
+    ) {
+        return service.create(req, allowDuplicate);
     }
 
+    /*
+     * Sin parámetros devuelve el listado completo (compatibilidad con el frontend),
+     * ya serializado en memoria por PublicCatalogCache.
+     * Con after/limit/city/categoryId responde una página por cursor:
+     * GET /api/hotels?limit=20&city=Mendoza&after=<nextCursor>
+     * Con checkIn/checkOut solo se listan hoteles con lugar en esas fechas;
+     * se resuelve con los índices en memoria, como /search:
+     * GET /api/hotels?city=Mendoza&checkIn=2025-03-03&checkOut=2025-03-07
+     * sort=price | -price ordena por precio (de la estadía o de esta noche);
+     * sort=-rating pone primero los mejor puntuados.
+     * En las respuestas paginadas, si hay usuario autenticado, favoriteIds
+     * indica cuáles hoteles de la página son favoritos suyos. El listado
+     * completo se sirve ya serializado y no los incluye (ver /api/me/favorites/ids).
+     */
     @GetMapping
-    public List<HotelPublicResponse> list() {
-        return service.listPublic();
+    public ResponseEntity<?> list(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) String sort,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication
+    ) {
+        if (checkIn != null || checkOut != null || sort != null) {
+            HotelSearchCriteria criteria = new HotelSearchCriteria(
+                    city == null ? null : List.of(city),
+                    categoryId == null ? null : List.of(categoryId),
+                    null, null, checkIn, checkOut);
+            HotelSearchResponse response = service.search(criteria, null, sort, after, limit);
+            response.setFavoriteIds(favoriteIds(authentication, response.getHotelIds()));
+            return ResponseEntity.ok(response);
+        }
+        if (after == null && limit == null && city == null && categoryId == null) {
+            return PublicCatalogResponses.of(catalogCache.get().getHotelsBody(), acceptEncoding, ifNoneMatch);
+        }
+        HotelPageResponse page = service.listPublicPage(after, limit, city, categoryId);
+        page.setFavoriteIds(favoriteIds(authentication, page.getHotelIds()));
+        return ResponseEntity.ok(page);
     }
 
+    /*
+     * Listado completo en modo streaming: los hoteles se leen de la base
+     * por bloques y se escriben a medida que llegan, sin armar la lista
+     * entera en memoria. Pensado para exportaciones o clientes que procesan
+     * el catálogo completo.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(streamer::writeTo);
+    }
+
+    /*
+     * Búsqueda facetada resuelta en memoria (HotelSearchIndex).
+     * GET /api/hotels/search?city=Mendoza&categoryId=1&characteristicId=3&characteristicId=5
+     * Con q=... además se busca texto en nombre, ciudad, dirección y descripción
+     * y se ordena por relevancia.
+     * range=characteristicId:min-max filtra por características NUMBER
+     * (range=3:50- -> al menos 50 habitaciones).
+     * checkIn/checkOut dejan solo hoteles con una habitación libre esas noches.
+     * minPrice/maxPrice filtran por el total de la estadía (sin fechas, por
+     * la tarifa de esta noche) y sort=price | -price ordena por ese precio;
+     * sort=rating | -rating ordena por puntaje promedio de las reseñas.
+     */
+    @GetMapping("/search")
+    public HotelSearchResponse search(
+            @RequestParam(required = false) String q,
+            @RequestParam(name = "city", required = false) List<String> cities,
+            @RequestParam(name = "categoryId", required = false) List<Long> categoryIds,
+            @RequestParam(name = "characteristicId", required = false) List<Long> characteristicIds,
+            @RequestParam(name = "range", required = false) List<String> ranges,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication
+    ) {
+        HotelSearchCriteria criteria = new HotelSearchCriteria(
+                cities, categoryIds, characteristicIds, parseRanges(ranges), checkIn, checkOut, minPrice, maxPrice);
+        HotelSearchResponse response = service.search(criteria, q, sort, after, limit);
+        response.setFavoriteIds(favoriteIds(authentication, response.getHotelIds()));
+        return response;
+    }
+
+    /*
+     * Cantidad de hoteles por ciudad, categoría y característica
+     * para los mismos filtros de /search.
+     */
+    @GetMapping("/facets")
+    public HotelFacetsResponse facets(
+            @RequestParam(name = "city", required = false) List<String> cities,
+            @RequestParam(name = "categoryId", required = false) List<Long> categoryIds,
+            @RequestParam(name = "characteristicId", required = false) List<Long> characteristicIds,
+            @RequestParam(name = "range", required = false) List<String> ranges,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice
+    ) {
+        return service.facets(new HotelSearchCriteria(
+                cities, categoryIds, characteristicIds, parseRanges(ranges), checkIn, checkOut, minPrice, maxPrice));
+    }
+
+    /*
+     * Comparación lado a lado de características.
+     * GET /api/hotels/compare?id=1&id=4&id=9
+     */
+    @GetMapping("/compare")
+    public HotelComparisonResponse compare(@RequestParam(name = "id") List<Long> ids) {
+        return service.compare(ids);
+    }
+
+    /*
+     * Hoteles cerca de un punto, del más cercano al más lejano.
+     * GET /api/hotels/near?lat=-41.13&lng=-71.31&radiusKm=5&limit=20
+     */
+    @GetMapping("/near")
+    public HotelNearbyResponse near(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return service.near(lat, lng, radiusKm, limit);
+    }
+
+    /*
+     * "También te puede interesar" para la página de detalle: hoteles con
+     * categorías y características parecidas, del más parecido al menos.
+     * Va aparte de GET /{id} para no atar el ETag del detalle a cambios en
+     * otros hoteles.
+     * GET /api/hotels/7/similar?limit=6
+     */
+    @GetMapping("/{id}/similar")
+    public List<HotelSimilarItem> similar(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return service.similar(id, limit);
+    }
+
+    /*
+     * Precio de cada noche y total de una estadía.
+     * GET /api/hotels/7/price?checkIn=2025-03-03&checkOut=2025-03-07
+     */
+    @GetMapping("/{id}/price")
+    public PriceQuoteResponse price(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut
+    ) {
+        return service.quote(id, checkIn, checkOut);
+    }
+
+    // null para visitantes anónimos; la pertenencia se resuelve en memoria (FavoriteService)
+    private List<Long> favoriteIds(Authentication authentication, List<Long> hotelIds) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return favorites.favoritedAmong(authentication.getName(), hotelIds);
+    }
+
+    private List<NumericRange> parseRanges(List<String> ranges) {
+        return ranges == null ? List.of() : ranges.stream().map(NumericRange::parse).toList();
+    }
+
+    /*
+     * El ETag es la versión del hotel. Si el cliente ya tiene la vigente
+     * (según el catálogo en memoria) se responde 304 sin ir a la base.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<HotelEntity> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getById(id));
+    public ResponseEntity<RawJson> getById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        Long current = catalogCache.hotelVersion(id);
+        if (current != null && PublicCatalogResponses.matches(ifNoneMatch, PublicCatalogResponses.hotelEtag(id, current))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(PublicCatalogResponses.hotelEtag(id, current))
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        HotelPublicViewRepository.DetailRow detail = service.getPublicDetail(id);
+        return ResponseEntity.ok()
+                .eTag(PublicCatalogResponses.hotelEtag(id, detail.getHotelVersion()))
+                .cacheControl(CacheControl.noCache())
+                .body(new RawJson(detail.getDetailJson()));
     }
 
     @DeleteMapping("/{id}")
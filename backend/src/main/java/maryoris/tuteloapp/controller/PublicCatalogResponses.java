@@ -0,0 +1,75 @@
+package maryoris.tuteloapp.controller;
+
+import maryoris.tuteloapp.service.PublicCatalogSnapshot;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/*
+ * Arma las respuestas HTTP del catálogo público a partir de datos en memoria.
+ * - Si el cliente acepta gzip se envía la versión comprimida de antemano.
+ * - Cada representación lleva un ETag fuerte; si coincide con If-None-Match
+ *   se responde 304 sin cuerpo y sin consultar la base.
+ * - Cache-Control: no-cache obliga al navegador a revalidar en cada uso,
+ *   así los cambios del admin se ven enseguida y el resto de las veces
+ *   solo viaja un 304.
+ */
+final class PublicCatalogResponses {
+
+    private PublicCatalogResponses() {}
+
+    static ResponseEntity<byte[]> of(PublicCatalogSnapshot.Body body, String acceptEncoding, String ifNoneMatch) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        // gzip y JSON plano son representaciones distintas: cada una con su ETag
+        String etag = quote(gzip ? body.getEtag() + "-gz" : body.getEtag());
+
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.getGzip());
+        }
+        return builder.body(body.getJson());
+    }
+
+    static String hotelEtag(Long hotelId, long version) {
+        return quote(hotelId + "-v" + version);
+    }
+
+    // If-None-Match usa comparación débil (RFC 9110): se ignora el prefijo W/
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
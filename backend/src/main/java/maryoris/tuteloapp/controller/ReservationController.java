@@ -0,0 +1,59 @@
+package maryoris.tuteloapp.controller;
+
+import jakarta.validation.Valid;
+import maryoris.tuteloapp.dto.AvailabilityResponse;
+import maryoris.tuteloapp.dto.ReservationRequest;
+import maryoris.tuteloapp.dto.ReservationResponse;
+import maryoris.tuteloapp.service.ReservationService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationController {
+
+    private final ReservationService service;
+
+    public ReservationController(ReservationService service) {
+        this.service = service;
+    }
+
+    // POST /api/reservations  {"hotelId":1,"checkIn":"2025-03-03","checkOut":"2025-03-07","rooms":1}
+    @PostMapping
+    public ResponseEntity<ReservationResponse> create(
+            @Valid @RequestBody ReservationRequest req,
+            Authentication authentication
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.create(authentication.getName(), req));
+    }
+
+    // Reservas del usuario autenticado, las más próximas primero
+    @GetMapping
+    public List<ReservationResponse> mine(Authentication authentication) {
+        return service.listMine(authentication.getName());
+    }
+
+    // El dueño de la reserva o un admin pueden cancelarla
+    @PostMapping("/{id}/cancel")
+    public ReservationResponse cancel(@PathVariable Long id, Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        return service.cancel(authentication.getName(), admin, id);
+    }
+
+    // GET /api/reservations/availability?hotelId=1&checkIn=2025-03-03&checkOut=2025-03-07
+    @GetMapping("/availability")
+    public AvailabilityResponse availability(
+            @RequestParam Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut
+    ) {
+        return service.availability(hotelId, checkIn, checkOut);
+    }
+}
@@ -0,0 +1,59 @@
+package maryoris.tuteloapp.controller;
+
+import jakarta.validation.Valid;
+import maryoris.tuteloapp.dto.ReviewPageResponse;
+import maryoris.tuteloapp.dto.ReviewRequest;
+import maryoris.tuteloapp.dto.ReviewResponse;
+import maryoris.tuteloapp.service.ReviewService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/*
+ * Reseñas de un hotel. Leer es público (GET /api/hotels/**); escribir
+ * requiere usuario autenticado.
+ */
+@RestController
+@RequestMapping("/api/hotels/{hotelId}/reviews")
+public class ReviewController {
+
+    private final ReviewService service;
+
+    public ReviewController(ReviewService service) {
+        this.service = service;
+    }
+
+    // GET /api/hotels/7/reviews?limit=20&after=<nextCursor>
+    @GetMapping
+    public ReviewPageResponse list(
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return service.list(hotelId, after, limit);
+    }
+
+    // POST /api/hotels/7/reviews  {"score":5,"text":"Excelente desayuno"}
+    @PostMapping
+    public ResponseEntity<ReviewResponse> create(
+            @PathVariable Long hotelId,
+            @Valid @RequestBody ReviewRequest req,
+            Authentication authentication
+    ) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.create(authentication.getName(), hotelId, req));
+    }
+
+    // El autor o un admin pueden borrarla
+    @DeleteMapping("/{reviewId}")
+    public ResponseEntity<Void> delete(
+            @PathVariable Long hotelId,
+            @PathVariable Long reviewId,
+            Authentication authentication
+    ) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        service.delete(authentication.getName(), admin, hotelId, reviewId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,38 @@
+package maryoris.tuteloapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// type: CITY | HOTEL | CATEGORY (las ciudades no tienen id)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AutocompleteSuggestionResponse {
+    private String type;
+    private Long id;
+    private String label;
+    private int hotelsCount;
+    // true cuando la sugerencia es una coincidencia aproximada (error de tipeo)
+    private Boolean fuzzy;
+
+    public AutocompleteSuggestionResponse() {}
+
+    public AutocompleteSuggestionResponse(String type, Long id, String label, int hotelsCount) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+        this.hotelsCount = hotelsCount;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+
+    public int getHotelsCount() { return hotelsCount; }
+    public void setHotelsCount(int hotelsCount) { this.hotelsCount = hotelsCount; }
+
+    public Boolean getFuzzy() { return fuzzy; }
+    public void setFuzzy(Boolean fuzzy) { this.fuzzy = fuzzy; }
+}
@@ -0,0 +1,32 @@
+package maryoris.tuteloapp.dto;
+
+import java.time.LocalDate;
+
+public class AvailabilityResponse {
+    private Long hotelId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    // Habitaciones libres en todas las noches del rango
+    private int availableRooms;
+
+    public AvailabilityResponse() {}
+
+    public AvailabilityResponse(Long hotelId, LocalDate checkIn, LocalDate checkOut, int availableRooms) {
+        this.hotelId = hotelId;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.availableRooms = availableRooms;
+    }
+
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public LocalDate getCheckIn() { return checkIn; }
+    public void setCheckIn(LocalDate checkIn) { this.checkIn = checkIn; }
+
+    public LocalDate getCheckOut() { return checkOut; }
+    public void setCheckOut(LocalDate checkOut) { this.checkOut = checkOut; }
+
+    public int getAvailableRooms() { return availableRooms; }
+    public void setAvailableRooms(int availableRooms) { this.availableRooms = availableRooms; }
+}
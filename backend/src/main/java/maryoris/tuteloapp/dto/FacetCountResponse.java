@@ -0,0 +1,28 @@
+package maryoris.tuteloapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// id para categorías/características, value para ciudades
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FacetCountResponse {
+    private Long id;
+    private String value;
+    private long count;
+
+    public FacetCountResponse() {}
+
+    public FacetCountResponse(Long id, String value, long count) {
+        this.id = id;
+        this.value = value;
+        this.count = count;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
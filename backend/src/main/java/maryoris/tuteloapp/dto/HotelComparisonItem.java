@@ -0,0 +1,33 @@
+package maryoris.tuteloapp.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class HotelComparisonItem {
+    private Long id;
+    private String name;
+    private String city;
+    // characteristicId -> valor (Integer para NUMBER, Boolean para BOOLEAN)
+    private Map<Long, Object> values = new LinkedHashMap<>();
+
+    public HotelComparisonItem() {}
+
+    public HotelComparisonItem(Long id, String name, String city, Map<Long, Object> values) {
+        this.id = id;
+        this.name = name;
+        this.city = city;
+        this.values = values;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public Map<Long, Object> getValues() { return values; }
+    public void setValues(Map<Long, Object> values) { this.values = values; }
+}
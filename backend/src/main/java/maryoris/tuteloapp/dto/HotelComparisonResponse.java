@@ -0,0 +1,26 @@
+package maryoris.tuteloapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Tabla comparativa: las columnas son las características que tiene al
+ * menos uno de los hoteles y cada hotel trae su valor para cada una.
+ */
+public class HotelComparisonResponse {
+    private List<CharacteristicPublicResponse> characteristics = new ArrayList<>();
+    private List<HotelComparisonItem> hotels = new ArrayList<>();
+
+    public HotelComparisonResponse() {}
+
+    public HotelComparisonResponse(List<CharacteristicPublicResponse> characteristics, List<HotelComparisonItem> hotels) {
+        this.characteristics = characteristics;
+        this.hotels = hotels;
+    }
+
+    public List<CharacteristicPublicResponse> getCharacteristics() { return characteristics; }
+    public void setCharacteristics(List<CharacteristicPublicResponse> characteristics) { this.characteristics = characteristics; }
+
+    public List<HotelComparisonItem> getHotels() { return hotels; }
+    public void setHotels(List<HotelComparisonItem> hotels) { this.hotels = hotels; }
+}
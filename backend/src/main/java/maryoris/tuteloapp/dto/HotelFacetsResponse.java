@@ -0,0 +1,37 @@
+package maryoris.tuteloapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HotelFacetsResponse {
+    private long total;
+    private List<FacetCountResponse> cities = new ArrayList<>();
+    private List<FacetCountResponse> categories = new ArrayList<>();
+    private List<FacetCountResponse> characteristics = new ArrayList<>();
+
+    public HotelFacetsResponse() {}
+
+    public HotelFacetsResponse(
+            long total,
+            List<FacetCountResponse> cities,
+            List<FacetCountResponse> categories,
+            List<FacetCountResponse> characteristics
+    ) {
+        this.total = total;
+        this.cities = cities;
+        this.categories = categories;
+        this.characteristics = characteristics;
+    }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public List<FacetCountResponse> getCities() { return cities; }
+    public void setCities(List<FacetCountResponse> cities) { this.cities = cities; }
+
+    public List<FacetCountResponse> getCategories() { return categories; }
+    public void setCategories(List<FacetCountResponse> categories) { this.categories = categories; }
+
+    public List<FacetCountResponse> getCharacteristics() { return characteristics; }
+    public void setCharacteristics(List<FacetCountResponse> characteristics) { this.characteristics = characteristics; }
+}
@@ -0,0 +1,25 @@
+package maryoris.tuteloapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Resultado de la importación masiva: las filas con error se informan
+ * (con su número de línea) y no impiden importar el resto del archivo.
+ */
+public class HotelImportResponse {
+    private long total;
+    private long imported;
+    private List<HotelImportError> errors = new ArrayList<>();
+
+    public HotelImportResponse() {}
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public List<HotelImportError> getErrors() { return errors; }
+    public void setErrors(List<HotelImportError> errors) { this.errors = errors; }
+}
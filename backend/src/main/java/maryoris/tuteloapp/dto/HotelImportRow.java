@@ -0,0 +1,15 @@
+package maryoris.tuteloapp.dto;
+
+import java.util.List;
+
+/*
+ * Una fila de la importación masiva (una línea NDJSON o un registro CSV).
+ * Mismos campos que el alta individual más las categorías.
+ */
+public class HotelImportRow extends HotelRequest {
+
+    private List<Long> categoryIds;
+
+    public List<Long> getCategoryIds() { return categoryIds; }
+    public void setCategoryIds(List<Long> categoryIds) { this.categoryIds = categoryIds; }
+}
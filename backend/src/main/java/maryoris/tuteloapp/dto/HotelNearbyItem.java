@@ -0,0 +1,30 @@
+package maryoris.tuteloapp.dto;
+
+public class HotelNearbyItem {
+    private double distanceKm;
+    private double latitude;
+    private double longitude;
+    // Mismo resumen que el listado público
+    private RawJson hotel;
+
+    public HotelNearbyItem() {}
+
+    public HotelNearbyItem(double distanceKm, double latitude, double longitude, RawJson hotel) {
+        this.distanceKm = distanceKm;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.hotel = hotel;
+    }
+
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public RawJson getHotel() { return hotel; }
+    public void setHotel(RawJson hotel) { this.hotel = hotel; }
+}
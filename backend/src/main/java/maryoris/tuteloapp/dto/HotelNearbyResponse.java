@@ -0,0 +1,23 @@
+package maryoris.tuteloapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HotelNearbyResponse {
+    // Hoteles dentro del radio (items trae como máximo limit, ordenados por distancia)
+    private long total;
+    private List<HotelNearbyItem> items = new ArrayList<>();
+
+    public HotelNearbyResponse() {}
+
+    public HotelNearbyResponse(long total, List<HotelNearbyItem> items) {
+        this.total = total;
+        this.items = items;
+    }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public List<HotelNearbyItem> getItems() { return items; }
+    public void setItems(List<HotelNearbyItem> items) { this.items = items; }
+}
@@ -0,0 +1,41 @@
+package maryoris.tuteloapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Página del listado público paginado por cursor (keyset).
+ * nextCursor es opaco para el frontend: se reenvía tal cual en ?after=
+ * y vale null cuando no hay más resultados.
+ */
+public class HotelPageResponse {
+    private List<RawJson> items = new ArrayList<>();
+    private String nextCursor;
+
+    // Ids de la página, para marcar favoritos en el controller; no se serializa
+    @JsonIgnore
+    private List<Long> hotelIds = new ArrayList<>();
+    // Solo con usuario autenticado: cuáles de los hoteles de la página son sus favoritos
+    private List<Long> favoriteIds;
+
+    public HotelPageResponse() {}
+
+    public HotelPageResponse(List<RawJson> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<RawJson> getItems() { return items; }
+    public void setItems(List<RawJson> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public List<Long> getHotelIds() { return hotelIds; }
+    public void setHotelIds(List<Long> hotelIds) { this.hotelIds = hotelIds; }
+
+    public List<Long> getFavoriteIds() { return favoriteIds; }
+    public void setFavoriteIds(List<Long> favoriteIds) { this.favoriteIds = favoriteIds; }
+}
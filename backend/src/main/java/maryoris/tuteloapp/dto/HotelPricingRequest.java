@@ -0,0 +1,28 @@
+package maryoris.tuteloapp.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Reemplaza la tarifa base y todas las reglas de un hotel.
+ * baseRate null deja al hotel sin tarifa base (solo valen las reglas con fixedRate).
+ */
+public class HotelPricingRequest {
+
+    @Min(value = 0, message = "baseRate must be >= 0")
+    private Integer baseRate;
+
+    @Valid
+    private List<HotelRateRuleRequest> rules = new ArrayList<>();
+
+    public HotelPricingRequest() {}
+
+    public Integer getBaseRate() { return baseRate; }
+    public void setBaseRate(Integer baseRate) { this.baseRate = baseRate; }
+
+    public List<HotelRateRuleRequest> getRules() { return rules; }
+    public void setRules(List<HotelRateRuleRequest> rules) { this.rules = rules; }
+}
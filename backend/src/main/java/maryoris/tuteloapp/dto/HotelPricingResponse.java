@@ -0,0 +1,27 @@
+package maryoris.tuteloapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HotelPricingResponse {
+    private Long hotelId;
+    private Integer baseRate;
+    private List<HotelRateRuleResponse> rules = new ArrayList<>();
+
+    public HotelPricingResponse() {}
+
+    public HotelPricingResponse(Long hotelId, Integer baseRate, List<HotelRateRuleResponse> rules) {
+        this.hotelId = hotelId;
+        this.baseRate = baseRate;
+        this.rules = rules;
+    }
+
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public Integer getBaseRate() { return baseRate; }
+    public void setBaseRate(Integer baseRate) { this.baseRate = baseRate; }
+
+    public List<HotelRateRuleResponse> getRules() { return rules; }
+    public void setRules(List<HotelRateRuleResponse> rules) { this.rules = rules; }
+}
@@ -13,6 +13,10 @@ public class HotelPublicResponse {
     private List<String> imageUrls = new ArrayList<>();
     private List<CategoryResponse> categories = new ArrayList<>();
 
+    // Promedio de reseñas (null sin reseñas) y cantidad
+    private Double rating;
+    private int reviewCount;
+
     public HotelPublicResponse() {}
 
     public Long getId() { return id; }
@@ -35,4 +39,10 @@ public class HotelPublicResponse {
 
     public List<CategoryResponse> getCategories() { return categories; }
     public void setCategories(List<CategoryResponse> categories) { this.categories = categories; }
+
+    public Double getRating() { return rating; }
+    public void setRating(Double rating) { this.rating = rating; }
+
+    public int getReviewCount() { return reviewCount; }
+    public void setReviewCount(int reviewCount) { this.reviewCount = reviewCount; }
 }
@@ -0,0 +1,49 @@
+package maryoris.tuteloapp.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+public class HotelRateRuleRequest {
+
+    // (opcionales): temporada [startDate, endDate], ambas inclusive
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    // (opcional): MONDAY ... SUNDAY. Vacío = todos los días
+    private Set<DayOfWeek> weekdays;
+
+    // Una de las dos: precio fijo por noche o porcentaje sobre el precio anterior
+    @Min(value = 0, message = "fixedRate must be >= 0")
+    private Integer fixedRate;
+
+    @Min(value = -100, message = "percent must be >= -100")
+    @Max(value = 1000, message = "percent must be <= 1000")
+    private Integer percent;
+
+    // Las reglas se aplican de menor a mayor prioridad
+    private int priority;
+
+    public HotelRateRuleRequest() {}
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public Set<DayOfWeek> getWeekdays() { return weekdays; }
+    public void setWeekdays(Set<DayOfWeek> weekdays) { this.weekdays = weekdays; }
+
+    public Integer getFixedRate() { return fixedRate; }
+    public void setFixedRate(Integer fixedRate) { this.fixedRate = fixedRate; }
+
+    public Integer getPercent() { return percent; }
+    public void setPercent(Integer percent) { this.percent = percent; }
+
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+}
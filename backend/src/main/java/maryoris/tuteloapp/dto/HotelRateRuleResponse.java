@@ -0,0 +1,56 @@
+package maryoris.tuteloapp.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+public class HotelRateRuleResponse {
+    private Long id;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Set<DayOfWeek> weekdays;
+    private Integer fixedRate;
+    private Integer percent;
+    private int priority;
+
+    public HotelRateRuleResponse() {}
+
+    public HotelRateRuleResponse(
+            Long id,
+            LocalDate startDate,
+            LocalDate endDate,
+            Set<DayOfWeek> weekdays,
+            Integer fixedRate,
+            Integer percent,
+            int priority
+    ) {
+        this.id = id;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.weekdays = weekdays;
+        this.fixedRate = fixedRate;
+        this.percent = percent;
+        this.priority = priority;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public Set<DayOfWeek> getWeekdays() { return weekdays; }
+    public void setWeekdays(Set<DayOfWeek> weekdays) { this.weekdays = weekdays; }
+
+    public Integer getFixedRate() { return fixedRate; }
+    public void setFixedRate(Integer fixedRate) { this.fixedRate = fixedRate; }
+
+    public Integer getPercent() { return percent; }
+    public void setPercent(Integer percent) { this.percent = percent; }
+
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+}
@@ -1,5 +1,8 @@
 package maryoris.tuteloapp.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -25,6 +28,23 @@ public class HotelRequest {
     @NotBlank(message = "description is required")
     private String description;
 
+    // (opcional): si no se envían se buscan por ciudad en el nomenclador
+    @DecimalMin(value = "-90", message = "latitude must be between -90 and 90")
+    @DecimalMax(value = "90", message = "latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180", message = "longitude must be between -180 and 180")
+    @DecimalMax(value = "180", message = "longitude must be between -180 and 180")
+    private Double longitude;
+
+    // (opcional): habitaciones reservables por noche; sin valor queda en 1 (alta) o sin cambios
+    @Min(value = 1, message = "rooms must be >= 1")
+    private Integer rooms;
+
+    // (opcional): tarifa por noche; las reglas de temporada se cargan aparte
+    @Min(value = 0, message = "baseRate must be >= 0")
+    private Integer baseRate;
+
     // (opcional): lista de características con valores
     // Si el frontend no lo envía, queda null y no rompe nada.
     private List<HotelCharacteristicValueRequest> characteristics;
@@ -61,6 +81,38 @@ public class HotelRequest {
         this.description = normalize(description);
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Integer getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(Integer rooms) {
+        this.rooms = rooms;
+    }
+
+    public Integer getBaseRate() {
+        return baseRate;
+    }
+
+    public void setBaseRate(Integer baseRate) {
+        this.baseRate = baseRate;
+    }
+
     public List<HotelCharacteristicValueRequest> getCharacteristics() {
         return characteristics;
     }
@@ -0,0 +1,47 @@
+package maryoris.tuteloapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class HotelSearchResponse {
+    private long total;
+    private List<RawJson> items = new ArrayList<>();
+    private String nextCursor;
+    // Precio de la estadía (o de esta noche sin fechas) de cada hotel de la página; sin tarifa no figura
+    private Map<Long, Long> prices;
+
+    // Ids de la página, para marcar favoritos en el controller; no se serializa
+    @JsonIgnore
+    private List<Long> hotelIds = new ArrayList<>();
+    // Solo con usuario autenticado: cuáles de los hoteles de la página son sus favoritos
+    private List<Long> favoriteIds;
+
+    public HotelSearchResponse() {}
+
+    public HotelSearchResponse(long total, List<RawJson> items, String nextCursor) {
+        this.total = total;
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public List<RawJson> getItems() { return items; }
+    public void setItems(List<RawJson> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public Map<Long, Long> getPrices() { return prices; }
+    public void setPrices(Map<Long, Long> prices) { this.prices = prices; }
+
+    public List<Long> getHotelIds() { return hotelIds; }
+    public void setHotelIds(List<Long> hotelIds) { this.hotelIds = hotelIds; }
+
+    public List<Long> getFavoriteIds() { return favoriteIds; }
+    public void setFavoriteIds(List<Long> favoriteIds) { this.favoriteIds = favoriteIds; }
+}
@@ -0,0 +1,21 @@
+package maryoris.tuteloapp.dto;
+
+public class HotelSimilarItem {
+    // Jaccard entre categorías + características de los dos hoteles (0 a 1)
+    private double similarity;
+    // Mismo resumen que el listado público
+    private RawJson hotel;
+
+    public HotelSimilarItem() {}
+
+    public HotelSimilarItem(double similarity, RawJson hotel) {
+        this.similarity = similarity;
+        this.hotel = hotel;
+    }
+
+    public double getSimilarity() { return similarity; }
+    public void setSimilarity(double similarity) { this.similarity = similarity; }
+
+    public RawJson getHotel() { return hotel; }
+    public void setHotel(RawJson hotel) { this.hotel = hotel; }
+}
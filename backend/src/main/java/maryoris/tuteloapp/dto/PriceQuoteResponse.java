@@ -0,0 +1,40 @@
+package maryoris.tuteloapp.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PriceQuoteResponse {
+    private Long hotelId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    // Precio de cada noche desde checkIn; null si esa noche no tiene tarifa
+    private List<Integer> nights = new ArrayList<>();
+    // null si alguna noche no tiene tarifa
+    private Long total;
+
+    public PriceQuoteResponse() {}
+
+    public PriceQuoteResponse(Long hotelId, LocalDate checkIn, LocalDate checkOut, List<Integer> nights, Long total) {
+        this.hotelId = hotelId;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.nights = nights;
+        this.total = total;
+    }
+
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public LocalDate getCheckIn() { return checkIn; }
+    public void setCheckIn(LocalDate checkIn) { this.checkIn = checkIn; }
+
+    public LocalDate getCheckOut() { return checkOut; }
+    public void setCheckOut(LocalDate checkOut) { this.checkOut = checkOut; }
+
+    public List<Integer> getNights() { return nights; }
+    public void setNights(List<Integer> nights) { this.nights = nights; }
+
+    public Long getTotal() { return total; }
+    public void setTotal(Long total) { this.total = total; }
+}
@@ -0,0 +1,31 @@
+package maryoris.tuteloapp.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+
+/*
+ * Documento JSON ya serializado (por ejemplo, leído de hotel_public_view).
+ * Jackson lo escribe tal cual, sin volver a parsearlo ni a armar objetos.
+ */
+@JsonSerialize(using = RawJson.Serializer.class)
+public class RawJson {
+
+    private final String json;
+
+    public RawJson(String json) {
+        this.json = json;
+    }
+
+    public String getJson() { return json; }
+
+    public static class Serializer extends JsonSerializer<RawJson> {
+        @Override
+        public void serialize(RawJson value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeRawValue(value.json);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package maryoris.tuteloapp.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public class ReservationRequest {
+
+    @NotNull(message = "hotelId is required")
+    private Long hotelId;
+
+    // Formato ISO: 2025-03-14
+    @NotNull(message = "checkIn is required")
+    private LocalDate checkIn;
+
+    @NotNull(message = "checkOut is required")
+    private LocalDate checkOut;
+
+    @Min(value = 1, message = "rooms must be >= 1")
+    private int rooms = 1;
+
+    public ReservationRequest() {}
+
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public LocalDate getCheckIn() { return checkIn; }
+    public void setCheckIn(LocalDate checkIn) { this.checkIn = checkIn; }
+
+    public LocalDate getCheckOut() { return checkOut; }
+    public void setCheckOut(LocalDate checkOut) { this.checkOut = checkOut; }
+
+    public int getRooms() { return rooms; }
+    public void setRooms(int rooms) { this.rooms = rooms; }
+}
@@ -0,0 +1,49 @@
+package maryoris.tuteloapp.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class ReservationResponse {
+    private Long id;
+    private Long hotelId;
+    private String hotelName;
+    private String hotelCity;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+    private int nights;
+    private int rooms;
+    private String status;
+    private LocalDateTime createdAt;
+
+    public ReservationResponse() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public String getHotelName() { return hotelName; }
+    public void setHotelName(String hotelName) { this.hotelName = hotelName; }
+
+    public String getHotelCity() { return hotelCity; }
+    public void setHotelCity(String hotelCity) { this.hotelCity = hotelCity; }
+
+    public LocalDate getCheckIn() { return checkIn; }
+    public void setCheckIn(LocalDate checkIn) { this.checkIn = checkIn; }
+
+    public LocalDate getCheckOut() { return checkOut; }
+    public void setCheckOut(LocalDate checkOut) { this.checkOut = checkOut; }
+
+    public int getNights() { return nights; }
+    public void setNights(int nights) { this.nights = nights; }
+
+    public int getRooms() { return rooms; }
+    public void setRooms(int rooms) { this.rooms = rooms; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
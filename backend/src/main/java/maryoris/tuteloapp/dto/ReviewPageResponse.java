@@ -0,0 +1,36 @@
+package maryoris.tuteloapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Reseñas de un hotel, de la más nueva a la más vieja, paginadas por cursor.
+ * rating y reviewCount son los agregados del hotel (no solo de esta página).
+ */
+public class ReviewPageResponse {
+    private Double rating;
+    private int reviewCount;
+    private List<ReviewResponse> items = new ArrayList<>();
+    private String nextCursor;
+
+    public ReviewPageResponse() {}
+
+    public ReviewPageResponse(Double rating, int reviewCount, List<ReviewResponse> items, String nextCursor) {
+        this.rating = rating;
+        this.reviewCount = reviewCount;
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public Double getRating() { return rating; }
+    public void setRating(Double rating) { this.rating = rating; }
+
+    public int getReviewCount() { return reviewCount; }
+    public void setReviewCount(int reviewCount) { this.reviewCount = reviewCount; }
+
+    public List<ReviewResponse> getItems() { return items; }
+    public void setItems(List<ReviewResponse> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,25 @@
+package maryoris.tuteloapp.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class ReviewRequest {
+
+    @NotNull(message = "score is required")
+    @Min(value = 1, message = "score must be between 1 and 5")
+    @Max(value = 5, message = "score must be between 1 and 5")
+    private Integer score;
+
+    @Size(max = 2000, message = "text must be at most 2000 characters")
+    private String text;
+
+    public ReviewRequest() {}
+
+    public Integer getScore() { return score; }
+    public void setScore(Integer score) { this.score = score; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+}
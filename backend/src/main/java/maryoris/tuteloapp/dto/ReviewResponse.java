@@ -0,0 +1,42 @@
+package maryoris.tuteloapp.dto;
+
+import java.time.LocalDateTime;
+
+public class ReviewResponse {
+    private Long id;
+    private Long hotelId;
+    // Nombre e inicial del apellido: "Ana G."
+    private String author;
+    private int score;
+    private String text;
+    private LocalDateTime createdAt;
+
+    public ReviewResponse() {}
+
+    public ReviewResponse(Long id, Long hotelId, String author, int score, String text, LocalDateTime createdAt) {
+        this.id = id;
+        this.hotelId = hotelId;
+        this.author = author;
+        this.score = score;
+        this.text = text;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public int getScore() { return score; }
+    public void setScore(int score) { this.score = score; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -1,7 +1,10 @@
 package maryoris.tuteloapp.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(
         name = "CATEGORIES",
@@ -30,6 +33,15 @@ public class CategoryEntity {
     @Column(length = 600)
     private String imageUrl;
 
+    // Versión (optimistic locking + ETag). Hibernate la incrementa en cada UPDATE;
+    // el default cubre las filas que ya existían cuando se agregó la columna.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public CategoryEntity() {}
 
     public Long getId() { return id; }
@@ -45,4 +57,17 @@ public class CategoryEntity {
 
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    @JsonIgnore
+    public long getVersion() { return version; }
+
+    @JsonIgnore
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,8 +1,11 @@
 package maryoris.tuteloapp.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(
         name = "characteristics",
@@ -30,6 +33,15 @@ public class CharacteristicEntity {
     @Column(nullable = false)
     private Type type = Type.BOOLEAN;
 
+    // Versión (optimistic locking + ETag). Hibernate la incrementa en cada UPDATE;
+    // el default cubre las filas que ya existían cuando se agregó la columna.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public CharacteristicEntity() {}
 
     public CharacteristicEntity(String name, String icon, Type type) {
@@ -49,4 +61,17 @@ public class CharacteristicEntity {
 
     public Type getType() { return type; }
     public void setType(Type type) { this.type = type; }
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    @JsonIgnore
+    public long getVersion() { return version; }
+
+    @JsonIgnore
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,57 @@
+package maryoris.tuteloapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/*
+ * Hotel marcado como favorito por un usuario. Un par (usuario, hotel) aparece
+ * una sola vez; quitar el favorito borra la fila.
+ */
+@Entity
+@Table(
+        name = "favorites",
+        uniqueConstraints = @UniqueConstraint(name = "uk_favorites_user_hotel", columnNames = {"user_id", "hotel_id"}),
+        indexes = @Index(name = "idx_favorites_hotel", columnList = "hotel_id")
+)
+public class FavoriteEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    private HotelEntity hotel;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public FavoriteEntity() {}
+
+    public FavoriteEntity(UserEntity user, HotelEntity hotel) {
+        this.user = user;
+        this.hotel = hotel;
+    }
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Long getId() { return id; }
+
+    public UserEntity getUser() { return user; }
+    public void setUser(UserEntity user) { this.user = user; }
+
+    public HotelEntity getHotel() { return hotel; }
+    public void setHotel(HotelEntity hotel) { this.hotel = hotel; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -1,10 +1,18 @@
 package maryoris.tuteloapp.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "hotels")
+@Table(
+        name = "hotels",
+        indexes = @Index(name = "idx_hotels_city_id", columnList = "city, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_hotels_normalized_name", columnNames = "normalized_name")
+)
 public class HotelEntity {
 
     @Id
@@ -14,6 +22,18 @@ public class HotelEntity {
     @Column(nullable = false)
     private String name;
 
+    // Nombre normalizado (ver normalizeName). El índice único es el que
+    // garantiza que no haya dos hoteles con el mismo nombre; se completa
+    // solo al guardar, a partir de name, y solo si name cambió: un hotel
+    // viejo con nombre repetido (sin valor, ver HotelNameFilter) se puede
+    // seguir editando sin chocar con el índice.
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
+    // name tal como se leyó de la base
+    @Transient
+    private String loadedName;
+
     @Column(nullable = false)
     private String city;
 
@@ -23,21 +43,54 @@ public class HotelEntity {
     @Column(length = 2000)
     private String description;
 
+    // =============================
+    // UBICACIÓN (grados decimales, WGS84)
+    // Si el alta no las trae se completan con el nomenclador de ciudades
+    // (HotelGeocodingService); pueden quedar null si la ciudad no figura.
+    // =============================
+    private Double latitude;
+    private Double longitude;
+
+    // Habitaciones que se pueden reservar por noche (ver RoomInventory)
+    @Column(nullable = false, columnDefinition = "integer default 1")
+    private int rooms = 1;
+
+    // Tarifa por noche sin reglas de temporada (unidades enteras de moneda).
+    // null = sin precio cargado. Las reglas están en hotel_rate_rules.
+    @Column(name = "base_rate")
+    private Integer baseRate;
+
+    // Agregados de reseñas: se actualizan con un UPDATE atómico al crear o
+    // borrar una reseña (HotelRepository.addReviewScore), nunca con AVG()
+    @Column(name = "review_count", nullable = false)
+    @ColumnDefault("0")
+    private int reviewCount;
+
+    @Column(name = "review_score_sum", nullable = false)
+    @ColumnDefault("0")
+    private long reviewScoreSum;
+
     // =============================
     // CATEGORÍAS
     // =============================
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(
             name = "hotel_categories",
             joinColumns = @JoinColumn(name = "hotel_id"),
-            inverseJoinColumns = @JoinColumn(name = "category_id")
+            inverseJoinColumns = @JoinColumn(name = "category_id"),
+            indexes = @Index(name = "idx_hotel_categories_category_hotel", columnList = "category_id, hotel_id")
     )
     private Set<CategoryEntity> categories = new HashSet<>();
 
     // =============================
     // IMÁGENES
+    // @BatchSize en las colecciones: al recorrer varios hoteles cargados
+    // juntos, Hibernate trae las colecciones de hasta 100 hoteles por consulta
+    // en lugar de una consulta por hotel.
     // =============================
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(
             name = "hotel_images",
             joinColumns = @JoinColumn(name = "hotel_id")
@@ -53,8 +106,21 @@ public class HotelEntity {
             cascade = CascadeType.ALL,
             orphanRemoval = true
     )
+    @BatchSize(size = 100)
     private List<HotelCharacteristicEntity> characteristics = new ArrayList<>();
 
+    // =============================
+    // VERSIÓN (optimistic locking + ETag)
+    // Hibernate la incrementa en cada UPDATE; el default cubre las filas
+    // que ya existían cuando se agregó la columna.
+    // =============================
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     // =============================
     // CONSTRUCTOR
     // =============================
@@ -78,6 +144,32 @@ public class HotelEntity {
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public int getRooms() { return rooms; }
+    public void setRooms(int rooms) { this.rooms = rooms; }
+
+    public Integer getBaseRate() { return baseRate; }
+    public void setBaseRate(Integer baseRate) { this.baseRate = baseRate; }
+
+    public int getReviewCount() { return reviewCount; }
+
+    @JsonIgnore
+    public long getReviewScoreSum() { return reviewScoreSum; }
+
+    // Promedio con dos decimales; null si no tiene reseñas
+    public Double getRating() {
+        return averageScore(reviewCount, reviewScoreSum);
+    }
+
+    public static Double averageScore(int count, long sum) {
+        return count <= 0 ? null : Math.round(sum * 100.0 / count) / 100.0;
+    }
+
     public Set<CategoryEntity> getCategories() { return categories; }
     public void setCategories(Set<CategoryEntity> categories) { this.categories = categories; }
 
@@ -86,4 +178,41 @@ public class HotelEntity {
 
     public List<HotelCharacteristicEntity> getCharacteristics() { return characteristics; }
     public void setCharacteristics(List<HotelCharacteristicEntity> characteristics) { this.characteristics = characteristics; }
-}
\ No newline at end of file
+
+    @JsonIgnore
+    public String getNormalizedName() { return normalizedName; }
+
+    @PostLoad
+    void loaded() {
+        loadedName = name;
+    }
+
+    @PrePersist
+    void created() {
+        updatedAt = LocalDateTime.now();
+        normalizedName = normalizeName(name);
+        loadedName = name;
+    }
+
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+        if (!Objects.equals(name, loadedName)) {
+            normalizedName = normalizeName(name);
+            loadedName = name;
+        }
+    }
+
+    // Minúsculas y espacios colapsados: "Hotel  Sol " y "hotel sol" son el mismo nombre
+    public static String normalizeName(String name) {
+        if (name == null) return null;
+        return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    @JsonIgnore
+    public long getVersion() { return version; }
+
+    @JsonIgnore
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,75 @@
+package maryoris.tuteloapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/*
+ * Modelo de lectura (CQRS) de un hotel: los documentos JSON que devuelven
+ * los endpoints públicos, ya armados. Se reescribe en la misma transacción
+ * que cualquier cambio del hotel (ver HotelReadModelService), así que leer
+ * el catálogo es un rango por PK o por (city_key, hotel_id), sin joins.
+ */
+@Entity
+@Table(
+        name = "hotel_public_view",
+        indexes = @Index(name = "idx_hotel_public_view_city_key_hotel", columnList = "city_key, hotel_id")
+)
+public class HotelPublicViewEntity {
+
+    @Id
+    @Column(name = "hotel_id")
+    private Long hotelId;
+
+    @Column(nullable = false)
+    private String city;
+
+    // Ciudad normalizada (TextNormalizer.fold), la misma clave que usa la búsqueda
+    @Column(name = "city_key")
+    private String cityKey;
+
+    // Versión del hotel con la que se armaron los documentos (ETag)
+    @Column(name = "hotel_version", nullable = false, columnDefinition = "bigint default 0")
+    private long hotelVersion;
+
+    // Versión del formato de los documentos (HotelReadModelService.FORMAT_VERSION)
+    @Column(name = "format_version", nullable = false, columnDefinition = "integer default 0")
+    private int formatVersion;
+
+    // Forma de GET /api/hotels (HotelPublicResponse)
+    @Column(name = "summary_json", nullable = false, length = 100000)
+    private String summaryJson;
+
+    // Forma de GET /api/hotels/{id}
+    @Column(name = "detail_json", nullable = false, length = 100000)
+    private String detailJson;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public HotelPublicViewEntity() {}
+
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getCityKey() { return cityKey; }
+    public void setCityKey(String cityKey) { this.cityKey = cityKey; }
+
+    public long getHotelVersion() { return hotelVersion; }
+    public void setHotelVersion(long hotelVersion) { this.hotelVersion = hotelVersion; }
+
+    public int getFormatVersion() { return formatVersion; }
+    public void setFormatVersion(int formatVersion) { this.formatVersion = formatVersion; }
+
+    public String getSummaryJson() { return summaryJson; }
+    public void setSummaryJson(String summaryJson) { this.summaryJson = summaryJson; }
+
+    public String getDetailJson() { return detailJson; }
+    public void setDetailJson(String detailJson) { this.detailJson = detailJson; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,74 @@
+package maryoris.tuteloapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/*
+ * Regla de tarifa de un hotel: ajusta la tarifa base en las noches que
+ * caen dentro de [startDate, endDate] (temporada) y/o en ciertos días de la
+ * semana. Sin fechas aplica todo el año; con weekdays = 0 aplica todos los días.
+ * Cada regla fija un precio (fixedRate) o aplica un porcentaje (percent).
+ * Las reglas se aplican en orden de priority: una regla posterior trabaja
+ * sobre el precio que dejó la anterior.
+ */
+@Entity
+@Table(
+        name = "hotel_rate_rules",
+        indexes = @Index(name = "idx_hotel_rate_rules_hotel", columnList = "hotel_id")
+)
+public class HotelRateRuleEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    private HotelEntity hotel;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    // Inclusive: la noche de endDate también tiene la tarifa de la regla
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Bit 0 = lunes ... bit 6 = domingo (DayOfWeek.getValue() - 1)
+    @Column(nullable = false)
+    private int weekdays;
+
+    @Column(name = "fixed_rate")
+    private Integer fixedRate;
+
+    // +20 = 20% más caro, -15 = 15% de descuento
+    private Integer percent;
+
+    @Column(nullable = false)
+    private int priority;
+
+    public HotelRateRuleEntity() {}
+
+    public Long getId() { return id; }
+
+    public HotelEntity getHotel() { return hotel; }
+    public void setHotel(HotelEntity hotel) { this.hotel = hotel; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public int getWeekdays() { return weekdays; }
+    public void setWeekdays(int weekdays) { this.weekdays = weekdays; }
+
+    public Integer getFixedRate() { return fixedRate; }
+    public void setFixedRate(Integer fixedRate) { this.fixedRate = fixedRate; }
+
+    public Integer getPercent() { return percent; }
+    public void setPercent(Integer percent) { this.percent = percent; }
+
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+}
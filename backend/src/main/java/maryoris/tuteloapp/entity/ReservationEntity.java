@@ -0,0 +1,100 @@
+package maryoris.tuteloapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/*
+ * Reserva de habitaciones de un hotel para un rango de noches
+ * [checkIn, checkOut). Las reservas confirmadas son la fuente de verdad del
+ * inventario: RoomInventory se reconstruye a partir de ellas al arrancar.
+ * Una cancelación no borra la fila, solo cambia el estado.
+ */
+@Entity
+@Table(
+        name = "reservations",
+        indexes = {
+                @Index(name = "idx_reservations_hotel_check_out", columnList = "hotel_id, check_out"),
+                @Index(name = "idx_reservations_user_check_in", columnList = "user_id, check_in")
+        }
+)
+public class ReservationEntity {
+
+    public enum Status {
+        CONFIRMED,
+        CANCELLED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    private HotelEntity hotel;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @Column(name = "check_in", nullable = false)
+    private LocalDate checkIn;
+
+    // Día de salida: esa noche ya no se ocupa
+    @Column(name = "check_out", nullable = false)
+    private LocalDate checkOut;
+
+    @Column(nullable = false)
+    private int rooms;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.CONFIRMED;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "cancelled_at")
+    private LocalDateTime cancelledAt;
+
+    // Dos cancelaciones simultáneas de la misma reserva: solo una libera el inventario
+    @Version
+    private long version;
+
+    public ReservationEntity() {}
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Long getId() { return id; }
+
+    public HotelEntity getHotel() { return hotel; }
+    public void setHotel(HotelEntity hotel) { this.hotel = hotel; }
+
+    public UserEntity getUser() { return user; }
+    public void setUser(UserEntity user) { this.user = user; }
+
+    public LocalDate getCheckIn() { return checkIn; }
+    public void setCheckIn(LocalDate checkIn) { this.checkIn = checkIn; }
+
+    public LocalDate getCheckOut() { return checkOut; }
+    public void setCheckOut(LocalDate checkOut) { this.checkOut = checkOut; }
+
+    public int getRooms() { return rooms; }
+    public void setRooms(int rooms) { this.rooms = rooms; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getCancelledAt() { return cancelledAt; }
+    public void setCancelledAt(LocalDateTime cancelledAt) { this.cancelledAt = cancelledAt; }
+
+    public long getVersion() { return version; }
+}
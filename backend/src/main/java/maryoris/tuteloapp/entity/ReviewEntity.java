@@ -0,0 +1,66 @@
+package maryoris.tuteloapp.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/*
+ * Reseña de un usuario sobre un hotel: puntaje de 1 a 5 y texto opcional.
+ * Un usuario deja como máximo una reseña por hotel. El promedio y la
+ * cantidad no se calculan desde esta tabla al leer: se mantienen en
+ * HotelEntity (reviewCount / reviewScoreSum) al crear o borrar cada reseña.
+ */
+@Entity
+@Table(
+        name = "reviews",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reviews_user_hotel", columnNames = {"user_id", "hotel_id"}),
+        indexes = @Index(name = "idx_reviews_hotel", columnList = "hotel_id, id")
+)
+public class ReviewEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    private HotelEntity hotel;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @Column(nullable = false)
+    private int score;
+
+    @Column(length = 2000)
+    private String text;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public ReviewEntity() {}
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Long getId() { return id; }
+
+    public HotelEntity getHotel() { return hotel; }
+    public void setHotel(HotelEntity hotel) { this.hotel = hotel; }
+
+    public UserEntity getUser() { return user; }
+    public void setUser(UserEntity user) { this.user = user; }
+
+    public int getScore() { return score; }
+    public void setScore(int score) { this.score = score; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
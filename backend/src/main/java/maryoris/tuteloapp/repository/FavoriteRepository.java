@@ -0,0 +1,31 @@
+package maryoris.tuteloapp.repository;
+
+import maryoris.tuteloapp.entity.FavoriteEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface FavoriteRepository extends JpaRepository<FavoriteEntity, Long> {
+
+    // Del más reciente al más viejo
+    @Query("""
+        SELECT f.hotel.id FROM FavoriteEntity f
+        WHERE f.user.id = :userId
+        ORDER BY f.createdAt DESC, f.id DESC
+    """)
+    List<Long> findHotelIdsByUserId(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM FavoriteEntity f WHERE f.user.id = :userId AND f.hotel.id = :hotelId")
+    int deleteByUserIdAndHotelId(@Param("userId") Long userId, @Param("hotelId") Long hotelId);
+
+    // Al borrar un hotel
+    @Modifying
+    @Query("DELETE FROM FavoriteEntity f WHERE f.hotel.id = :hotelId")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+}
@@ -7,11 +7,16 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 public interface HotelCharacteristicRepository extends JpaRepository<HotelCharacteristicEntity, Long> {
 
     // para evitar borrar una característica que esté en uso
     boolean existsByCharacteristic_Id(Long characteristicId);
 
+    @Query("select distinct hc.hotel.id from HotelCharacteristicEntity hc where hc.characteristic.id = :characteristicId")
+    List<Long> findHotelIdsByCharacteristicId(@Param("characteristicId") Long characteristicId);
+
     // delete derivado (lo usamos en HotelService)
     void deleteByHotel_Id(Long hotelId);
 
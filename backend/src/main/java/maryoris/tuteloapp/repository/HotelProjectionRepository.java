@@ -0,0 +1,80 @@
+package maryoris.tuteloapp.repository;
+
+import maryoris.tuteloapp.entity.CharacteristicEntity;
+import maryoris.tuteloapp.entity.HotelEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * Consultas de proyección (tuplas) sobre el catálogo de hoteles.
+ * No devuelven entidades, así que no hay colecciones lazy que disparen
+ * una consulta por hotel: se lee la fila base y después cada colección
+ * (imágenes, categorías, características) en una sola consulta por lote de ids.
+ */
+public interface HotelProjectionRepository extends Repository<HotelEntity, Long> {
+
+    interface HotelRow {
+        Long getId();
+        Long getVersion();
+        String getName();
+        String getCity();
+        String getAddress();
+        String getDescription();
+        Double getLatitude();
+        Double getLongitude();
+        Integer getRooms();
+        Integer getBaseRate();
+        Integer getReviewCount();
+        Long getReviewScoreSum();
+    }
+
+    interface ImageRow {
+        Long getHotelId();
+        String getImageUrl();
+    }
+
+    interface CategoryRow {
+        Long getHotelId();
+        Long getCategoryId();
+        String getCategoryName();
+    }
+
+    interface CharacteristicRow {
+        Long getHotelId();
+        Long getCharacteristicId();
+        CharacteristicEntity.Type getType();
+        Boolean getBoolValue();
+        Integer getNumValue();
+    }
+
+    @Query("""
+        SELECT h.id AS id, h.version AS version, h.name AS name, h.city AS city, h.address AS address, h.description AS description,
+               h.latitude AS latitude, h.longitude AS longitude, h.rooms AS rooms,
+               h.baseRate AS baseRate, h.reviewCount AS reviewCount, h.reviewScoreSum AS reviewScoreSum
+        FROM HotelEntity h
+        WHERE h.id IN :ids
+    """)
+    List<HotelRow> findRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT h.id AS hotelId, i AS imageUrl FROM HotelEntity h JOIN h.imageUrls i WHERE h.id IN :ids")
+    List<ImageRow> findImages(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+        SELECT h.id AS hotelId, c.id AS categoryId, c.name AS categoryName
+        FROM HotelEntity h JOIN h.categories c
+        WHERE h.id IN :ids
+    """)
+    List<CategoryRow> findCategories(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+        SELECT hc.hotel.id AS hotelId, c.id AS characteristicId, c.type AS type,
+               hc.boolValue AS boolValue, hc.numValue AS numValue
+        FROM HotelCharacteristicEntity hc JOIN hc.characteristic c
+        WHERE hc.hotel.id IN :ids
+    """)
+    List<CharacteristicRow> findCharacteristics(@Param("ids") Collection<Long> ids);
+}
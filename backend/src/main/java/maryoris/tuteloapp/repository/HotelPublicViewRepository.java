@@ -0,0 +1,62 @@
+package maryoris.tuteloapp.repository;
+
+import maryoris.tuteloapp.entity.HotelPublicViewEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface HotelPublicViewRepository extends JpaRepository<HotelPublicViewEntity, Long> {
+
+    // Solo las columnas que necesita el listado (sin detail_json)
+    interface SummaryRow {
+        Long getHotelId();
+        long getHotelVersion();
+        String getSummaryJson();
+    }
+
+    interface DetailRow {
+        long getHotelVersion();
+        String getDetailJson();
+    }
+
+    @Query("SELECT v.hotelId AS hotelId, v.hotelVersion AS hotelVersion, v.summaryJson AS summaryJson FROM HotelPublicViewEntity v ORDER BY v.hotelId")
+    List<SummaryRow> findAllSummaries();
+
+    @Query("""
+        SELECT v.hotelId AS hotelId, v.hotelVersion AS hotelVersion, v.summaryJson AS summaryJson
+        FROM HotelPublicViewEntity v
+        WHERE v.hotelId > :afterId
+        ORDER BY v.hotelId
+    """)
+    List<SummaryRow> findSummaryPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+        SELECT v.hotelId AS hotelId, v.hotelVersion AS hotelVersion, v.summaryJson AS summaryJson
+        FROM HotelPublicViewEntity v
+        WHERE v.cityKey = :cityKey AND v.hotelId > :afterId
+        ORDER BY v.hotelId
+    """)
+    List<SummaryRow> findSummaryPageByCityKey(@Param("afterId") Long afterId, @Param("cityKey") String cityKey, Pageable pageable);
+
+    @Query("SELECT v.hotelId AS hotelId, v.hotelVersion AS hotelVersion, v.summaryJson AS summaryJson FROM HotelPublicViewEntity v WHERE v.hotelId IN :ids")
+    List<SummaryRow> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT v.hotelVersion AS hotelVersion, v.detailJson AS detailJson FROM HotelPublicViewEntity v WHERE v.hotelId = :hotelId")
+    Optional<DetailRow> findDetail(@Param("hotelId") Long hotelId);
+
+    @Query("SELECT h.id FROM HotelEntity h WHERE h.id NOT IN (SELECT v.hotelId FROM HotelPublicViewEntity v)")
+    List<Long> findHotelIdsWithoutView();
+
+    @Query("SELECT v.hotelId FROM HotelPublicViewEntity v WHERE v.formatVersion <> :formatVersion")
+    List<Long> findHotelIdsWithFormatOtherThan(@Param("formatVersion") int formatVersion);
+
+    @Modifying
+    @Query("DELETE FROM HotelPublicViewEntity v WHERE v.hotelId NOT IN (SELECT h.id FROM HotelEntity h)")
+    int deleteOrphans();
+}
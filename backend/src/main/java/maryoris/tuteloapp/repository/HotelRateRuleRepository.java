@@ -0,0 +1,40 @@
+package maryoris.tuteloapp.repository;
+
+import maryoris.tuteloapp.entity.HotelRateRuleEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HotelRateRuleRepository extends JpaRepository<HotelRateRuleEntity, Long> {
+
+    // Reglas de todos los hoteles, para armar los calendarios de precios al arrancar
+    interface RuleRow {
+        Long getHotelId();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        Integer getWeekdays();
+        Integer getFixedRate();
+        Integer getPercent();
+        Integer getPriority();
+    }
+
+    @Query("""
+        SELECT r.hotel.id AS hotelId, r.startDate AS startDate, r.endDate AS endDate,
+               r.weekdays AS weekdays, r.fixedRate AS fixedRate, r.percent AS percent,
+               r.priority AS priority
+        FROM HotelRateRuleEntity r
+        ORDER BY r.hotel.id, r.priority, r.id
+    """)
+    List<RuleRow> findAllRows();
+
+    @Query("SELECT r FROM HotelRateRuleEntity r WHERE r.hotel.id = :hotelId ORDER BY r.priority, r.id")
+    List<HotelRateRuleEntity> findByHotelId(@Param("hotelId") Long hotelId);
+
+    @Modifying
+    @Query("DELETE FROM HotelRateRuleEntity r WHERE r.hotel.id = :hotelId")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+}
@@ -3,7 +3,10 @@ package maryoris.tuteloapp.repository;
 import maryoris.tuteloapp.entity.HotelEntity;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,11 +17,119 @@ import org.springframework.data.repository.query.Param;
 
 public interface HotelRepository extends JpaRepository<HotelEntity, Long> {
 
-    boolean existsByNameIgnoreCase(String name);
+    boolean existsByNormalizedName(String normalizedName);
+
+    @Query("SELECT h.id FROM HotelEntity h ORDER BY h.id")
+    List<Long> findAllIds();
+
+    // Filtro de nombres e importación masiva: chequeo de repetidos en memoria
+    @Query("SELECT h.normalizedName FROM HotelEntity h WHERE h.normalizedName IS NOT NULL")
+    List<String> findAllNormalizedNames();
+
+    interface NameRow {
+        Long getId();
+        String getName();
+    }
+
+    @Query("SELECT h.id AS id, h.name AS name FROM HotelEntity h WHERE h.normalizedName IS NULL ORDER BY h.id")
+    List<NameRow> findWithoutNormalizedName();
+
+    interface CityRow {
+        Long getId();
+        String getCity();
+    }
+
+    @Query("SELECT h.id AS id, h.city AS city FROM HotelEntity h WHERE h.latitude IS NULL OR h.longitude IS NULL ORDER BY h.id")
+    List<CityRow> findWithoutCoordinates();
+
+    /*
+     * Suma (o resta, con valores negativos) una reseña a los agregados del hotel
+     * en un solo UPDATE: dos reseñas simultáneas no se pisan. También sube la
+     * versión, que es el ETag del hotel. Devuelve 0 si el hotel no existe.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE HotelEntity h
+        SET h.reviewCount = h.reviewCount + :count,
+            h.reviewScoreSum = h.reviewScoreSum + :score,
+            h.version = h.version + 1,
+            h.updatedAt = :now
+        WHERE h.id = :id
+    """)
+    int addReviewScore(
+            @Param("id") Long id,
+            @Param("count") int count,
+            @Param("score") long score,
+            @Param("now") LocalDateTime now
+    );
+
+    @Query("SELECT MAX(h.id) FROM HotelEntity h")
+    Long findMaxId();
+
+    // Cambia con cualquier escritura de un hotel (cada una incrementa @Version)
+    @Query("SELECT COALESCE(SUM(h.version), 0) FROM HotelEntity h")
+    long sumVersions();
 
     @Query("SELECT DISTINCT h FROM HotelEntity h LEFT JOIN FETCH h.categories")
     List<HotelEntity> findAllWithCategories();
 
+    /*
+     * Un lote de hoteles con todas sus colecciones: una consulta por colección
+     * (las tres juntas serían un producto cartesiano). Las dos últimas
+     * inicializan las colecciones de las mismas instancias que devuelve la primera.
+     */
+    @Query("SELECT DISTINCT h FROM HotelEntity h LEFT JOIN FETCH h.imageUrls WHERE h.id IN :ids")
+    List<HotelEntity> findWithImagesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT h FROM HotelEntity h LEFT JOIN FETCH h.categories WHERE h.id IN :ids")
+    List<HotelEntity> fetchCategories(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+        SELECT DISTINCT h FROM HotelEntity h
+        LEFT JOIN FETCH h.characteristics hc LEFT JOIN FETCH hc.characteristic
+        WHERE h.id IN :ids
+    """)
+    List<HotelEntity> fetchCharacteristics(@Param("ids") Collection<Long> ids);
+
+    // Marca un lote como modificado (nueva versión y ETag) en un solo UPDATE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE HotelEntity h SET h.version = h.version + 1, h.updatedAt = :now WHERE h.id IN :ids")
+    int touchAll(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT h.id FROM HotelEntity h JOIN h.categories c WHERE c.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    // =============================
+    // LISTADO PÚBLICO POR CURSOR (keyset)
+    // Solo devuelven ids ordenados: el rango "id > :afterId" se resuelve
+    // con la PK (o con los índices city/id y category_id/hotel_id) y nunca
+    // recorre las filas ya entregadas, a diferencia de un OFFSET.
+    // =============================
+    @Query("SELECT h.id FROM HotelEntity h WHERE h.id > :afterId ORDER BY h.id")
+    List<Long> findPageIds(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+        SELECT h.id
+        FROM HotelEntity h JOIN h.categories c
+        WHERE c.id = :categoryId AND h.id > :afterId
+        ORDER BY h.id
+    """)
+    List<Long> findPageIdsByCategory(@Param("afterId") Long afterId, @Param("categoryId") Long categoryId, Pageable pageable);
+
+    // La ciudad se compara por la clave normalizada de hotel_public_view
+    @Query("""
+        SELECT h.id
+        FROM HotelEntity h JOIN h.categories c, HotelPublicViewEntity v
+        WHERE v.hotelId = h.id AND c.id = :categoryId AND v.cityKey = :cityKey AND h.id > :afterId
+        ORDER BY h.id
+    """)
+    List<Long> findPageIdsByCityKeyAndCategory(
+            @Param("afterId") Long afterId,
+            @Param("cityKey") String cityKey,
+            @Param("categoryId") Long categoryId,
+            Pageable pageable
+    );
+
     @Override
     @EntityGraph(attributePaths = {
             "categories",
@@ -35,19 +146,7 @@ public interface HotelRepository extends JpaRepository<HotelEntity, Long> {
     })
     Optional<HotelEntity> findById(Long id);
 
-    @Query("""
-        SELECT DISTINCT h.city
-        FROM HotelEntity h
-        WHERE LOWER(TRIM(h.city)) LIKE CONCAT(LOWER(TRIM(:q)), '%')
-        ORDER BY h.city
-    """)
-    List<String> suggestCities(@Param("q") String q, Pageable pageable);
-
-    @Query("""
-        SELECT DISTINCT h.city
-        FROM HotelEntity h
-        WHERE h.city IS NOT NULL AND TRIM(h.city) <> ''
-        ORDER BY h.city
-    """)
-    List<String> listCities(Pageable pageable);
+    // Sin traer characteristics: para escribirlas por JDBC (HotelCharacteristicWriter) y leerlas después
+    @Query("SELECT h FROM HotelEntity h WHERE h.id = :id")
+    Optional<HotelEntity> findWithoutCharacteristicsById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package maryoris.tuteloapp.repository;
+
+import maryoris.tuteloapp.entity.ReservationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReservationRepository extends JpaRepository<ReservationEntity, Long> {
+
+    // Noches ocupadas vigentes, para reconstruir RoomInventory
+    interface NightsRow {
+        Long getHotelId();
+        LocalDate getCheckIn();
+        LocalDate getCheckOut();
+        Integer getRooms();
+    }
+
+    @Query("""
+        SELECT r.hotel.id AS hotelId, r.checkIn AS checkIn, r.checkOut AS checkOut, r.rooms AS rooms
+        FROM ReservationEntity r
+        WHERE r.status = maryoris.tuteloapp.entity.ReservationEntity$Status.CONFIRMED
+          AND r.checkOut > :today
+    """)
+    List<NightsRow> findActiveNights(@Param("today") LocalDate today);
+
+    interface ReservationRow {
+        Long getId();
+        Long getHotelId();
+        String getHotelName();
+        String getHotelCity();
+        LocalDate getCheckIn();
+        LocalDate getCheckOut();
+        Integer getRooms();
+        ReservationEntity.Status getStatus();
+        LocalDateTime getCreatedAt();
+    }
+
+    @Query("""
+        SELECT r.id AS id, h.id AS hotelId, h.name AS hotelName, h.city AS hotelCity,
+               r.checkIn AS checkIn, r.checkOut AS checkOut, r.rooms AS rooms,
+               r.status AS status, r.createdAt AS createdAt
+        FROM ReservationEntity r JOIN r.hotel h
+        WHERE r.user.id = :userId
+        ORDER BY r.checkIn DESC, r.id DESC
+    """)
+    List<ReservationRow> findRowsByUserId(@Param("userId") Long userId);
+
+    @Query("""
+        SELECT COUNT(r) > 0 FROM ReservationEntity r
+        WHERE r.hotel.id = :hotelId
+          AND r.status = maryoris.tuteloapp.entity.ReservationEntity$Status.CONFIRMED
+          AND r.checkOut > :today
+    """)
+    boolean existsActiveByHotelId(@Param("hotelId") Long hotelId, @Param("today") LocalDate today);
+
+    // Al borrar un hotel sin reservas vigentes se borra también su historial
+    @Modifying
+    @Query("DELETE FROM ReservationEntity r WHERE r.hotel.id = :hotelId")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+}
@@ -0,0 +1,52 @@
+package maryoris.tuteloapp.repository;
+
+import maryoris.tuteloapp.entity.ReviewEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReviewRepository extends JpaRepository<ReviewEntity, Long> {
+
+    interface ReviewRow {
+        Long getId();
+        Long getHotelId();
+        Long getUserId();
+        String getFirstName();
+        String getLastName();
+        Integer getScore();
+        String getText();
+        LocalDateTime getCreatedAt();
+    }
+
+    // Página por cursor: de la más nueva a la más vieja, ids menores que beforeId
+    @Query("""
+        SELECT r.id AS id, r.hotel.id AS hotelId, u.id AS userId, u.firstName AS firstName,
+               u.lastName AS lastName, r.score AS score, r.text AS text, r.createdAt AS createdAt
+        FROM ReviewEntity r JOIN r.user u
+        WHERE r.hotel.id = :hotelId AND r.id < :beforeId
+        ORDER BY r.id DESC
+    """)
+    List<ReviewRow> findPageByHotelId(
+            @Param("hotelId") Long hotelId,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable
+    );
+
+    @Query("SELECT COUNT(r) > 0 FROM ReviewEntity r WHERE r.hotel.id = :hotelId AND r.user.id = :userId")
+    boolean existsByHotelIdAndUserId(@Param("hotelId") Long hotelId, @Param("userId") Long userId);
+
+    // Devuelve 0 si otra petición ya la borró: así el agregado se descuenta una sola vez
+    @Modifying
+    @Query("DELETE FROM ReviewEntity r WHERE r.id = :id")
+    int deleteReview(@Param("id") Long id);
+
+    // Al borrar un hotel
+    @Modifying
+    @Query("DELETE FROM ReviewEntity r WHERE r.hotel.id = :hotelId")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+}
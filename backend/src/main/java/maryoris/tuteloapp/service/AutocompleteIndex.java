@@ -0,0 +1,529 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.AutocompleteSuggestionResponse;
+import maryoris.tuteloapp.entity.CategoryEntity;
+import maryoris.tuteloapp.repository.CategoryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Autocompletado unificado de ciudades, nombres de hotel y categorías.
+ *
+ * Es un trie comprimido (radix) sobre el texto normalizado (sin acentos ni
+ * mayúsculas). Cada sugerencia se inserta con su texto completo y además
+ * desde el comienzo de cada palabra, así "plaza" encuentra "Hotel Plaza".
+ *
+ * Cada nodo guarda en caché sus mejores MAX_SUGGESTIONS sugerencias
+ * (por cantidad de hoteles), mezcladas y por tipo; una tecla es bajar por el
+ * trie y devolver esa lista. Al cambiar una sugerencia solo se invalidan los
+ * nodos de su camino.
+ *
+ * Si el prefijo no alcanza para completar el pedido (por ejemplo "Barilohe"),
+ * se completa con coincidencias aproximadas de TrigramIndex.
+ */
+@Component
+public class AutocompleteIndex implements HotelIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    public enum Type {
+        CITY,
+        HOTEL,
+        CATEGORY
+    }
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingInt((Suggestion s) -> s.hotelsCount).reversed()
+            .thenComparing(s -> s.type)
+            .thenComparing(s -> s.label);
+
+    private final CategoryRepository categoryRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final TrigramIndex<Suggestion> fuzzy = new TrigramIndex<>();
+
+    private final Map<String, Suggestion> cities = new HashMap<>();
+    private final Map<Long, Suggestion> hotels = new HashMap<>();
+    private final Map<Long, Suggestion> categories = new HashMap<>();
+    private final Map<Long, Integer> categoryHotelCounts = new HashMap<>();
+    private final Map<Long, HotelSnapshot> indexed = new HashMap<>();
+
+    public AutocompleteIndex(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    @Override
+    public void rebuild(Collection<HotelSnapshot> snapshots) {
+        List<CategoryEntity> allCategories = categoryRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            root.suggestions.clear();
+            root.invalidate();
+            fuzzy.clear();
+            cities.clear();
+            hotels.clear();
+            categories.clear();
+            categoryHotelCounts.clear();
+            indexed.clear();
+
+            for (HotelSnapshot h : snapshots) {
+                addHotel(h);
+            }
+            syncCategories(allCategories);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onHotelChanged(HotelChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeHotel(event.getHotelId());
+            if (!event.isDeleted()) {
+                addHotel(event.getSnapshot());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getKind() != CatalogChangedEvent.Kind.CATEGORY) {
+            return;
+        }
+
+        List<CategoryEntity> allCategories = categoryRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            syncCategories(allCategories);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<AutocompleteSuggestionResponse> suggest(String prefix, Type type, int limit) {
+        String key = TextNormalizer.fold(prefix);
+        int max = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+
+        lock.readLock().lock();
+        try {
+            List<AutocompleteSuggestionResponse> result = new ArrayList<>(max);
+            Set<Suggestion> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            Node node = find(key);
+            if (node != null) {
+                for (Suggestion s : top(node, type)) {
+                    if (result.size() == max) break;
+                    seen.add(s);
+                    result.add(toResponse(s, false));
+                }
+            }
+
+            if (result.size() < max) {
+                fuzzyMatches(key).entrySet().stream()
+                        .filter(e -> type == null || e.getKey().type == type)
+                        .filter(e -> !seen.contains(e.getKey()))
+                        .sorted(Map.Entry.<Suggestion, Integer>comparingByValue()
+                                .thenComparing(Map.Entry.comparingByKey(RANKING)))
+                        .limit(max - result.size())
+                        .forEach(e -> result.add(toResponse(e.getKey(), true)));
+            }
+
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Cada palabra escrita (de largo suficiente) se corrige por separado contra
+     * las palabras de las sugerencias; una sugerencia califica si todas esas
+     * palabras le coinciden, y su distancia es la suma.
+     * Debe llamarse con el read lock tomado.
+     */
+    private Map<Suggestion, Integer> fuzzyMatches(String key) {
+        Map<Suggestion, Integer> acc = null;
+
+        for (String word : key.split(" ")) {
+            if (word.length() < MIN_FUZZY_LENGTH) continue;
+
+            Map<Suggestion, Integer> matches = fuzzy.search(word, maxDistance(word));
+            if (acc == null) {
+                acc = matches;
+            } else {
+                acc.keySet().retainAll(matches.keySet());
+                acc.replaceAll((s, distance) -> distance + matches.get(s));
+            }
+
+            if (acc.isEmpty()) break;
+        }
+
+        return acc == null ? Map.of() : acc;
+    }
+
+    // Más largo lo escrito, más errores se toleran
+    private static int maxDistance(String word) {
+        return word.length() < 6 ? 1 : 2;
+    }
+
+    private static AutocompleteSuggestionResponse toResponse(Suggestion s, boolean approximate) {
+        AutocompleteSuggestionResponse r = new AutocompleteSuggestionResponse(s.type.name(), s.id, s.label, s.hotelsCount);
+        if (approximate) {
+            r.setFuzzy(true);
+        }
+        return r;
+    }
+
+    public List<String> suggestCities(String prefix, int limit) {
+        return suggest(prefix, Type.CITY, limit).stream()
+                .map(AutocompleteSuggestionResponse::getLabel)
+                .toList();
+    }
+
+    // =============================
+    // MANTENIMIENTO DE SUGERENCIAS
+    // =============================
+
+    private void addHotel(HotelSnapshot h) {
+        Suggestion hotel = new Suggestion(Type.HOTEL, h.getId(), h.getName(), 1);
+        hotels.put(h.getId(), hotel);
+        insertAll(hotel);
+
+        String cityKey = TextNormalizer.fold(h.getCity());
+        if (!cityKey.isEmpty()) {
+            Suggestion city = cities.get(cityKey);
+            if (city == null) {
+                city = new Suggestion(Type.CITY, null, h.getCity(), 0);
+                cities.put(cityKey, city);
+                insertAll(city);
+            }
+            setCount(city, city.hotelsCount + 1);
+        }
+
+        for (Long categoryId : h.getCategoryIds()) {
+            int count = categoryHotelCounts.merge(categoryId, 1, Integer::sum);
+            Suggestion category = categories.get(categoryId);
+            if (category != null) {
+                setCount(category, count);
+            }
+        }
+
+        indexed.put(h.getId(), h);
+    }
+
+    private void removeHotel(Long hotelId) {
+        HotelSnapshot previous = indexed.remove(hotelId);
+        if (previous == null) {
+            return;
+        }
+
+        Suggestion hotel = hotels.remove(hotelId);
+        if (hotel != null) {
+            removeAll(hotel);
+        }
+
+        String cityKey = TextNormalizer.fold(previous.getCity());
+        Suggestion city = cities.get(cityKey);
+        if (city != null) {
+            if (city.hotelsCount <= 1) {
+                cities.remove(cityKey);
+                removeAll(city);
+            } else {
+                setCount(city, city.hotelsCount - 1);
+            }
+        }
+
+        for (Long categoryId : previous.getCategoryIds()) {
+            int count = categoryHotelCounts.merge(categoryId, -1, Integer::sum);
+            if (count <= 0) {
+                categoryHotelCounts.remove(categoryId);
+            }
+            Suggestion category = categories.get(categoryId);
+            if (category != null) {
+                setCount(category, Math.max(count, 0));
+            }
+        }
+    }
+
+    private void syncCategories(List<CategoryEntity> allCategories) {
+        Set<Long> present = new HashSet<>();
+
+        for (CategoryEntity c : allCategories) {
+            present.add(c.getId());
+            Suggestion existing = categories.get(c.getId());
+            if (existing != null && Objects.equals(existing.label, c.getName())) {
+                continue;
+            }
+            if (existing != null) {
+                removeAll(existing);
+            }
+
+            Suggestion category = new Suggestion(
+                    Type.CATEGORY, c.getId(), c.getName(), categoryHotelCounts.getOrDefault(c.getId(), 0));
+            categories.put(c.getId(), category);
+            insertAll(category);
+        }
+
+        categories.entrySet().removeIf(e -> {
+            if (present.contains(e.getKey())) return false;
+            removeAll(e.getValue());
+            return true;
+        });
+    }
+
+    private void setCount(Suggestion s, int hotelsCount) {
+        s.hotelsCount = hotelsCount;
+        for (String key : s.keys) {
+            invalidatePath(key);
+        }
+    }
+
+    private void insertAll(Suggestion s) {
+        for (String key : s.keys) {
+            insert(key, s);
+        }
+        for (String term : s.fuzzyTerms) {
+            fuzzy.add(term, s);
+        }
+    }
+
+    private void removeAll(Suggestion s) {
+        for (String key : s.keys) {
+            remove(key, s);
+        }
+        for (String term : s.fuzzyTerms) {
+            fuzzy.remove(term, s);
+        }
+    }
+
+    // =============================
+    // TRIE COMPRIMIDO
+    // =============================
+
+    private void insert(String key, Suggestion s) {
+        Node node = root;
+        node.invalidate();
+        int i = 0;
+
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+
+            if (child == null) {
+                Node leaf = new Node(key.substring(i));
+                leaf.suggestions.add(s);
+                node.children.put(key.charAt(i), leaf);
+                return;
+            }
+
+            int common = commonPrefix(child.edge, key, i);
+            if (common < child.edge.length()) {
+                // Se parte la arista: node -> mid -> child
+                Node mid = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                mid.children.put(child.edge.charAt(0), child);
+                node.children.put(mid.edge.charAt(0), mid);
+                child = mid;
+            }
+
+            node = child;
+            node.invalidate();
+            i += common;
+        }
+
+        node.suggestions.add(s);
+    }
+
+    private void remove(String key, Suggestion s) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        path.push(node);
+        int i = 0;
+
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) {
+                return;
+            }
+            node = child;
+            path.push(node);
+            i += child.edge.length();
+        }
+
+        node.suggestions.removeIf(existing -> existing == s);
+
+        // Se podan las hojas que quedaron vacías
+        Node current = path.pop();
+        current.invalidate();
+        while (!path.isEmpty()) {
+            Node parent = path.pop();
+            parent.invalidate();
+            if (current.suggestions.isEmpty() && current.children.isEmpty()) {
+                parent.children.remove(current.edge.charAt(0));
+            }
+            current = parent;
+        }
+    }
+
+    private void invalidatePath(String key) {
+        Node node = root;
+        node.invalidate();
+        int i = 0;
+
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) {
+                return;
+            }
+            node = child;
+            node.invalidate();
+            i += child.edge.length();
+        }
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        int i = 0;
+
+        while (i < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+
+            int remaining = prefix.length() - i;
+            if (remaining <= child.edge.length()) {
+                return child.edge.startsWith(prefix.substring(i)) ? child : null;
+            }
+            if (!prefix.startsWith(child.edge, i)) {
+                return null;
+            }
+
+            node = child;
+            i += child.edge.length();
+        }
+
+        return node;
+    }
+
+    /*
+     * Mejores sugerencias del subárbol (de un tipo, o de todos si type es null),
+     * armadas a partir de las listas ya calculadas de los hijos.
+     */
+    private List<Suggestion> top(Node node, Type type) {
+        int slot = type == null ? 0 : type.ordinal() + 1;
+        List<Suggestion> cached = node.top.get(slot);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Una misma sugerencia puede colgar de varias claves del subárbol
+        Set<Suggestion> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Suggestion s : node.suggestions) {
+            if (type == null || s.type == type) {
+                candidates.add(s);
+            }
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(top(child, type));
+        }
+
+        List<Suggestion> best = candidates.stream()
+                .sorted(RANKING)
+                .limit(MAX_SUGGESTIONS)
+                .toList();
+
+        node.top.set(slot, best);
+        return best;
+    }
+
+    private static int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private String edge;
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Suggestion> suggestions = new ArrayList<>(1);
+        // Posición 0: todas mezcladas; después una por Type
+        private final AtomicReferenceArray<List<Suggestion>> top =
+                new AtomicReferenceArray<>(Type.values().length + 1);
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        void invalidate() {
+            for (int i = 0; i < top.length(); i++) {
+                top.set(i, null);
+            }
+        }
+    }
+
+    private static final class Suggestion {
+        private final Type type;
+        private final Long id;
+        private final String label;
+        private final List<String> keys;
+        private final List<String> fuzzyTerms;
+        private int hotelsCount;
+
+        Suggestion(Type type, Long id, String label, int hotelsCount) {
+            this.type = type;
+            this.id = id;
+            this.label = label;
+            this.hotelsCount = hotelsCount;
+            this.keys = keysOf(label);
+            this.fuzzyTerms = fuzzyTermsOf(label);
+        }
+
+        // Cada palabra con largo suficiente para corregirla
+        private static List<String> fuzzyTermsOf(String label) {
+            String folded = TextNormalizer.fold(label);
+            List<String> terms = new ArrayList<>();
+            if (folded.isEmpty()) {
+                return terms;
+            }
+
+            for (String word : folded.split(" ")) {
+                if (word.length() >= MIN_FUZZY_LENGTH && !terms.contains(word)) {
+                    terms.add(word);
+                }
+            }
+            return terms;
+        }
+
+        // Texto completo + cada sufijo que empieza en una palabra
+        private static List<String> keysOf(String label) {
+            String folded = TextNormalizer.fold(label);
+            List<String> keys = new ArrayList<>();
+            if (folded.isEmpty()) {
+                return keys;
+            }
+
+            keys.add(folded);
+            for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+                String suffix = folded.substring(i + 1);
+                if (!suffix.isEmpty() && !keys.contains(suffix)) {
+                    keys.add(suffix);
+                }
+            }
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package maryoris.tuteloapp.service;
+
+/*
+ * Evento publicado después de crear, editar o eliminar una categoría
+ * o una característica, para que los índices que dependen de esos
+ * catálogos (nombres, tipos) se refresquen.
+ * id es el de la categoría o característica afectada.
+ */
+public class CatalogChangedEvent {
+
+    public enum Kind {
+        CATEGORY,
+        CHARACTERISTIC
+    }
+
+    private final Kind kind;
+    private final Long id;
+
+    public CatalogChangedEvent(Kind kind, Long id) {
+        this.kind = kind;
+        this.id = id;
+    }
+
+    public Kind getKind() { return kind; }
+    public Long getId() { return id; }
+}
@@ -5,6 +5,7 @@ import maryoris.tuteloapp.dto.CharacteristicResponse;
 import maryoris.tuteloapp.entity.CharacteristicEntity;
 import maryoris.tuteloapp.repository.CharacteristicRepository;
 import maryoris.tuteloapp.repository.HotelCharacteristicRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -16,13 +17,16 @@ public class CharacteristicService {
 
     private final CharacteristicRepository characteristicRepository;
     private final HotelCharacteristicRepository hotelCharacteristicRepository;
+    private final ApplicationEventPublisher events;
 
     public CharacteristicService(
             CharacteristicRepository characteristicRepository,
-            HotelCharacteristicRepository hotelCharacteristicRepository
+            HotelCharacteristicRepository hotelCharacteristicRepository,
+            ApplicationEventPublisher events
     ) {
         this.characteristicRepository = characteristicRepository;
         this.hotelCharacteristicRepository = hotelCharacteristicRepository;
+        this.events = events;
     }
 
     public List<CharacteristicEntity> listEntities() {
@@ -58,6 +62,7 @@ public class CharacteristicService {
         c.setType(type);
 
         CharacteristicEntity saved = characteristicRepository.save(c);
+        events.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.CHARACTERISTIC, saved.getId()));
         return new CharacteristicResponse(saved.getId(), saved.getName(), saved.getIcon(), saved.getType().name());
     }
 
@@ -87,6 +92,7 @@ public class CharacteristicService {
         c.setType(type);
 
         CharacteristicEntity saved = characteristicRepository.save(c);
+        events.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.CHARACTERISTIC, saved.getId()));
         return new CharacteristicResponse(saved.getId(), saved.getName(), saved.getIcon(), saved.getType().name());
     }
 
@@ -101,5 +107,6 @@ public class CharacteristicService {
         }
 
         characteristicRepository.deleteById(id);
+        events.publishEvent(new CatalogChangedEvent(CatalogChangedEvent.Kind.CHARACTERISTIC, id));
     }
 }
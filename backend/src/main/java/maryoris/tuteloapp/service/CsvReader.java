@@ -0,0 +1,103 @@
+package maryoris.tuteloapp.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Lector CSV (RFC 4180) registro por registro, sin cargar el archivo entero.
+ * Soporta campos entre comillas con comas, comillas dobles ("") y saltos
+ * de línea dentro del campo. Los finales de línea pueden ser \n, \r\n o \r.
+ */
+final class CsvReader implements AutoCloseable {
+
+    private final Reader in;
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = -2;
+    private boolean afterCr;
+
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    // Línea del archivo donde empezó el último registro leído
+    long recordLine() {
+        return recordLine;
+    }
+
+    // null al final del archivo
+    List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Comillas sin cerrar en la línea " + recordLine);
+                }
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = n;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int n = read();
+                    if (n != '\n') {
+                        pushedBack = n;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // Las líneas se cuentan al leer del archivo (un carácter devuelto no vuelve a contar)
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+
+        int c = in.read();
+        if (c == '\r' || (c == '\n' && !afterCr)) {
+            line++;
+        }
+        afterCr = c == '\r';
+        return c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,27 @@
+package maryoris.tuteloapp.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/*
+ * 409 al crear un hotel que se parece demasiado a otros existentes.
+ * GlobalExceptionHandler devuelve los candidatos en ApiErrorResponse.details;
+ * el alta se puede repetir con allowDuplicate=true si no es un duplicado.
+ */
+public class DuplicateHotelException extends ResponseStatusException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> candidates;
+
+    public DuplicateHotelException(List<String> candidates) {
+        super(HttpStatus.CONFLICT, "Hay hoteles parecidos en la misma ciudad. Si no es un duplicado, repetí el alta con allowDuplicate=true");
+        this.candidates = candidates;
+    }
+
+    public List<String> getCandidates() {
+        return candidates;
+    }
+}
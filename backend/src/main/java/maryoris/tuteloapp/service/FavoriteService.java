@@ -0,0 +1,232 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.RawJson;
+import maryoris.tuteloapp.entity.FavoriteEntity;
+import maryoris.tuteloapp.entity.UserEntity;
+import maryoris.tuteloapp.repository.FavoriteRepository;
+import maryoris.tuteloapp.repository.HotelPublicViewRepository;
+import maryoris.tuteloapp.repository.HotelRepository;
+import maryoris.tuteloapp.repository.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/*
+ * Hoteles favoritos de cada usuario.
+ * Los favoritos de los usuarios activos quedan en memoria como un
+ * LongHashSet por email (LRU de hasta MAX_CACHED_USERS usuarios), así el
+ * listado marca cuáles de los hoteles de la página son favoritos sin
+ * consultar la base por cada tarjeta: después de la primera lectura ni
+ * siquiera hace falta buscar al usuario.
+ * - Escritura directa (write-through): agregar o quitar un favorito escribe
+ *   en la base y recién después reemplaza el conjunto en memoria, todo con
+ *   el lock de la franja del usuario para que dos cambios simultáneos no
+ *   dejen la memoria distinta de la base.
+ * - Si el INSERT choca con la restricción única (o con un hotel recién
+ *   borrado) se descarta la entrada: la próxima lectura la vuelve a cargar.
+ * - Borrar un hotel vacía la caché (pasa poco).
+ * Supone una sola instancia de la aplicación, igual que los índices en memoria.
+ */
+@Service
+public class FavoriteService {
+
+    static final int MAX_CACHED_USERS = 10_000;
+
+    private static final int STRIPES = 64;
+
+    private final FavoriteRepository favoriteRepository;
+    private final UserRepository userRepository;
+    private final HotelRepository hotelRepository;
+    private final HotelPublicViewRepository viewRepository;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    private final Map<String, Favorites> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Favorites> eldest) {
+                    return size() > MAX_CACHED_USERS;
+                }
+            });
+
+    public FavoriteService(
+            FavoriteRepository favoriteRepository,
+            UserRepository userRepository,
+            HotelRepository hotelRepository,
+            HotelPublicViewRepository viewRepository
+    ) {
+        this.favoriteRepository = favoriteRepository;
+        this.userRepository = userRepository;
+        this.hotelRepository = hotelRepository;
+        this.viewRepository = viewRepository;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // Cuáles de hotelIds son favoritos del usuario, en el mismo orden
+    public List<Long> favoritedAmong(String email, List<Long> hotelIds) {
+        if (hotelIds == null || hotelIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        LongHashSet ids = load(email).hotelIds;
+        List<Long> result = new ArrayList<>();
+        for (Long hotelId : hotelIds) {
+            if (ids.contains(hotelId)) {
+                result.add(hotelId);
+            }
+        }
+        return result;
+    }
+
+    public List<Long> ids(String email) {
+        long[] ids = load(email).hotelIds.toArray();
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    // Resúmenes de los favoritos, del más reciente al más viejo
+    public List<RawJson> list(String email) {
+        List<Long> ids = favoriteRepository.findHotelIdsByUserId(load(email).userId);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, String> byId = viewRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(
+                        HotelPublicViewRepository.SummaryRow::getHotelId,
+                        HotelPublicViewRepository.SummaryRow::getSummaryJson
+                ));
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(RawJson::new)
+                .toList();
+    }
+
+    // Idempotente: si ya era favorito no escribe nada
+    public void add(String email, Long hotelId) {
+        String key = key(email);
+        ReentrantLock lock = stripe(key);
+        lock.lock();
+        try {
+            Favorites current = load(email);
+            if (current.hotelIds.contains(hotelId)) {
+                return;
+            }
+            if (!hotelRepository.existsById(hotelId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe");
+            }
+
+            try {
+                favoriteRepository.save(new FavoriteEntity(
+                        userRepository.getReferenceById(current.userId),
+                        hotelRepository.getReferenceById(hotelId)
+                ));
+            } catch (DataIntegrityViolationException ex) {
+                // Ya estaba en la base (otra instancia) o el hotel se borró recién
+                cache.remove(key);
+                if (!hotelRepository.existsById(hotelId)) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe");
+                }
+                return;
+            }
+
+            cache.put(key, current.with(hotelId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Idempotente: si no era favorito no escribe nada
+    public void remove(String email, Long hotelId) {
+        String key = key(email);
+        ReentrantLock lock = stripe(key);
+        lock.lock();
+        try {
+            Favorites current = load(email);
+            if (!current.hotelIds.contains(hotelId)) {
+                return;
+            }
+
+            favoriteRepository.deleteByUserIdAndHotelId(current.userId, hotelId);
+            cache.put(key, current.without(hotelId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (event.isDeleted()) {
+            cache.clear();
+        }
+    }
+
+    /*
+     * Entrada del usuario en la caché; si no está se lee de la base con el
+     * lock de su franja, para no pisar un cambio que se esté escribiendo.
+     */
+    private Favorites load(String email) {
+        String key = key(email);
+        Favorites cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        ReentrantLock lock = stripe(key);
+        lock.lock();
+        try {
+            cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            UserEntity user = userRepository.findByEmailIgnoreCase(email)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuario no encontrado"));
+            Favorites loaded = new Favorites(user.getId(), LongHashSet.of(favoriteRepository.findHotelIdsByUserId(user.getId())));
+            cache.put(key, loaded);
+            return loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private ReentrantLock stripe(String key) {
+        return stripes[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+
+    // Inmutable: cada cambio reemplaza la entrada
+    private static final class Favorites {
+        private final Long userId;
+        private final LongHashSet hotelIds;
+
+        Favorites(Long userId, LongHashSet hotelIds) {
+            this.userId = userId;
+            this.hotelIds = hotelIds;
+        }
+
+        Favorites with(long hotelId) {
+            return new Favorites(userId, hotelIds.with(hotelId));
+        }
+
+        Favorites without(long hotelId) {
+            return new Favorites(userId, hotelIds.without(hotelId));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package maryoris.tuteloapp.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/*
+ * Escribe el catálogo de hoteles directamente sobre la salida HTTP, leyendo hotel_public_view con un cursor de solo
+ * avance (fetch size fijo). En memoria solo está el bloque de filas que
+ * trae el driver, así que el consumo por request no crece con el catálogo.
+ * - writeTo: listado público (resúmenes) como array JSON.
+ * - writeNdjsonTo: exportación completa, un detalle de hotel por línea
+ *   (categorías, imágenes y valores de características).
+ *
+ * La lectura corre dentro de una transacción de solo lectura porque
+ * PostgreSQL solo respeta el fetch size con autocommit desactivado;
+ * sin ella el driver trae todo el resultado de una vez.
+ */
+@Service
+public class HotelCatalogStreamer {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SUMMARY_SQL =
+            "SELECT summary_json FROM hotel_public_view ORDER BY hotel_id";
+    private static final String DETAIL_SQL =
+            "SELECT detail_json FROM hotel_public_view ORDER BY hotel_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+
+    public HotelCatalogStreamer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write('[');
+        query(SUMMARY_SQL, new ArrayWriter(out));
+        out.write(']');
+        out.flush();
+    }
+
+    public void writeNdjsonTo(OutputStream out) throws IOException {
+        query(DETAIL_SQL, rs -> {
+            try {
+                out.write(rs.getString(1).getBytes(StandardCharsets.UTF_8));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        out.flush();
+    }
+
+    private void query(String sql, RowCallbackHandler handler) throws IOException {
+        try {
+            readOnlyTx.executeWithoutResult(status -> jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement ps = connection.prepareStatement(sql);
+                        ps.setFetchSize(FETCH_SIZE);
+                        return ps;
+                    },
+                    handler
+            ));
+        } catch (UncheckedIOException ex) {
+            // el cliente cortó la conexión: se propaga la causa original
+            throw ex.getCause();
+        }
+    }
+
+    // Cada fila ya es un objeto JSON: solo hacen falta las comas entre elementos
+    private static final class ArrayWriter implements RowCallbackHandler {
+
+        private final OutputStream out;
+        private boolean first = true;
+
+        ArrayWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                if (!first) {
+                    out.write(',');
+                }
+                out.write(rs.getString(1).getBytes(StandardCharsets.UTF_8));
+                first = false;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package maryoris.tuteloapp.service;
+
+/*
+ * Evento publicado por HotelService después de cada escritura sobre un hotel.
+ * snapshot es null cuando el hotel fue eliminado.
+ * ratingOnly indica que solo cambiaron los agregados de reseñas: los índices
+ * que no los usan pueden ignorarlo (ver HotelIndex.tracksRating).
+ */
+public class HotelChangedEvent {
+
+    private final Long hotelId;
+    private final HotelSnapshot snapshot;
+    private final boolean ratingOnly;
+
+    private HotelChangedEvent(Long hotelId, HotelSnapshot snapshot, boolean ratingOnly) {
+        this.hotelId = hotelId;
+        this.snapshot = snapshot;
+        this.ratingOnly = ratingOnly;
+    }
+
+    public static HotelChangedEvent saved(HotelSnapshot snapshot) {
+        return new HotelChangedEvent(snapshot.getId(), snapshot, false);
+    }
+
+    public static HotelChangedEvent rated(HotelSnapshot snapshot) {
+        return new HotelChangedEvent(snapshot.getId(), snapshot, true);
+    }
+
+    public static HotelChangedEvent deleted(Long hotelId) {
+        return new HotelChangedEvent(hotelId, null, false);
+    }
+
+    public Long getHotelId() { return hotelId; }
+    public HotelSnapshot getSnapshot() { return snapshot; }
+    public boolean isDeleted() { return snapshot == null; }
+    public boolean isRatingOnly() { return ratingOnly; }
+}
@@ -0,0 +1,239 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.CharacteristicPublicResponse;
+import maryoris.tuteloapp.entity.CharacteristicEntity;
+import maryoris.tuteloapp.repository.CharacteristicRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Valores de características de todos los hoteles, guardados por columna:
+ * - NUMBER: un int[] indexado por id de hotel más un BitSet de presencia;
+ * - BOOLEAN: un BitSet con los hoteles que la tienen en true.
+ * Un filtro como "habitaciones >= 50" recorre un solo arreglo de enteros
+ * contiguo, sin objetos por hotel ni HotelCharacteristicEntity.
+ * Igual que HotelSearchIndex, aprovecha que los ids de hotel son densos.
+ */
+@Component
+public class HotelCharacteristicColumns implements HotelIndex {
+
+    private final CharacteristicRepository characteristicRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, IntColumn> numeric = new HashMap<>();
+    private final Map<Long, BitSet> flags = new HashMap<>();
+    // id -> nombre y tipo, para las tablas comparativas
+    private final Map<Long, CharacteristicPublicResponse> catalog = new HashMap<>();
+
+    public HotelCharacteristicColumns(CharacteristicRepository characteristicRepository) {
+        this.characteristicRepository = characteristicRepository;
+    }
+
+    @Override
+    public void rebuild(Collection<HotelSnapshot> hotels) {
+        List<CharacteristicEntity> characteristics = characteristicRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            numeric.clear();
+            flags.clear();
+            for (HotelSnapshot h : hotels) {
+                add(h);
+            }
+            syncCatalog(characteristics);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onHotelChanged(HotelChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(Math.toIntExact(event.getHotelId()));
+            if (!event.isDeleted()) {
+                add(event.getSnapshot());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getKind() != CatalogChangedEvent.Kind.CHARACTERISTIC) {
+            return;
+        }
+
+        List<CharacteristicEntity> characteristics = characteristicRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            syncCatalog(characteristics);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Hoteles que cumplen todos los rangos. Devuelve null si no hay rangos
+     * (sin restricción), para que el llamador no tenga que armar un BitSet lleno.
+     */
+    public BitSet matchRanges(List<NumericRange> ranges) {
+        if (ranges.isEmpty()) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet result = null;
+            for (NumericRange range : ranges) {
+                IntColumn column = numeric.get(range.getCharacteristicId());
+                BitSet matches = column == null ? new BitSet() : column.range(range);
+
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.and(matches);
+                }
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Valores de cada hotel pedido, por característica. Solo incluye las
+     * características que tiene al menos uno de ellos; en las BOOLEAN un
+     * hotel que no la tiene figura con false.
+     */
+    public Comparison compare(List<Long> hotelIds) {
+        lock.readLock().lock();
+        try {
+            List<CharacteristicPublicResponse> columns = new ArrayList<>();
+            List<Map<Long, Object>> values = new ArrayList<>(hotelIds.size());
+            for (int i = 0; i < hotelIds.size(); i++) {
+                values.add(new LinkedHashMap<>());
+            }
+
+            List<CharacteristicPublicResponse> ordered = new ArrayList<>(catalog.values());
+            ordered.sort(Comparator.comparing(CharacteristicPublicResponse::getName, String.CASE_INSENSITIVE_ORDER));
+
+            for (CharacteristicPublicResponse c : ordered) {
+                IntColumn column = numeric.get(c.getId());
+                BitSet flag = flags.get(c.getId());
+                boolean any = false;
+
+                for (int i = 0; i < hotelIds.size(); i++) {
+                    int bit = Math.toIntExact(hotelIds.get(i));
+                    if (column != null && column.present.get(bit)) {
+                        values.get(i).put(c.getId(), column.values[bit]);
+                        any = true;
+                    } else if (flag != null && flag.get(bit)) {
+                        values.get(i).put(c.getId(), Boolean.TRUE);
+                        any = true;
+                    }
+                }
+
+                if (!any) {
+                    continue;
+                }
+                columns.add(c);
+                if ("BOOLEAN".equals(c.getType())) {
+                    for (Map<Long, Object> hotelValues : values) {
+                        hotelValues.putIfAbsent(c.getId(), Boolean.FALSE);
+                    }
+                }
+            }
+
+            return new Comparison(columns, values);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static final class Comparison {
+
+        private final List<CharacteristicPublicResponse> characteristics;
+        // En el mismo orden que los ids pedidos
+        private final List<Map<Long, Object>> values;
+
+        Comparison(List<CharacteristicPublicResponse> characteristics, List<Map<Long, Object>> values) {
+            this.characteristics = characteristics;
+            this.values = values;
+        }
+
+        public List<CharacteristicPublicResponse> getCharacteristics() { return characteristics; }
+        public List<Map<Long, Object>> getValues() { return values; }
+    }
+
+    private void add(HotelSnapshot h) {
+        int bit = Math.toIntExact(h.getId());
+
+        for (Map.Entry<Long, Integer> e : h.getNumericValues().entrySet()) {
+            numeric.computeIfAbsent(e.getKey(), k -> new IntColumn()).set(bit, e.getValue());
+        }
+        for (Long characteristicId : h.getEnabledCharacteristicIds()) {
+            flags.computeIfAbsent(characteristicId, k -> new BitSet()).set(bit);
+        }
+    }
+
+    // Hay pocas características: alcanza con limpiar el bit en cada columna
+    private void remove(int bit) {
+        for (IntColumn column : numeric.values()) {
+            column.present.clear(bit);
+        }
+        for (BitSet flag : flags.values()) {
+            flag.clear(bit);
+        }
+    }
+
+    private void syncCatalog(List<CharacteristicEntity> characteristics) {
+        catalog.clear();
+        for (CharacteristicEntity c : characteristics) {
+            catalog.put(c.getId(), new CharacteristicPublicResponse(
+                    c.getId(),
+                    c.getName(),
+                    c.getType() != null ? c.getType().name() : null
+            ));
+        }
+        // Columnas de características eliminadas
+        numeric.keySet().retainAll(catalog.keySet());
+        flags.keySet().retainAll(catalog.keySet());
+    }
+
+    private static final class IntColumn {
+        private int[] values = new int[1024];
+        private final BitSet present = new BitSet();
+
+        void set(int bit, int value) {
+            if (bit >= values.length) {
+                values = Arrays.copyOf(values, Math.max(bit + 1, values.length * 2));
+            }
+            values[bit] = value;
+            present.set(bit);
+        }
+
+        BitSet range(NumericRange range) {
+            int min = range.getMin() == null ? Integer.MIN_VALUE : range.getMin();
+            int max = range.getMax() == null ? Integer.MAX_VALUE : range.getMax();
+
+            BitSet result = new BitSet(values.length);
+            for (int bit = present.nextSetBit(0); bit >= 0; bit = present.nextSetBit(bit + 1)) {
+                int v = values[bit];
+                if (v >= min && v <= max) {
+                    result.set(bit);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.entity.CharacteristicEntity;
+import maryoris.tuteloapp.repository.HotelProjectionRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.*;
+
+/*
+ * Reemplaza los valores de características de un hotel escribiendo solo la
+ * diferencia con lo que ya está guardado.
+ * - Los valores actuales se leen con una sola consulta (proyección).
+ * - Se calculan las altas, modificaciones y bajas por characteristic_id
+ *   (hotel_id + characteristic_id es único en hotel_characteristics).
+ * - Cada grupo se envía como un batch JDBC; los que quedan vacíos no se envían.
+ *
+ * Se escribe por JDBC, sin pasar por las entidades, así que quien llama no
+ * debe tener cargada la colección hotel.characteristics antes de aplicar el
+ * cambio: al leerla después Hibernate la trae ya actualizada.
+ */
+@Service
+public class HotelCharacteristicWriter {
+
+    private static final String INSERT = """
+        INSERT INTO hotel_characteristics (hotel_id, characteristic_id, bool_value, num_value)
+        VALUES (?, ?, ?, ?)
+    """;
+    private static final String UPDATE = """
+        UPDATE hotel_characteristics SET bool_value = ?, num_value = ?
+        WHERE hotel_id = ? AND characteristic_id = ?
+    """;
+    private static final String DELETE =
+            "DELETE FROM hotel_characteristics WHERE hotel_id = ? AND characteristic_id = ?";
+
+    private final HotelProjectionRepository projectionRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public HotelCharacteristicWriter(HotelProjectionRepository projectionRepository, JdbcTemplate jdbcTemplate) {
+        this.projectionRepository = projectionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /*
+     * values: characteristicId -> valor deseado, ya validado contra el tipo.
+     * Devuelve true si hubo que escribir algo.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean replace(Long hotelId, Map<Long, Value> values) {
+        Map<Long, Value> current = new HashMap<>();
+        for (HotelProjectionRepository.CharacteristicRow row : projectionRepository.findCharacteristics(List.of(hotelId))) {
+            current.put(row.getCharacteristicId(), new Value(row.getBoolValue(), row.getNumValue()));
+        }
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+
+        for (Map.Entry<Long, Value> e : values.entrySet()) {
+            Value before = current.get(e.getKey());
+            Value after = e.getValue();
+
+            if (before == null) {
+                inserts.add(new Object[]{hotelId, e.getKey(), after.boolValue, after.numValue});
+            } else if (!before.equals(after)) {
+                updates.add(new Object[]{after.boolValue, after.numValue, hotelId, e.getKey()});
+            }
+        }
+        for (Long characteristicId : current.keySet()) {
+            if (!values.containsKey(characteristicId)) {
+                deletes.add(new Object[]{hotelId, characteristicId});
+            }
+        }
+
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE, deletes, new int[]{Types.BIGINT, Types.BIGINT});
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE, updates, new int[]{Types.BOOLEAN, Types.INTEGER, Types.BIGINT, Types.BIGINT});
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, inserts, new int[]{Types.BIGINT, Types.BIGINT, Types.BOOLEAN, Types.INTEGER});
+        }
+
+        return !inserts.isEmpty() || !updates.isEmpty() || !deletes.isEmpty();
+    }
+
+    // Valor de una característica: solo uno de los dos campos se usa según el tipo
+    public static final class Value {
+        private final Boolean boolValue;
+        private final Integer numValue;
+
+        private Value(Boolean boolValue, Integer numValue) {
+            this.boolValue = boolValue;
+            this.numValue = numValue;
+        }
+
+        public static Value of(CharacteristicEntity.Type type, Boolean boolValue, Integer numValue) {
+            return type == CharacteristicEntity.Type.BOOLEAN
+                    ? new Value(boolValue, null)
+                    : new Value(null, numValue);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Value other)) return false;
+            return Objects.equals(boolValue, other.boolValue) && Objects.equals(numValue, other.numValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(boolValue, numValue);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package maryoris.tuteloapp.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Detector de hoteles posiblemente duplicados ("Hotel Plaza" y
+ * "Hotel  Plaza Centro" en la misma dirección).
+ * Cada hotel se describe por:
+ * - los trigramas de su nombre normalizado, sin palabras genéricas como
+ *   "hotel" u "hostel" que no distinguen a nadie;
+ * - las palabras de su dirección.
+ * La similitud es el Jaccard entre esos conjuntos, y solo se comparan
+ * hoteles de la misma ciudad. Para no recorrer el catálogo en cada alta se
+ * usa MinHash + LSH (25 bandas de 2 filas: entran como candidatos casi todos
+ * los pares con Jaccard >= 0.4) y el Jaccard exacto se calcula solo sobre
+ * los candidatos.
+ */
+@Component
+public class HotelDuplicateIndex implements HotelIndex {
+
+    public static final double THRESHOLD = 0.4;
+
+    private static final int BANDS = 25;
+    private static final int ROWS = 2;
+    private static final int MAX_CANDIDATES = 5000;
+
+    private static final Set<String> GENERIC_WORDS = Set.of(
+            "hotel", "hoteles", "hostel", "hostal", "apart", "aparthotel",
+            "posada", "residencial", "resort", "suites", "inn"
+    );
+
+    // Prefijos para que un trigrama del nombre y una palabra de la dirección no choquen
+    private static final long NAME = 1L << 62;
+    private static final long ADDRESS = 2L << 62;
+
+    private final MinHash minHash = new MinHash(BANDS, ROWS, 0xD0B1EL);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> hotels = new HashMap<>();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+
+    @Override
+    public void rebuild(Collection<HotelSnapshot> snapshots) {
+        lock.writeLock().lock();
+        try {
+            hotels.clear();
+            buckets.clear();
+            for (HotelSnapshot h : snapshots) {
+                add(h);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onHotelChanged(HotelChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getHotelId());
+            if (!event.isDeleted()) {
+                add(event.getSnapshot());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Hoteles de la misma ciudad con nombre + dirección parecidos, del más al
+     * menos parecido, como máximo limit. Vacío si no hay ninguno sobre THRESHOLD.
+     */
+    public List<Candidate> candidates(String name, String city, String address, int limit) {
+        long[] features = features(name, address);
+        int[] signature = minHash.signature(features);
+        if (signature == null) {
+            return List.of();
+        }
+        String cityKey = TextNormalizer.fold(city);
+
+        lock.readLock().lock();
+        try {
+            Set<Long> seen = new HashSet<>();
+            List<Candidate> result = new ArrayList<>();
+            for (int band = 0; band < BANDS && seen.size() < MAX_CANDIDATES; band++) {
+                for (Long hotelId : buckets.getOrDefault(minHash.bandKey(signature, band), List.of())) {
+                    if (!seen.add(hotelId)) continue;
+
+                    Entry entry = hotels.get(hotelId);
+                    if (!entry.cityKey.equals(cityKey)) continue;
+
+                    double score = MinHash.jaccard(features, entry.features);
+                    if (score >= THRESHOLD) {
+                        result.add(new Candidate(hotelId, entry.name, entry.city, entry.address, score));
+                    }
+                }
+            }
+
+            result.sort(Comparator.comparingDouble(Candidate::getSimilarity).reversed()
+                    .thenComparing(Candidate::getHotelId));
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static final class Candidate {
+        private final Long hotelId;
+        private final String name;
+        private final String city;
+        private final String address;
+        private final double similarity;
+
+        Candidate(Long hotelId, String name, String city, String address, double similarity) {
+            this.hotelId = hotelId;
+            this.name = name;
+            this.city = city;
+            this.address = address;
+            this.similarity = similarity;
+        }
+
+        public Long getHotelId() { return hotelId; }
+        public String getName() { return name; }
+        public String getCity() { return city; }
+        public String getAddress() { return address; }
+        public double getSimilarity() { return similarity; }
+    }
+
+    // Ordenados y sin repetidos
+    static long[] features(String name, String address) {
+        Set<Long> features = new HashSet<>();
+
+        List<String> nameWords = new ArrayList<>();
+        for (String word : words(name)) {
+            if (!GENERIC_WORDS.contains(word)) {
+                nameWords.add(word);
+            }
+        }
+        // "Hotel Hotel" no deja nada: se usa el nombre completo
+        String plain = " " + String.join(" ", nameWords.isEmpty() ? words(name) : nameWords) + " ";
+        if (!plain.isBlank()) {
+            for (int i = 0; i + 3 <= plain.length(); i++) {
+                features.add(NAME | (hash(plain.substring(i, i + 3)) >>> 2));
+            }
+        }
+
+        for (String word : words(address)) {
+            features.add(ADDRESS | (hash(word) >>> 2));
+        }
+
+        long[] result = new long[features.size()];
+        int n = 0;
+        for (Long feature : features) {
+            result[n++] = feature;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    // Minúsculas sin tildes; la puntuación separa palabras ("Av. 9 de Julio" -> av, 9, de, julio)
+    private static List<String> words(String value) {
+        String folded = TextNormalizer.fold(value).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        return folded.isEmpty() ? List.of() : Arrays.asList(folded.split(" "));
+    }
+
+    // FNV-1a de 64 bits
+    private static long hash(String value) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+
+    private void add(HotelSnapshot h) {
+        long[] features = features(h.getName(), h.getAddress());
+        int[] signature = minHash.signature(features);
+        if (signature == null) {
+            return;
+        }
+
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            keys[band] = minHash.bandKey(signature, band);
+            buckets.computeIfAbsent(keys[band], k -> new ArrayList<>()).add(h.getId());
+        }
+        hotels.put(h.getId(), new Entry(
+                TextNormalizer.fold(h.getCity()), features, keys, h.getName(), h.getCity(), h.getAddress()));
+    }
+
+    private void remove(Long hotelId) {
+        Entry entry = hotels.remove(hotelId);
+        if (entry == null) {
+            return;
+        }
+        for (long key : entry.bucketKeys) {
+            List<Long> bucket = buckets.get(key);
+            if (bucket == null) continue;
+            bucket.remove(hotelId);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String cityKey;
+        private final long[] features;
+        private final long[] bucketKeys;
+        private final String name;
+        private final String city;
+        private final String address;
+
+        Entry(String cityKey, long[] features, long[] bucketKeys, String name, String city, String address) {
+            this.cityKey = cityKey;
+            this.features = features;
+            this.bucketKeys = bucketKeys;
+            this.name = name;
+            this.city = city;
+            this.address = address;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package maryoris.tuteloapp.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Índice espacial en memoria para "hoteles cerca".
+ * El mundo se divide en celdas de CELL_DEGREES x CELL_DEGREES (~11 km) y
+ * cada celda guarda sus hoteles en arreglos paralelos (id, lat, lng).
+ * Una búsqueda solo recorre las celdas que tocan el rectángulo que
+ * contiene al círculo pedido, calcula la distancia real (haversine) a esos
+ * hoteles y se queda con los más cercanos en un heap de tamaño limit.
+ */
+@Component
+public class HotelGeoIndex implements HotelIndex {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final double CELL_DEGREES = 0.1;
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int LNG_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Cell> cells = new HashMap<>();
+    // hotel -> celda donde está, para moverlo o quitarlo
+    private final Map<Long, Long> cellByHotel = new HashMap<>();
+
+    @Override
+    public void rebuild(Collection<HotelSnapshot> hotels) {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            cellByHotel.clear();
+            for (HotelSnapshot h : hotels) {
+                add(h);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onHotelChanged(HotelChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getHotelId());
+            if (!event.isDeleted()) {
+                add(event.getSnapshot());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Hoteles a menos de radiusKm del punto, del más cercano al más lejano.
+     * total es la cantidad dentro del radio; hits trae como máximo limit.
+     */
+    public Result near(double lat, double lng, double radiusKm, int limit) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double latMin = Math.max(-90, lat - dLat);
+        double latMax = Math.min(90, lat + dLat);
+
+        // Un grado de longitud mide menos cuanto más lejos del ecuador:
+        // se usa la latitud más alejada de la franja para no perder hoteles
+        double maxAbsLat = Math.max(Math.abs(latMin), Math.abs(latMax));
+        double cos = Math.cos(Math.toRadians(maxAbsLat));
+        double dLng = cos < 1e-6 ? 180 : radiusKm / (KM_PER_DEGREE * cos);
+
+        int rowFrom = latCell(latMin);
+        int rowTo = latCell(latMax);
+        int colFrom;
+        int colTo;
+        if (dLng >= 180) {
+            colFrom = 0;
+            colTo = LNG_CELLS - 1;
+        } else {
+            // puede cruzar el antimeridiano: las columnas se toman módulo LNG_CELLS
+            colFrom = (int) Math.floor((lng - dLng + 180) / CELL_DEGREES);
+            colTo = (int) Math.floor((lng + dLng + 180) / CELL_DEGREES);
+            if (colTo - colFrom >= LNG_CELLS) {
+                colFrom = 0;
+                colTo = LNG_CELLS - 1;
+            }
+        }
+
+        // heap con el más lejano arriba: se descarta cuando llega uno más cercano
+        PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::getDistanceKm).reversed());
+        int total = 0;
+
+        lock.readLock().lock();
+        try {
+            for (int row = rowFrom; row <= rowTo; row++) {
+                for (int col = colFrom; col <= colTo; col++) {
+                    Cell cell = cells.get(key(row, Math.floorMod(col, LNG_CELLS)));
+                    if (cell == null) continue;
+
+                    for (int i = 0; i < cell.size; i++) {
+                        double d = distanceKm(lat, lng, cell.lats[i], cell.lngs[i]);
+                        if (d > radiusKm) continue;
+
+                        total++;
+                        if (best.size() < limit) {
+                            best.add(new Hit(cell.ids[i], cell.lats[i], cell.lngs[i], d));
+                        } else if (d < best.peek().getDistanceKm()) {
+                            best.poll();
+                            best.add(new Hit(cell.ids[i], cell.lats[i], cell.lngs[i], d));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm).thenComparingLong(Hit::getHotelId));
+        return new Result(total, hits);
+    }
+
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Se llama con el write lock tomado
+    private void add(HotelSnapshot h) {
+        if (h.getLatitude() == null || h.getLongitude() == null) {
+            return;
+        }
+
+        long key = key(latCell(h.getLatitude()), lngCell(h.getLongitude()));
+        cells.computeIfAbsent(key, k -> new Cell()).add(h.getId(), h.getLatitude(), h.getLongitude());
+        cellByHotel.put(h.getId(), key);
+    }
+
+    // Se llama con el write lock tomado
+    private void remove(Long hotelId) {
+        Long key = cellByHotel.remove(hotelId);
+        if (key == null) {
+            return;
+        }
+
+        Cell cell = cells.get(key);
+        if (cell != null && cell.remove(hotelId) && cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    private static int latCell(double lat) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((lat + 90) / CELL_DEGREES));
+    }
+
+    private static int lngCell(double lng) {
+        return Math.floorMod((int) Math.floor((lng + 180) / CELL_DEGREES), LNG_CELLS);
+    }
+
+    private static long key(int row, int col) {
+        return (long) row * LNG_CELLS + col;
+    }
+
+    // Hoteles de una celda en arreglos paralelos; se quita con swap contra el último
+    private static final class Cell {
+        private long[] ids = new long[4];
+        private double[] lats = new double[4];
+        private double[] lngs = new double[4];
+        private int size;
+
+        void add(long id, double lat, double lng) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                lats = Arrays.copyOf(lats, size * 2);
+                lngs = Arrays.copyOf(lngs, size * 2);
+            }
+            ids[size] = id;
+            lats[size] = lat;
+            lngs[size] = lng;
+            size++;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    lats[i] = lats[size];
+                    lngs[i] = lngs[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public static final class Hit {
+        private final long hotelId;
+        private final double latitude;
+        private final double longitude;
+        private final double distanceKm;
+
+        Hit(long hotelId, double latitude, double longitude, double distanceKm) {
+            this.hotelId = hotelId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.distanceKm = distanceKm;
+        }
+
+        public long getHotelId() { return hotelId; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+
+    public static final class Result {
+        private final int total;
+        private final List<Hit> hits;
+
+        Result(int total, List<Hit> hits) {
+            this.total = total;
+            this.hits = hits;
+        }
+
+        public int getTotal() { return total; }
+        public List<Hit> getHits() { return hits; }
+    }
+}
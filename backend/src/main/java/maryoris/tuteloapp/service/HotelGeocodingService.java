@@ -0,0 +1,145 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.repository.HotelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/*
+ * Geocodificación sin servicios externos: la ubicación de un hotel sin
+ * coordenadas es la de su ciudad según el nomenclador geo/cities.csv.
+ * Es una aproximación (centro de la ciudad), suficiente para "hoteles cerca";
+ * el admin puede cargar la ubicación exacta en el alta o la edición.
+ */
+@Service
+public class HotelGeocodingService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelGeocodingService.class);
+
+    private static final String GAZETTEER = "geo/cities.csv";
+
+    private static final String UPDATE_SQL = """
+        UPDATE hotels SET latitude = ?, longitude = ?, version = version + 1, updated_at = ?
+        WHERE id = ?
+    """;
+
+    private final HotelRepository hotelRepository;
+    private final HotelReadModelService readModel;
+    private final JdbcTemplate jdbcTemplate;
+
+    // nombre normalizado -> {latitud, longitud}
+    private final Map<String, double[]> cities;
+
+    public HotelGeocodingService(HotelRepository hotelRepository, HotelReadModelService readModel, JdbcTemplate jdbcTemplate) {
+        this.hotelRepository = hotelRepository;
+        this.readModel = readModel;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cities = loadGazetteer();
+    }
+
+    // {latitud, longitud} de la ciudad, o null si no figura en el nomenclador
+    public double[] locate(String city) {
+        if (city == null) return null;
+
+        double[] found = cities.get(normalize(city));
+        if (found == null && city.contains(",")) {
+            // "Mendoza, Argentina" -> "Mendoza"
+            found = cities.get(normalize(city.substring(0, city.indexOf(','))));
+        }
+        return found == null ? null : found.clone();
+    }
+
+    // Completa la ubicación desde la ciudad solo si el hotel no la tiene
+    public void fillMissing(HotelEntity hotel) {
+        if (hotel.getLatitude() != null && hotel.getLongitude() != null) {
+            return;
+        }
+
+        double[] point = locate(hotel.getCity());
+        if (point != null) {
+            hotel.setLatitude(point[0]);
+            hotel.setLongitude(point[1]);
+        }
+    }
+
+    /*
+     * Al arrancar se geocodifican los hoteles que todavía no tienen ubicación
+     * (los creados antes de existir las columnas). Se incrementa la versión
+     * porque el detalle del hotel cambia, y se reescribe su hotel_public_view.
+     * Corre después del backfill de la vista y antes de construir los índices.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Transactional
+    public void backfill() {
+        List<HotelRepository.CityRow> missing = hotelRepository.findWithoutCoordinates();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (HotelRepository.CityRow row : missing) {
+            double[] point = locate(row.getCity());
+            if (point == null) continue;
+
+            updates.add(new Object[]{point[0], point[1], now, row.getId()});
+            ids.add(row.getId());
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates,
+                    new int[]{Types.DOUBLE, Types.DOUBLE, Types.TIMESTAMP, Types.BIGINT});
+            readModel.refreshAll(ids);
+        }
+
+        log.info("Hoteles geocodificados por ciudad: {} de {} sin ubicación", ids.size(), missing.size());
+    }
+
+    private static Map<String, double[]> loadGazetteer() {
+        Map<String, double[]> map = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(GAZETTEER).getInputStream(), StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("city,")) continue;
+
+                String[] parts = line.split(",");
+                map.put(normalize(parts[0]), new double[]{
+                        Double.parseDouble(parts[1].trim()),
+                        Double.parseDouble(parts[2].trim())
+                });
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo leer " + GAZETTEER, ex);
+        }
+        return Map.copyOf(map);
+    }
+
+    // Sin tildes, minúsculas y espacios colapsados: "San Martín  de los Andes" = "san martin de los andes"
+    private static String normalize(String value) {
+        String plain = Normalizer.normalize(value.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return plain.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,558 @@
+package maryoris.tuteloapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import maryoris.tuteloapp.dto.HotelCharacteristicValueRequest;
+import maryoris.tuteloapp.dto.HotelImportError;
+import maryoris.tuteloapp.dto.HotelImportResponse;
+import maryoris.tuteloapp.dto.HotelImportRow;
+import maryoris.tuteloapp.entity.CategoryEntity;
+import maryoris.tuteloapp.entity.CharacteristicEntity;
+import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.repository.CategoryRepository;
+import maryoris.tuteloapp.repository.CharacteristicRepository;
+import maryoris.tuteloapp.repository.HotelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/*
+ * Importación masiva de hoteles (CSV o NDJSON).
+ * - El archivo se lee registro por registro; nunca se carga completo.
+ * - Los nombres existentes, las categorías y las características se leen una
+ *   sola vez al empezar; cada fila se valida en memoria contra esos datos.
+ * - Las filas válidas se escriben en lotes de CHUNK_SIZE con inserts JDBC
+ *   en batch (hotels, hotel_categories, hotel_characteristics). Con
+ *   GenerationType.IDENTITY Hibernate no puede agrupar inserts, por eso
+ *   esta ruta usa JdbcTemplate y lee los ids generados del propio batch.
+ * - Una fila inválida se informa y se sigue con la siguiente. Si un lote
+ *   falla en la base, se reintenta fila por fila para aislar la culpable.
+ */
+@Service
+public class HotelImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final Logger log = LoggerFactory.getLogger(HotelImportService.class);
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_DESCRIPTION = 2000;
+    // Marca de orden de bytes que agregan algunos editores (Excel) al principio
+    private static final String BOM = "\uFEFF";
+
+    private static final String INSERT_HOTEL = """
+        INSERT INTO hotels (name, normalized_name, city, address, description, latitude, longitude, rooms, base_rate, version, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)
+    """;
+    private static final String INSERT_CATEGORY_LINK =
+            "INSERT INTO hotel_categories (hotel_id, category_id) VALUES (?, ?)";
+    private static final String INSERT_CHARACTERISTIC = """
+        INSERT INTO hotel_characteristics (hotel_id, characteristic_id, bool_value, num_value)
+        VALUES (?, ?, ?, ?)
+    """;
+
+    private final HotelRepository hotelRepository;
+    private final CategoryRepository categoryRepository;
+    private final CharacteristicRepository characteristicRepository;
+    private final HotelReadModelService readModel;
+    private final HotelProjectionService projections;
+    private final HotelGeocodingService geocoding;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final ObjectMapper objectMapper;
+
+    public HotelImportService(
+            HotelRepository hotelRepository,
+            CategoryRepository categoryRepository,
+            CharacteristicRepository characteristicRepository,
+            HotelReadModelService readModel,
+            HotelProjectionService projections,
+            HotelGeocodingService geocoding,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher events,
+            ObjectMapper objectMapper
+    ) {
+        this.hotelRepository = hotelRepository;
+        this.categoryRepository = categoryRepository;
+        this.characteristicRepository = characteristicRepository;
+        this.readModel = readModel;
+        this.projections = projections;
+        this.geocoding = geocoding;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.events = events;
+        this.objectMapper = objectMapper;
+    }
+
+    public HotelImportResponse importHotels(InputStream input, Format format) {
+        Context ctx = new Context(
+                new HashSet<>(hotelRepository.findAllNormalizedNames()),
+                byId(categoryRepository.findAll(), CategoryEntity::getId),
+                byId(characteristicRepository.findAll(), CharacteristicEntity::getId)
+        );
+        HotelImportResponse report = new HotelImportResponse();
+        List<PendingHotel> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        try (RowSource rows = format == Format.CSV ? new CsvRows(reader) : new NdjsonRows(reader, objectMapper)) {
+            SourceRow row;
+            while ((row = rows.next()) != null) {
+                report.setTotal(report.getTotal() + 1);
+
+                if (row.error != null) {
+                    report.getErrors().add(new HotelImportError(row.line, null, row.error));
+                    continue;
+                }
+
+                String error = validate(row.data, ctx);
+                if (error != null) {
+                    report.getErrors().add(new HotelImportError(row.line, row.data.getName(), error));
+                    continue;
+                }
+
+                ctx.names.add(HotelEntity.normalizeName(row.data.getName()));
+                fillCoordinates(row.data);
+                chunk.add(new PendingHotel(row.line, row.data, ctx));
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    write(chunk, report);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException ex) {
+            // El archivo no se puede seguir leyendo: se informa y se guarda lo ya validado
+            report.getErrors().add(new HotelImportError(0, null, "No se pudo leer el archivo: " + ex.getMessage()));
+        }
+
+        if (!chunk.isEmpty()) {
+            write(chunk, report);
+        }
+
+        log.info("Importación de hoteles: {} filas, {} importadas, {} con error",
+                report.getTotal(), report.getImported(), report.getErrors().size());
+        return report;
+    }
+
+    // =============================
+    // VALIDACIÓN (mismas reglas que HotelService.create)
+    // =============================
+    private String validate(HotelImportRow row, Context ctx) {
+        row.setName(trim(row.getName()));
+        row.setCity(trim(row.getCity()));
+        row.setAddress(trim(row.getAddress()));
+
+        if (isBlank(row.getName()) || isBlank(row.getCity()) || isBlank(row.getAddress())) {
+            return "Nombre, Ciudad y Dirección son obligatorios";
+        }
+        if (row.getDescription() != null && row.getDescription().length() > MAX_DESCRIPTION) {
+            return "La descripción supera los " + MAX_DESCRIPTION + " caracteres";
+        }
+        if (row.getRooms() != null && row.getRooms() < 1) {
+            return "rooms must be >= 1";
+        }
+        if (row.getBaseRate() != null && row.getBaseRate() < 0) {
+            return "baseRate must be >= 0";
+        }
+        // Negado para rechazar también NaN ("NaN" en el CSV se parsea sin error)
+        if (row.getLatitude() != null && !(row.getLatitude() >= -90 && row.getLatitude() <= 90)) {
+            return "latitude must be between -90 and 90";
+        }
+        if (row.getLongitude() != null && !(row.getLongitude() >= -180 && row.getLongitude() <= 180)) {
+            return "longitude must be between -180 and 180";
+        }
+        if (ctx.names.contains(HotelEntity.normalizeName(row.getName()))) {
+            return "Ya existe un hotel con ese nombre";
+        }
+
+        if (row.getCategoryIds() != null) {
+            List<Long> missing = row.getCategoryIds().stream()
+                    .filter(id -> id == null || !ctx.categories.containsKey(id))
+                    .toList();
+            if (!missing.isEmpty()) {
+                return "Categorías no encontradas: " + missing;
+            }
+        }
+
+        if (row.getCharacteristics() != null) {
+            Set<Long> seen = new HashSet<>();
+            for (HotelCharacteristicValueRequest item : row.getCharacteristics()) {
+                if (item.getCharacteristicId() == null) {
+                    return "characteristicId is required";
+                }
+                CharacteristicEntity c = ctx.characteristics.get(item.getCharacteristicId());
+                if (c == null) {
+                    return "Característica no encontrada: " + item.getCharacteristicId();
+                }
+                if (!seen.add(c.getId())) {
+                    return "Característica repetida: " + c.getId();
+                }
+                if (c.getType() == CharacteristicEntity.Type.BOOLEAN && item.getBoolValue() == null) {
+                    return "boolValue is required for BOOLEAN characteristic: " + c.getName();
+                }
+                if (c.getType() == CharacteristicEntity.Type.NUMBER && item.getNumValue() == null) {
+                    return "numValue is required for NUMBER characteristic: " + c.getName();
+                }
+                if (c.getType() == CharacteristicEntity.Type.NUMBER && item.getNumValue() < 0) {
+                    return "numValue must be >= 0 for characteristic: " + c.getName();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    // Igual que el alta individual: sin coordenadas se usa el centro de la ciudad
+    private void fillCoordinates(HotelImportRow row) {
+        if (row.getLatitude() != null && row.getLongitude() != null) {
+            return;
+        }
+
+        double[] point = geocoding.locate(row.getCity());
+        row.setLatitude(point == null ? null : point[0]);
+        row.setLongitude(point == null ? null : point[1]);
+    }
+
+    // =============================
+    // ESCRITURA POR LOTES
+    // =============================
+    private void write(List<PendingHotel> chunk, HotelImportResponse report) {
+        try {
+            tx.executeWithoutResult(status -> insert(chunk));
+            report.setImported(report.getImported() + chunk.size());
+        } catch (DataAccessException ex) {
+            log.warn("Falló un lote de {} hoteles, se reintenta fila por fila", chunk.size(), ex);
+            for (PendingHotel hotel : chunk) {
+                try {
+                    tx.executeWithoutResult(status -> insert(List.of(hotel)));
+                    report.setImported(report.getImported() + 1);
+                } catch (DataAccessException rowEx) {
+                    report.getErrors().add(new HotelImportError(hotel.line, hotel.row.getName(),
+                            "No se pudo guardar: " + rowEx.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+    }
+
+    // Debe correr dentro de una transacción
+    private void insert(List<PendingHotel> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = insertHotels(chunk, Timestamp.valueOf(now));
+
+        List<Object[]> categoryLinks = new ArrayList<>();
+        List<Object[]> values = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Long hotelId = ids.get(i);
+            PendingHotel hotel = chunk.get(i);
+
+            for (Long categoryId : hotel.categoryIds) {
+                categoryLinks.add(new Object[]{hotelId, categoryId});
+            }
+            for (HotelCharacteristicValueRequest item : hotel.characteristics) {
+                boolean isBoolean = hotel.types.get(item.getCharacteristicId()) == CharacteristicEntity.Type.BOOLEAN;
+                values.add(new Object[]{
+                        hotelId,
+                        item.getCharacteristicId(),
+                        isBoolean ? item.getBoolValue() : null,
+                        isBoolean ? null : item.getNumValue()
+                });
+            }
+        }
+
+        if (!categoryLinks.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CATEGORY_LINK, categoryLinks, new int[]{Types.BIGINT, Types.BIGINT});
+        }
+        if (!values.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CHARACTERISTIC, values,
+                    new int[]{Types.BIGINT, Types.BIGINT, Types.BOOLEAN, Types.INTEGER});
+        }
+
+        // Misma transacción: la vista de lectura queda escrita junto con los hoteles
+        readModel.refreshAll(ids);
+        events.publishEvent(new HotelsImportedEvent(projections.loadSnapshots(ids)));
+    }
+
+    private List<Long> insertHotels(List<PendingHotel> chunk, Timestamp now) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_HOTEL, new String[]{"id"})) {
+                for (PendingHotel hotel : chunk) {
+                    ps.setString(1, hotel.row.getName());
+                    ps.setString(2, HotelEntity.normalizeName(hotel.row.getName()));
+                    ps.setString(3, hotel.row.getCity());
+                    ps.setString(4, hotel.row.getAddress());
+                    ps.setString(5, hotel.row.getDescription());
+                    ps.setObject(6, hotel.row.getLatitude(), Types.DOUBLE);
+                    ps.setObject(7, hotel.row.getLongitude(), Types.DOUBLE);
+                    ps.setInt(8, hotel.row.getRooms() == null ? 1 : hotel.row.getRooms());
+                    ps.setObject(9, hotel.row.getBaseRate(), Types.INTEGER);
+                    ps.setTimestamp(10, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> ids = new ArrayList<>(chunk.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != chunk.size()) {
+                    // DataAccessException: write() lo reintenta fila por fila como cualquier otra falla
+                    throw new DataRetrievalFailureException("El driver no devolvió los ids generados del batch");
+                }
+                return ids;
+            }
+        });
+    }
+
+    // =============================
+    // LECTURA DEL ARCHIVO
+    // =============================
+    private interface RowSource extends AutoCloseable {
+        SourceRow next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class SourceRow {
+        final long line;
+        final HotelImportRow data;
+        final String error;
+
+        SourceRow(long line, HotelImportRow data, String error) {
+            this.line = line;
+            this.data = data;
+            this.error = error;
+        }
+    }
+
+    private static final class NdjsonRows implements RowSource {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long line;
+
+        NdjsonRows(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public SourceRow next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (line == 1) {
+                    text = text.replace(BOM, "");
+                }
+                if (text.isBlank()) continue;
+
+                try {
+                    return new SourceRow(line, objectMapper.readValue(text, HotelImportRow.class), null);
+                } catch (JsonProcessingException ex) {
+                    return new SourceRow(line, null, "JSON inválido: " + ex.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /*
+     * CSV con encabezado. Columnas: name, city, address, description,
+     * latitude, longitude, rooms y baseRate (opcionales), categoryIds (ids separados por |)
+     * y characteristics (pares id:valor separados por |, por ejemplo 3:true|5:40).
+     */
+    private static final class CsvRows implements RowSource {
+        private final CsvReader csv;
+        private Map<String, Integer> columns;
+
+        CsvRows(BufferedReader reader) {
+            this.csv = new CsvReader(reader);
+        }
+
+        @Override
+        public SourceRow next() throws IOException {
+            if (columns == null) {
+                List<String> header = csv.next();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim().replace(BOM, ""), i);
+                }
+                if (!columns.containsKey("name")) {
+                    throw new IOException("El CSV debe tener encabezado con la columna name");
+                }
+            }
+
+            List<String> fields = csv.next();
+            if (fields == null) {
+                return null;
+            }
+            long line = csv.recordLine();
+
+            try {
+                HotelImportRow row = new HotelImportRow();
+                row.setName(field(fields, "name"));
+                row.setCity(field(fields, "city"));
+                row.setAddress(field(fields, "address"));
+                row.setDescription(field(fields, "description"));
+                row.setLatitude(parseCoordinate(field(fields, "latitude"), "latitude"));
+                row.setLongitude(parseCoordinate(field(fields, "longitude"), "longitude"));
+                row.setRooms(parseInt(field(fields, "rooms"), "rooms"));
+                row.setBaseRate(parseInt(field(fields, "baseRate"), "baseRate"));
+                row.setCategoryIds(parseIds(field(fields, "categoryIds")));
+                row.setCharacteristics(parseCharacteristics(field(fields, "characteristics")));
+                return new SourceRow(line, row, null);
+            } catch (IllegalArgumentException ex) {
+                return new SourceRow(line, null, ex.getMessage());
+            }
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer i = columns.get(name);
+            return i == null || i >= fields.size() ? null : fields.get(i);
+        }
+
+        private Integer parseInt(String raw, String column) {
+            if (raw == null || raw.isBlank()) return null;
+            try {
+                return Integer.valueOf(raw.trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException(column + " inválido: " + raw);
+            }
+        }
+
+        private Double parseCoordinate(String raw, String column) {
+            if (raw == null || raw.isBlank()) return null;
+            try {
+                return Double.valueOf(raw.trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException(column + " inválido: " + raw);
+            }
+        }
+
+        private List<Long> parseIds(String raw) {
+            if (raw == null || raw.isBlank()) return List.of();
+
+            List<Long> ids = new ArrayList<>();
+            for (String part : raw.split("\\|")) {
+                try {
+                    ids.add(Long.valueOf(part.trim()));
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("categoryIds inválido: " + raw);
+                }
+            }
+            return ids;
+        }
+
+        private List<HotelCharacteristicValueRequest> parseCharacteristics(String raw) {
+            if (raw == null || raw.isBlank()) return List.of();
+
+            List<HotelCharacteristicValueRequest> items = new ArrayList<>();
+            for (String part : raw.split("\\|")) {
+                String[] kv = part.split(":", 2);
+                if (kv.length != 2) {
+                    throw new IllegalArgumentException("characteristics inválido: " + raw + " (formato id:valor|id:valor)");
+                }
+
+                HotelCharacteristicValueRequest item = new HotelCharacteristicValueRequest();
+                String value = kv[1].trim();
+                try {
+                    item.setCharacteristicId(Long.valueOf(kv[0].trim()));
+                    if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+                        item.setBoolValue(Boolean.valueOf(value));
+                    } else {
+                        item.setNumValue(Integer.valueOf(value));
+                    }
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("characteristics inválido: " + raw + " (formato id:valor|id:valor)");
+                }
+                items.add(item);
+            }
+            return items;
+        }
+
+        @Override
+        public void close() throws IOException {
+            csv.close();
+        }
+    }
+
+    // =============================
+    // ESTADO DE LA IMPORTACIÓN
+    // =============================
+    private static final class Context {
+        // Nombres normalizados: los existentes más los ya aceptados del archivo
+        final Set<String> names;
+        final Map<Long, CategoryEntity> categories;
+        final Map<Long, CharacteristicEntity> characteristics;
+
+        Context(Set<String> names, Map<Long, CategoryEntity> categories, Map<Long, CharacteristicEntity> characteristics) {
+            this.names = names;
+            this.categories = categories;
+            this.characteristics = characteristics;
+        }
+    }
+
+    private static final class PendingHotel {
+        final long line;
+        final HotelImportRow row;
+        final Set<Long> categoryIds;
+        final List<HotelCharacteristicValueRequest> characteristics;
+        final Map<Long, CharacteristicEntity.Type> types = new HashMap<>();
+
+        PendingHotel(long line, HotelImportRow row, Context ctx) {
+            this.line = line;
+            this.row = row;
+            this.categoryIds = row.getCategoryIds() == null ? Set.of() : new LinkedHashSet<>(row.getCategoryIds());
+            this.characteristics = row.getCharacteristics() == null ? List.of() : row.getCharacteristics();
+            for (HotelCharacteristicValueRequest item : this.characteristics) {
+                types.put(item.getCharacteristicId(), ctx.characteristics.get(item.getCharacteristicId()).getType());
+            }
+        }
+    }
+
+    private static <T> Map<Long, T> byId(List<T> items, Function<T, Long> id) {
+        Map<Long, T> map = new HashMap<>();
+        for (T item : items) {
+            map.put(id.apply(item), item);
+        }
+        return map;
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,31 @@
+package maryoris.tuteloapp.service;
+
+import java.util.Collection;
+
+/*
+ * Contrato de los índices en memoria sobre el catálogo de hoteles.
+ * HotelIndexCoordinator los reconstruye al arrancar y les reenvía cada
+ * HotelChangedEvent una vez confirmada la transacción.
+ */
+public interface HotelIndex {
+
+    /*
+     * Permite a un índice persistido recuperarse sin leer el catálogo.
+     * Si devuelve false, el coordinador llama a rebuild().
+     */
+    default boolean restore() {
+        return false;
+    }
+
+    /*
+     * Si el índice usa los agregados de reseñas. Los que no, no reciben los
+     * eventos de reseñas (HotelChangedEvent.isRatingOnly).
+     */
+    default boolean tracksRating() {
+        return false;
+    }
+
+    void rebuild(Collection<HotelSnapshot> hotels);
+
+    void onHotelChanged(HotelChangedEvent event);
+}
@@ -0,0 +1,115 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.repository.HotelCharacteristicRepository;
+import maryoris.tuteloapp.repository.HotelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/*
+ * Mantiene sincronizados todos los HotelIndex:
+ * - al arrancar carga el catálogo una sola vez y lo reparte entre los índices
+ *   que no pudieron restaurarse por su cuenta (ver HotelIndex.restore);
+ * - después de cada commit reenvía el HotelChangedEvent a cada índice
+ *   (los de reseñas, solo a los que usan los agregados);
+ * - cuando cambia una categoría o característica, vuelve a enviar el hotel
+ *   completo a los índices para cada hotel que la usa.
+ * Si una escritura ocurre fuera de una transacción (fallbackExecution),
+ * el evento se procesa en el momento en que se publica.
+ */
+@Component
+public class HotelIndexCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelIndexCoordinator.class);
+
+    private final HotelRepository hotelRepository;
+    private final HotelCharacteristicRepository hotelCharacteristicRepository;
+    private final HotelProjectionService projections;
+    private final List<HotelIndex> indexes;
+
+    public HotelIndexCoordinator(
+            HotelRepository hotelRepository,
+            HotelCharacteristicRepository hotelCharacteristicRepository,
+            HotelProjectionService projections,
+            List<HotelIndex> indexes
+    ) {
+        this.hotelRepository = hotelRepository;
+        this.hotelCharacteristicRepository = hotelCharacteristicRepository;
+        this.projections = projections;
+        this.indexes = indexes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildAll() {
+        List<HotelIndex> pending = indexes.stream()
+                .filter(index -> !index.restore())
+                .toList();
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<HotelSnapshot> hotels = projections.loadSnapshots(hotelRepository.findAllIds());
+
+        for (HotelIndex index : pending) {
+            index.rebuild(hotels);
+        }
+
+        log.info("Índices de hoteles construidos: {} hoteles, {} índices", hotels.size(), pending.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        for (HotelIndex index : indexes) {
+            if (event.isRatingOnly() && !index.tracksRating()) continue;
+            try {
+                index.onHotelChanged(event);
+            } catch (RuntimeException ex) {
+                // Un índice desactualizado no debe romper la escritura ya confirmada
+                log.error("No se pudo actualizar {} para el hotel {}",
+                        index.getClass().getSimpleName(), event.getHotelId(), ex);
+            }
+        }
+    }
+
+    /*
+     * Cambiar el tipo de una característica (BOOLEAN <-> NUMBER) cambia cómo
+     * se interpretan los valores de cada hotel: las postings de
+     * HotelSearchIndex, los rasgos de HotelSimilarityIndex, etc. Renombrar
+     * también sube la versión de esos hoteles (ver HotelReadModelService,
+     * que corre antes). Se relee cada hotel afectado y se reenvía completo.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getId() == null) {
+            return;
+        }
+
+        List<Long> hotelIds = event.getKind() == CatalogChangedEvent.Kind.CATEGORY
+                ? hotelRepository.findIdsByCategoryId(event.getId())
+                : hotelCharacteristicRepository.findHotelIdsByCharacteristicId(event.getId());
+
+        for (HotelSnapshot snapshot : projections.loadSnapshots(hotelIds)) {
+            onHotelChanged(HotelChangedEvent.saved(snapshot));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelsImported(HotelsImportedEvent event) {
+        for (HotelSnapshot snapshot : event.getSnapshots()) {
+            onHotelChanged(HotelChangedEvent.saved(snapshot));
+        }
+    }
+}
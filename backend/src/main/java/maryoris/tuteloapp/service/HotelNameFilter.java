@@ -0,0 +1,180 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.repository.HotelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Filtro de Bloom con los nombres normalizados de todos los hoteles.
+ * Responde "seguro que no existe" o "quizás existe":
+ * - en el caso común (nombre nuevo) el alta no consulta la base y deja que
+ *   el índice único uk_hotels_normalized_name rechace la rara colisión;
+ * - solo cuando el filtro dice "quizás" se confirma con existsByNormalizedName.
+ *
+ * ~10 bits por nombre y 7 funciones hash: ~1% de falsos positivos.
+ * Los nombres borrados o renombrados no se pueden quitar; solo suman falsos
+ * positivos. Cuando se supera la capacidad se reconstruye desde la base.
+ * Hasta que el coordinador lo construye, mightContain responde siempre true.
+ */
+@Component
+public class HotelNameFilter implements HotelIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelNameFilter.class);
+
+    private static final int BITS_PER_NAME = 10;
+    private static final int HASHES = 7;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final HotelRepository hotelRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Bits bits;
+
+    public HotelNameFilter(HotelRepository hotelRepository, JdbcTemplate jdbcTemplate) {
+        this.hotelRepository = hotelRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean mightContain(String normalizedName) {
+        Bits current = bits;
+        return current == null || current.mightContain(normalizedName);
+    }
+
+    @Override
+    public void rebuild(Collection<HotelSnapshot> hotels) {
+        List<String> names = hotels.stream()
+                .map(h -> HotelEntity.normalizeName(h.getName()))
+                .filter(Objects::nonNull)
+                .toList();
+        bits = Bits.of(names);
+    }
+
+    @Override
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (event.isDeleted()) {
+            return;
+        }
+
+        String name = HotelEntity.normalizeName(event.getSnapshot().getName());
+        Bits current = bits;
+        if (current == null || name == null) {
+            return;
+        }
+
+        if (!current.add(name)) {
+            // Capacidad superada: la tasa de falsos positivos empezaría a crecer
+            List<String> names = hotelRepository.findAllNormalizedNames();
+            bits = Bits.of(names);
+            log.info("Filtro de nombres de hoteles redimensionado: {} nombres", names.size());
+        }
+    }
+
+    /*
+     * Completa normalized_name en las filas creadas antes de que existiera la
+     * columna. Si dos hoteles viejos colisionan, el segundo queda sin valor y
+     * se avisa en el log para renombrarlo. Mientras tanto se puede editar:
+     * HotelEntity solo recalcula normalized_name cuando cambia el nombre.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfillNormalizedNames() {
+        List<HotelRepository.NameRow> missing = hotelRepository.findWithoutNormalizedName();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Set<String> taken = new HashSet<>(hotelRepository.findAllNormalizedNames());
+        List<Object[]> updates = new ArrayList<>();
+        for (HotelRepository.NameRow row : missing) {
+            String name = HotelEntity.normalizeName(row.getName());
+            if (name == null) continue;
+
+            if (!taken.add(name)) {
+                log.warn("Hotel {} con nombre repetido \"{}\": normalized_name queda vacío", row.getId(), row.getName());
+                continue;
+            }
+            updates.add(new Object[]{name, row.getId()});
+        }
+
+        jdbcTemplate.batchUpdate("UPDATE hotels SET normalized_name = ? WHERE id = ?", updates,
+                new int[]{Types.VARCHAR, Types.BIGINT});
+        log.info("normalized_name completado en {} hoteles", updates.size());
+    }
+
+    // Arreglo de bits de tamaño fijo; add y mightContain pueden correr en paralelo
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int capacity;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Bits(int capacity) {
+            this.capacity = capacity;
+            int wordCount = (int) (((long) capacity * BITS_PER_NAME + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.size = (long) wordCount * 64;
+        }
+
+        // Se deja el doble de lugar para que las altas siguientes no lo llenen enseguida
+        static Bits of(List<String> names) {
+            Bits bits = new Bits(Math.max(MIN_CAPACITY, names.size() * 2));
+            for (String name : names) {
+                bits.add(name);
+            }
+            return bits;
+        }
+
+        // false cuando ya no entra más (igual quedó agregado)
+        boolean add(String name) {
+            long h1 = hash(name, 0x9E3779B97F4A7C15L);
+            long h2 = hash(name, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                words.getAndUpdate(word, w -> w | mask);
+            }
+            return count.incrementAndGet() <= capacity;
+        }
+
+        boolean mightContain(String name) {
+            long h1 = hash(name, 0x9E3779B97F4A7C15L);
+            long h2 = hash(name, 0xC2B2AE3D27D4EB4FL) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a de 64 bits sobre los bytes UTF-8, con semilla y mezcla final
+        private static long hash(String value, long seed) {
+            long h = 0xCBF29CE484222325L ^ seed;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b & 0xFF;
+                h *= 0x100000001B3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.entity.HotelRateRuleEntity;
+import maryoris.tuteloapp.repository.HotelRateRuleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Calendario de precios por hotel, en memoria.
+ * Las reglas de tarifa (HotelRateRuleEntity) se evalúan una sola vez por
+ * hotel y por día al cargar o cambiar las tarifas; el resultado queda en un
+ * int[] con el precio de cada noche desde firstDay. El total de una estadía
+ * es la suma de un tramo de ese arreglo, así que calcular el precio de una
+ * página de resultados (o de todos los hoteles para ordenar) no vuelve a
+ * recorrer reglas ni a consultar la base.
+ * - Un hotel sin reglas no tiene arreglo: todas sus noches valen baseRate.
+ * - El arreglo cubre la ventana de reservas más STALE_DAYS días; cuando
+ *   quedó atrasado más que eso se recalcula la próxima vez que se lee.
+ * - Un hotel sin tarifa (ni base ni fija) no tiene precio: NO_PRICE.
+ */
+@Component
+public class HotelPriceCalendar implements HotelIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelPriceCalendar.class);
+
+    public static final long NO_PRICE = -1;
+
+    private static final int STALE_DAYS = 7;
+    private static final int DAYS = RoomInventory.WINDOW_DAYS + STALE_DAYS + 1;
+    private static final int UNPRICED = -1;
+
+    private final HotelRateRuleRepository ruleRepository;
+
+    private final ConcurrentHashMap<Long, Calendar> hotels = new ConcurrentHashMap<>();
+    private volatile Clock clock = Clock.systemDefaultZone();
+
+    public HotelPriceCalendar(HotelRateRuleRepository ruleRepository) {
+        this.ruleRepository = ruleRepository;
+    }
+
+    @Override
+    public void rebuild(Collection<HotelSnapshot> snapshots) {
+        Map<Long, List<Rule>> rules = new HashMap<>();
+        for (HotelRateRuleRepository.RuleRow row : ruleRepository.findAllRows()) {
+            rules.computeIfAbsent(row.getHotelId(), k -> new ArrayList<>()).add(new Rule(
+                    row.getStartDate(),
+                    row.getEndDate(),
+                    row.getWeekdays() == null ? 0 : row.getWeekdays(),
+                    row.getFixedRate(),
+                    row.getPercent()
+            ));
+        }
+
+        int today = today();
+        hotels.clear();
+        for (HotelSnapshot h : snapshots) {
+            hotels.put(h.getId(), new Calendar(h.getBaseRate(), rules.getOrDefault(h.getId(), List.of()), today));
+        }
+
+        log.info("Calendario de precios: {} hoteles, {} con reglas de tarifa", hotels.size(), rules.size());
+    }
+
+    @Override
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (event.isDeleted()) {
+            hotels.remove(event.getHotelId());
+            return;
+        }
+
+        // Las reglas no viajan en el snapshot: se conservan las que ya tenía
+        Integer baseRate = event.getSnapshot().getBaseRate();
+        hotels.compute(event.getHotelId(), (id, old) -> {
+            if (old == null) {
+                return new Calendar(baseRate, List.of(), today());
+            }
+            return Objects.equals(old.baseRate, baseRate) ? old : new Calendar(baseRate, old.rules, today());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatesChanged(HotelRatesChangedEvent event) {
+        hotels.put(event.getHotelId(), new Calendar(event.getBaseRate(), event.getRules(), today()));
+    }
+
+    /*
+     * Total de la estadía [checkIn, checkOut) en un hotel, o NO_PRICE si el
+     * hotel no existe o alguna noche no tiene tarifa.
+     */
+    public long total(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        Calendar calendar = calendar(hotelId);
+        return calendar == null ? NO_PRICE : calendar.total((int) checkIn.toEpochDay(), (int) checkOut.toEpochDay());
+    }
+
+    // Totales en el mismo orden que ids
+    public long[] totals(List<Long> ids, LocalDate checkIn, LocalDate checkOut) {
+        int from = (int) checkIn.toEpochDay();
+        int to = (int) checkOut.toEpochDay();
+
+        long[] result = new long[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            Calendar calendar = calendar(ids.get(i));
+            result[i] = calendar == null ? NO_PRICE : calendar.total(from, to);
+        }
+        return result;
+    }
+
+    // Precio de cada noche de la estadía; null si el hotel no existe
+    public int[] nights(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        Calendar calendar = calendar(hotelId);
+        if (calendar == null) {
+            return null;
+        }
+
+        int from = (int) checkIn.toEpochDay();
+        int[] result = new int[(int) (checkOut.toEpochDay() - from)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = calendar.price(from + i);
+        }
+        return result;
+    }
+
+    /*
+     * Hoteles cuyo total para la estadía está entre min y max (inclusive,
+     * cualquiera de los dos puede ser null). Los hoteles sin precio no entran.
+     * BitSet indexado por id de hotel, como HotelSearchIndex.
+     */
+    public BitSet withinPrice(LocalDate checkIn, LocalDate checkOut, Integer min, Integer max) {
+        int from = (int) checkIn.toEpochDay();
+        int to = (int) checkOut.toEpochDay();
+        long lo = min == null ? 0 : min;
+        long hi = max == null ? Long.MAX_VALUE : max;
+
+        BitSet result = new BitSet();
+        for (Long hotelId : hotels.keySet()) {
+            Calendar calendar = calendar(hotelId);
+            if (calendar == null) continue;
+
+            long total = calendar.total(from, to);
+            if (total != NO_PRICE && total >= lo && total <= hi) {
+                result.set(Math.toIntExact(hotelId));
+            }
+        }
+        return result;
+    }
+
+    static List<Rule> rulesOf(List<HotelRateRuleEntity> entities) {
+        List<Rule> rules = new ArrayList<>(entities.size());
+        for (HotelRateRuleEntity r : entities) {
+            rules.add(new Rule(r.getStartDate(), r.getEndDate(), r.getWeekdays(), r.getFixedRate(), r.getPercent()));
+        }
+        return rules;
+    }
+
+    // Para tests: mover el día de hoy sin esperar
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    // Recalcula el arreglo si quedó atrasado respecto de hoy
+    private Calendar calendar(Long hotelId) {
+        Calendar calendar = hotels.get(hotelId);
+        if (calendar == null || calendar.prices == null) {
+            return calendar;
+        }
+
+        int today = today();
+        if (today - calendar.firstDay <= STALE_DAYS) {
+            return calendar;
+        }
+        return hotels.computeIfPresent(hotelId, (id, current) ->
+                today - current.firstDay <= STALE_DAYS ? current : new Calendar(current.baseRate, current.rules, today));
+    }
+
+    private int today() {
+        return (int) LocalDate.now(clock).toEpochDay();
+    }
+
+    // Inmutable: un cambio de tarifas reemplaza el calendario entero
+    private static final class Calendar {
+        private final Integer baseRate;
+        private final List<Rule> rules;
+        private final int firstDay;
+        // null si no hay reglas
+        private final int[] prices;
+
+        Calendar(Integer baseRate, List<Rule> rules, int firstDay) {
+            this.baseRate = baseRate;
+            this.rules = List.copyOf(rules);
+            this.firstDay = firstDay;
+
+            if (this.rules.isEmpty()) {
+                this.prices = null;
+            } else {
+                this.prices = new int[DAYS];
+                for (int i = 0; i < DAYS; i++) {
+                    prices[i] = evaluate(firstDay + i);
+                }
+            }
+        }
+
+        long total(int from, int to) {
+            if (prices == null) {
+                return baseRate == null ? NO_PRICE : (long) baseRate * (to - from);
+            }
+
+            int start = from - firstDay;
+            int end = to - firstDay;
+            if (start < 0 || end > DAYS) {
+                return slowTotal(from, to);
+            }
+
+            long sum = 0;
+            for (int i = start; i < end; i++) {
+                int price = prices[i];
+                if (price == UNPRICED) {
+                    return NO_PRICE;
+                }
+                sum += price;
+            }
+            return sum;
+        }
+
+        int price(int day) {
+            if (prices == null) {
+                return baseRate == null ? UNPRICED : baseRate;
+            }
+            int i = day - firstDay;
+            return i >= 0 && i < DAYS ? prices[i] : evaluate(day);
+        }
+
+        // Fuera del arreglo (no debería pasar con fechas validadas): se evalúan las reglas
+        private long slowTotal(int from, int to) {
+            long sum = 0;
+            for (int day = from; day < to; day++) {
+                int price = evaluate(day);
+                if (price == UNPRICED) {
+                    return NO_PRICE;
+                }
+                sum += price;
+            }
+            return sum;
+        }
+
+        private int evaluate(int day) {
+            int price = baseRate == null ? UNPRICED : baseRate;
+            // epochDay 0 (1970-01-01) fue jueves: 0 = lunes ... 6 = domingo
+            int weekday = Math.floorMod(day + 3, 7);
+
+            for (Rule rule : rules) {
+                if (!rule.matches(day, weekday)) continue;
+
+                if (rule.fixedRate != null) {
+                    price = rule.fixedRate;
+                } else if (rule.percent != null && price != UNPRICED) {
+                    long adjusted = Math.round(price * (100L + rule.percent) / 100.0);
+                    price = (int) Math.min(Integer.MAX_VALUE, Math.max(0, adjusted));
+                }
+            }
+            return price;
+        }
+    }
+
+    static final class Rule {
+        private final int startDay;
+        private final int endDay;
+        private final int weekdays;
+        private final Integer fixedRate;
+        private final Integer percent;
+
+        Rule(LocalDate startDate, LocalDate endDate, int weekdays, Integer fixedRate, Integer percent) {
+            this.startDay = startDate == null ? Integer.MIN_VALUE : (int) startDate.toEpochDay();
+            this.endDay = endDate == null ? Integer.MAX_VALUE : (int) endDate.toEpochDay();
+            this.weekdays = weekdays;
+            this.fixedRate = fixedRate;
+            this.percent = percent;
+        }
+
+        boolean matches(int day, int weekday) {
+            return day >= startDay && day <= endDay && (weekdays == 0 || (weekdays & (1 << weekday)) != 0);
+        }
+    }
+}
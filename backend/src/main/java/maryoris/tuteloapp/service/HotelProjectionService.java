@@ -0,0 +1,137 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.CategoryResponse;
+import maryoris.tuteloapp.dto.HotelPublicResponse;
+import maryoris.tuteloapp.entity.CharacteristicEntity;
+import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.repository.HotelProjectionRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/*
+ * Arma HotelPublicResponse y HotelSnapshot a partir de proyecciones, sin
+ * cargar entidades. Por cada lote de hasta BATCH_SIZE ids se hacen siempre
+ * las mismas consultas (fila base + una por colección), sin importar
+ * cuántas imágenes, categorías o características tenga cada hotel.
+ * Los resultados respetan el orden de los ids recibidos.
+ */
+@Service
+public class HotelProjectionService {
+
+    static final int BATCH_SIZE = 500;
+
+    private final HotelProjectionRepository projections;
+
+    public HotelProjectionService(HotelProjectionRepository projections) {
+        this.projections = projections;
+    }
+
+    // 3 consultas por lote: hoteles, imágenes y categorías
+    public List<HotelPublicResponse> loadPublic(List<Long> ids) {
+        List<HotelPublicResponse> result = new ArrayList<>(ids.size());
+
+        for (List<Long> batch : batches(ids)) {
+            Map<Long, HotelProjectionRepository.HotelRow> rows = rowsById(batch);
+
+            Map<Long, List<String>> images = new HashMap<>();
+            for (HotelProjectionRepository.ImageRow row : projections.findImages(batch)) {
+                images.computeIfAbsent(row.getHotelId(), k -> new ArrayList<>()).add(row.getImageUrl());
+            }
+
+            Map<Long, List<CategoryResponse>> categories = new HashMap<>();
+            for (HotelProjectionRepository.CategoryRow row : projections.findCategories(batch)) {
+                categories.computeIfAbsent(row.getHotelId(), k -> new ArrayList<>())
+                        .add(new CategoryResponse(row.getCategoryId(), row.getCategoryName()));
+            }
+
+            for (Long id : batch) {
+                HotelProjectionRepository.HotelRow h = rows.get(id);
+                if (h == null) continue;
+
+                HotelPublicResponse dto = new HotelPublicResponse();
+                dto.setId(h.getId());
+                dto.setName(h.getName());
+                dto.setCity(h.getCity());
+                dto.setAddress(h.getAddress());
+                dto.setDescription(h.getDescription());
+                dto.setImageUrls(images.getOrDefault(id, new ArrayList<>()));
+                dto.setCategories(categories.getOrDefault(id, new ArrayList<>()));
+                dto.setReviewCount(h.getReviewCount() == null ? 0 : h.getReviewCount());
+                dto.setRating(HotelEntity.averageScore(
+                        dto.getReviewCount(), h.getReviewScoreSum() == null ? 0 : h.getReviewScoreSum()));
+                result.add(dto);
+            }
+        }
+
+        return result;
+    }
+
+    // 3 consultas por lote: hoteles, categorías y características
+    public List<HotelSnapshot> loadSnapshots(List<Long> ids) {
+        List<HotelSnapshot> result = new ArrayList<>(ids.size());
+
+        for (List<Long> batch : batches(ids)) {
+            Map<Long, HotelProjectionRepository.HotelRow> rows = rowsById(batch);
+
+            Map<Long, Set<Long>> categoryIds = new HashMap<>();
+            for (HotelProjectionRepository.CategoryRow row : projections.findCategories(batch)) {
+                categoryIds.computeIfAbsent(row.getHotelId(), k -> new HashSet<>()).add(row.getCategoryId());
+            }
+
+            Map<Long, Set<Long>> enabled = new HashMap<>();
+            Map<Long, Map<Long, Integer>> numeric = new HashMap<>();
+            for (HotelProjectionRepository.CharacteristicRow row : projections.findCharacteristics(batch)) {
+                if (row.getType() == CharacteristicEntity.Type.BOOLEAN) {
+                    if (Boolean.TRUE.equals(row.getBoolValue())) {
+                        enabled.computeIfAbsent(row.getHotelId(), k -> new HashSet<>()).add(row.getCharacteristicId());
+                    }
+                } else if (row.getNumValue() != null) {
+                    numeric.computeIfAbsent(row.getHotelId(), k -> new HashMap<>())
+                            .put(row.getCharacteristicId(), row.getNumValue());
+                }
+            }
+
+            for (Long id : batch) {
+                HotelProjectionRepository.HotelRow h = rows.get(id);
+                if (h == null) continue;
+
+                result.add(new HotelSnapshot(
+                        h.getId(),
+                        h.getVersion() == null ? 0 : h.getVersion(),
+                        h.getName(),
+                        h.getCity(),
+                        h.getAddress(),
+                        h.getDescription(),
+                        h.getLatitude(),
+                        h.getLongitude(),
+                        h.getRooms() == null ? 1 : h.getRooms(),
+                        h.getBaseRate(),
+                        h.getReviewCount() == null ? 0 : h.getReviewCount(),
+                        h.getReviewScoreSum() == null ? 0 : h.getReviewScoreSum(),
+                        categoryIds.getOrDefault(id, Set.of()),
+                        enabled.getOrDefault(id, Set.of()),
+                        numeric.getOrDefault(id, Map.of())
+                ));
+            }
+        }
+
+        return result;
+    }
+
+    private Map<Long, HotelProjectionRepository.HotelRow> rowsById(List<Long> batch) {
+        Map<Long, HotelProjectionRepository.HotelRow> rows = new HashMap<>();
+        for (HotelProjectionRepository.HotelRow row : projections.findRows(batch)) {
+            rows.put(row.getId(), row);
+        }
+        return rows;
+    }
+
+    private static List<List<Long>> batches(List<Long> ids) {
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            batches.add(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+        }
+        return batches;
+    }
+}
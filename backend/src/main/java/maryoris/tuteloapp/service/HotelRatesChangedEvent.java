@@ -0,0 +1,25 @@
+package maryoris.tuteloapp.service;
+
+import java.util.List;
+
+/*
+ * Evento publicado por HotelService al reemplazar las tarifas de un hotel.
+ * Lleva la tarifa base y las reglas ya ordenadas por prioridad, para que
+ * HotelPriceCalendar rearme el calendario sin volver a la base.
+ */
+public class HotelRatesChangedEvent {
+
+    private final Long hotelId;
+    private final Integer baseRate;
+    private final List<HotelPriceCalendar.Rule> rules;
+
+    public HotelRatesChangedEvent(Long hotelId, Integer baseRate, List<HotelPriceCalendar.Rule> rules) {
+        this.hotelId = hotelId;
+        this.baseRate = baseRate;
+        this.rules = rules;
+    }
+
+    public Long getHotelId() { return hotelId; }
+    public Integer getBaseRate() { return baseRate; }
+    List<HotelPriceCalendar.Rule> getRules() { return rules; }
+}
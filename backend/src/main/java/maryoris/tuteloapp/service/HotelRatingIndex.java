@@ -0,0 +1,96 @@
+package maryoris.tuteloapp.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Agregados de reseñas por hotel (cantidad y suma de puntajes) en dos
+ * arreglos indexados por id de hotel, como HotelCharacteristicColumns.
+ * Sirve para ordenar resultados por puntaje sin leer la base: los valores
+ * llegan en cada HotelSnapshot, que ReviewService hace publicar al crear o
+ * borrar una reseña.
+ */
+@Component
+public class HotelRatingIndex implements HotelIndex {
+
+    public static final long NO_RATING = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] counts = new int[1024];
+    private long[] sums = new long[1024];
+
+    @Override
+    public boolean tracksRating() {
+        return true;
+    }
+
+    @Override
+    public void rebuild(Collection<HotelSnapshot> hotels) {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(counts, 0);
+            Arrays.fill(sums, 0);
+            for (HotelSnapshot h : hotels) {
+                set(Math.toIntExact(h.getId()), h.getReviewCount(), h.getReviewScoreSum());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onHotelChanged(HotelChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            int bit = Math.toIntExact(event.getHotelId());
+            if (event.isDeleted()) {
+                set(bit, 0, 0);
+            } else {
+                set(bit, event.getSnapshot().getReviewCount(), event.getSnapshot().getReviewScoreSum());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Clave de orden por hotel, en el mismo orden que ids: promedio con dos
+     * decimales en los 32 bits altos y cantidad de reseñas en los bajos, así
+     * a igual promedio queda primero el que tiene más reseñas.
+     * NO_RATING si el hotel no tiene reseñas.
+     */
+    public long[] sortKeys(List<Long> ids) {
+        lock.readLock().lock();
+        try {
+            long[] keys = new long[ids.size()];
+            for (int i = 0; i < keys.length; i++) {
+                int bit = Math.toIntExact(ids.get(i));
+                int count = bit < counts.length ? counts[bit] : 0;
+                if (count <= 0) {
+                    keys[i] = NO_RATING;
+                } else {
+                    long average = Math.round(sums[bit] * 100.0 / count);
+                    keys[i] = (average << 32) | count;
+                }
+            }
+            return keys;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void set(int bit, int count, long sum) {
+        if (bit >= counts.length) {
+            int size = Math.max(bit + 1, counts.length * 2);
+            counts = Arrays.copyOf(counts, size);
+            sums = Arrays.copyOf(sums, size);
+        }
+        counts[bit] = count;
+        sums[bit] = sum;
+    }
+}
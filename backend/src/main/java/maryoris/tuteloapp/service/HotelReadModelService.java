@@ -0,0 +1,205 @@
+package maryoris.tuteloapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import maryoris.tuteloapp.dto.CategoryResponse;
+import maryoris.tuteloapp.dto.HotelPublicResponse;
+import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.entity.HotelPublicViewEntity;
+import maryoris.tuteloapp.repository.HotelCharacteristicRepository;
+import maryoris.tuteloapp.repository.HotelPublicViewRepository;
+import maryoris.tuteloapp.repository.HotelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/*
+ * Mantiene la tabla hotel_public_view (modelo de lectura).
+ * HotelService llama a refresh/delete dentro de la misma transacción que
+ * modifica el hotel, así que la vista nunca queda atrás de la escritura.
+ * Los documentos se serializan con el ObjectMapper de la aplicación para que
+ * el JSON sea idéntico al que devolvían los endpoints leyendo las entidades.
+ */
+@Service
+public class HotelReadModelService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelReadModelService.class);
+
+    /*
+     * Se incrementa cada vez que cambia la forma de los documentos (campos
+     * nuevos en HotelPublicResponse o en HotelEntity): al arrancar se vuelven
+     * a armar las filas escritas con un formato anterior.
+     * 1: ubicación, habitaciones, tarifa base y puntaje de reseñas.
+     * 2: columna city_key.
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    private final HotelPublicViewRepository viewRepository;
+    private final HotelRepository hotelRepository;
+    private final HotelCharacteristicRepository hotelCharacteristicRepository;
+    private final HotelProjectionService projections;
+    private final ObjectMapper objectMapper;
+
+    public HotelReadModelService(
+            HotelPublicViewRepository viewRepository,
+            HotelRepository hotelRepository,
+            HotelCharacteristicRepository hotelCharacteristicRepository,
+            HotelProjectionService projections,
+            ObjectMapper objectMapper
+    ) {
+        this.viewRepository = viewRepository;
+        this.hotelRepository = hotelRepository;
+        this.hotelCharacteristicRepository = hotelCharacteristicRepository;
+        this.projections = projections;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(HotelEntity hotel) {
+        HotelPublicViewEntity view = viewRepository.findById(hotel.getId())
+                .orElseGet(HotelPublicViewEntity::new);
+
+        save(view, hotel, toPublicResponse(hotel));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void delete(Long hotelId) {
+        if (viewRepository.existsById(hotelId)) {
+            viewRepository.deleteById(hotelId);
+        }
+    }
+
+    // Importación masiva: los hoteles se insertaron por JDBC en esta misma transacción
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refreshAll(List<Long> hotelIds) {
+        refreshAll(hotelIds, false);
+    }
+
+    /*
+     * Al arrancar se completan las filas que falten (hoteles creados antes de
+     * que existiera la tabla), se eliminan las que ya no tienen hotel y se
+     * reescriben las de un formato anterior. Estas últimas cambian de versión,
+     * así los clientes no siguen usando el documento viejo por su ETag.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfill() {
+        int removed = viewRepository.deleteOrphans();
+
+        List<Long> missing = viewRepository.findHotelIdsWithoutView();
+        refreshAll(missing, false);
+
+        List<Long> outdated = viewRepository.findHotelIdsWithFormatOtherThan(FORMAT_VERSION);
+        refreshAll(outdated, true);
+
+        if (removed > 0 || !missing.isEmpty() || !outdated.isEmpty()) {
+            log.info("hotel_public_view sincronizada: {} filas creadas, {} reescritas, {} eliminadas",
+                    missing.size(), outdated.size(), removed);
+        }
+    }
+
+    /*
+     * Renombrar una categoría o característica cambia el JSON de todos los
+     * hoteles que la usan. El evento llega después del commit del catálogo,
+     * por eso se reescriben en una transacción propia.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getId() == null) {
+            return;
+        }
+
+        List<Long> hotelIds = event.getKind() == CatalogChangedEvent.Kind.CATEGORY
+                ? hotelRepository.findIdsByCategoryId(event.getId())
+                : hotelCharacteristicRepository.findHotelIdsByCharacteristicId(event.getId());
+
+        // Se marca cada hotel como modificado para que su versión (y su ETag) cambie
+        refreshAll(hotelIds, true);
+    }
+
+    /*
+     * Reescritura por lotes: cada lote cuesta un número fijo de consultas.
+     * El resumen sale de HotelProjectionService; el detalle se serializa desde
+     * la entidad, con sus colecciones ya cargadas para todo el lote.
+     * Las filas de la vista se escriben con batching JDBC
+     * (hibernate.jdbc.batch_size).
+     */
+    private void refreshAll(List<Long> hotelIds, boolean touch) {
+        for (int from = 0; from < hotelIds.size(); from += HotelProjectionService.BATCH_SIZE) {
+            List<Long> batch = hotelIds.subList(from, Math.min(from + HotelProjectionService.BATCH_SIZE, hotelIds.size()));
+
+            if (touch) {
+                hotelRepository.touchAll(batch, LocalDateTime.now());
+            }
+            List<HotelEntity> hotels = hotelRepository.findWithImagesByIdIn(batch);
+            hotelRepository.fetchCategories(batch);
+            hotelRepository.fetchCharacteristics(batch);
+
+            Map<Long, HotelPublicResponse> summaries = projections.loadPublic(batch).stream()
+                    .collect(Collectors.toMap(HotelPublicResponse::getId, dto -> dto));
+            Map<Long, HotelPublicViewEntity> views = viewRepository.findAllById(batch).stream()
+                    .collect(Collectors.toMap(HotelPublicViewEntity::getHotelId, v -> v));
+
+            for (HotelEntity hotel : hotels) {
+                HotelPublicViewEntity view = views.getOrDefault(hotel.getId(), new HotelPublicViewEntity());
+                save(view, hotel, summaries.get(hotel.getId()));
+            }
+        }
+    }
+
+    private void save(HotelPublicViewEntity view, HotelEntity hotel, HotelPublicResponse summary) {
+        view.setHotelId(hotel.getId());
+        view.setCity(hotel.getCity());
+        view.setCityKey(TextNormalizer.fold(hotel.getCity()));
+        view.setHotelVersion(hotel.getVersion());
+        view.setFormatVersion(FORMAT_VERSION);
+        view.setSummaryJson(write(summary));
+        view.setDetailJson(write(hotel));
+        view.setUpdatedAt(LocalDateTime.now());
+
+        viewRepository.save(view);
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar el hotel para hotel_public_view", ex);
+        }
+    }
+
+    private HotelPublicResponse toPublicResponse(HotelEntity h) {
+        HotelPublicResponse dto = new HotelPublicResponse();
+        dto.setId(h.getId());
+        dto.setName(h.getName());
+        dto.setCity(h.getCity());
+        dto.setAddress(h.getAddress());
+        dto.setDescription(h.getDescription());
+        dto.setImageUrls(h.getImageUrls());
+
+        dto.setCategories(
+                h.getCategories().stream()
+                        .map(c -> new CategoryResponse(c.getId(), c.getName()))
+                        .toList()
+        );
+        dto.setRating(h.getRating());
+        dto.setReviewCount(h.getReviewCount());
+
+        return dto;
+    }
+}
@@ -0,0 +1,87 @@
+package maryoris.tuteloapp.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+ * Filtros de búsqueda facetada.
+ * Dentro de una misma faceta los valores se combinan con OR (ciudad A o B,
+ * categoría X o Y); entre facetas con AND. Las características se exigen
+ * todas (Wi-Fi y Pileta), igual que los rangos sobre características NUMBER.
+ * Con checkIn/checkOut solo quedan los hoteles con una habitación libre en
+ * todas las noches del rango (RoomInventory).
+ * minPrice/maxPrice acotan el total de la estadía (o de la noche de hoy si
+ * no hay fechas) según HotelPriceCalendar.
+ */
+public class HotelSearchCriteria {
+
+    private final List<String> cities;
+    private final List<Long> categoryIds;
+    private final List<Long> characteristicIds;
+    private final List<NumericRange> ranges;
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+    private final Integer minPrice;
+    private final Integer maxPrice;
+
+    public HotelSearchCriteria(List<String> cities, List<Long> categoryIds, List<Long> characteristicIds) {
+        this(cities, categoryIds, characteristicIds, null);
+    }
+
+    public HotelSearchCriteria(
+            List<String> cities,
+            List<Long> categoryIds,
+            List<Long> characteristicIds,
+            List<NumericRange> ranges
+    ) {
+        this(cities, categoryIds, characteristicIds, ranges, null, null);
+    }
+
+    public HotelSearchCriteria(
+            List<String> cities,
+            List<Long> categoryIds,
+            List<Long> characteristicIds,
+            List<NumericRange> ranges,
+            LocalDate checkIn,
+            LocalDate checkOut
+    ) {
+        this(cities, categoryIds, characteristicIds, ranges, checkIn, checkOut, null, null);
+    }
+
+    public HotelSearchCriteria(
+            List<String> cities,
+            List<Long> categoryIds,
+            List<Long> characteristicIds,
+            List<NumericRange> ranges,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Integer minPrice,
+            Integer maxPrice
+    ) {
+        this.cities = cities == null ? List.of() : cities;
+        this.categoryIds = categoryIds == null ? List.of() : categoryIds;
+        this.characteristicIds = characteristicIds == null ? List.of() : characteristicIds;
+        this.ranges = ranges == null ? List.of() : ranges;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    public List<String> getCities() { return cities; }
+    public List<Long> getCategoryIds() { return categoryIds; }
+    public List<Long> getCharacteristicIds() { return characteristicIds; }
+    public List<NumericRange> getRanges() { return ranges; }
+    public LocalDate getCheckIn() { return checkIn; }
+    public LocalDate getCheckOut() { return checkOut; }
+    public Integer getMinPrice() { return minPrice; }
+    public Integer getMaxPrice() { return maxPrice; }
+
+    public boolean hasStay() {
+        return checkIn != null || checkOut != null;
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+}
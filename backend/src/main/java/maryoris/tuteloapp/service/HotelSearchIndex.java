@@ -0,0 +1,254 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.FacetCountResponse;
+import maryoris.tuteloapp.dto.HotelFacetsResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Índice invertido en memoria para la búsqueda facetada de hoteles.
+ * Cada valor de faceta (ciudad normalizada, categoría, característica BOOLEAN
+ * en true) tiene un BitSet indexado por id de hotel. Como los ids salen de
+ * una secuencia IDENTITY son densos y el BitSet queda compacto.
+ * Una búsqueda es un OR dentro de cada faceta y un AND entre facetas.
+ * Los conteos por faceta salen de intersecar esas mismas listas.
+ */
+@Component
+public class HotelSearchIndex implements HotelIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final BitSet all = new BitSet();
+    private final Map<String, Postings> byCity = new HashMap<>();
+    private final Map<Long, Postings> byCategory = new HashMap<>();
+    private final Map<Long, Postings> byCharacteristic = new HashMap<>();
+    // Ciudad normalizada -> cómo se muestra ("cordoba" -> "Córdoba")
+    private final Map<String, String> cityLabels = new HashMap<>();
+
+    // Último estado indexado de cada hotel, para poder quitarlo de sus listas
+    private final Map<Long, HotelSnapshot> indexed = new HashMap<>();
+
+    @Override
+    public void rebuild(Collection<HotelSnapshot> hotels) {
+        lock.writeLock().lock();
+        try {
+            all.clear();
+            byCity.clear();
+            byCategory.clear();
+            byCharacteristic.clear();
+            cityLabels.clear();
+            indexed.clear();
+
+            for (HotelSnapshot h : hotels) {
+                add(h);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onHotelChanged(HotelChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getHotelId());
+            if (!event.isDeleted()) {
+                add(event.getSnapshot());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Devuelve una copia con los hoteles que cumplen los filtros;
+     * el llamador puede modificarla libremente.
+     */
+    public BitSet match(HotelSearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            return matchExcluding(criteria, null, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Conteos "si además marco X" para cada valor de faceta, en una sola pasada.
+     * Ciudades y categorías se combinan con OR, así que su conteo se calcula
+     * contra los resultados sin el filtro de su propia faceta (si no, marcar
+     * una ciudad dejaría en 0 a todas las demás). Las características se
+     * exigen todas y se cuentan contra el resultado completo.
+     * restrictTo (opcional) limita todos los conteos, por ejemplo a los
+     * hoteles que cumplen los rangos numéricos de HotelCharacteristicColumns.
+     */
+    public HotelFacetsResponse facetCounts(HotelSearchCriteria criteria, BitSet restrictTo) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = matchExcluding(criteria, null, restrictTo);
+            long[] matchWords = matches.toLongArray();
+            long[] withoutCity = criteria.getCities().isEmpty()
+                    ? matchWords
+                    : matchExcluding(criteria, Facet.CITY, restrictTo).toLongArray();
+            long[] withoutCategory = criteria.getCategoryIds().isEmpty()
+                    ? matchWords
+                    : matchExcluding(criteria, Facet.CATEGORY, restrictTo).toLongArray();
+
+            List<FacetCountResponse> cities = new ArrayList<>();
+            for (Map.Entry<String, Postings> e : byCity.entrySet()) {
+                long count = intersectionCount(e.getValue().words(), withoutCity);
+                if (count > 0) {
+                    cities.add(new FacetCountResponse(null, cityLabels.get(e.getKey()), count));
+                }
+            }
+
+            List<FacetCountResponse> categories = new ArrayList<>();
+            for (Map.Entry<Long, Postings> e : byCategory.entrySet()) {
+                categories.add(new FacetCountResponse(e.getKey(), null, intersectionCount(e.getValue().words(), withoutCategory)));
+            }
+
+            List<FacetCountResponse> characteristics = new ArrayList<>();
+            for (Map.Entry<Long, Postings> e : byCharacteristic.entrySet()) {
+                characteristics.add(new FacetCountResponse(e.getKey(), null, intersectionCount(e.getValue().words(), matchWords)));
+            }
+
+            Comparator<FacetCountResponse> byCountDesc = Comparator.comparingLong(FacetCountResponse::getCount).reversed();
+            cities.sort(byCountDesc);
+            categories.sort(byCountDesc);
+            characteristics.sort(byCountDesc);
+
+            return new HotelFacetsResponse(matches.cardinality(), cities, categories, characteristics);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private enum Facet { CITY, CATEGORY }
+
+    // Debe llamarse con el read lock tomado
+    private BitSet matchExcluding(HotelSearchCriteria criteria, Facet excluded, BitSet restrictTo) {
+        BitSet result = (BitSet) all.clone();
+        if (restrictTo != null) {
+            result.and(restrictTo);
+        }
+
+        if (excluded != Facet.CITY && !criteria.getCities().isEmpty()) {
+            result.and(union(byCity, criteria.getCities().stream().map(TextNormalizer::fold).toList()));
+        }
+
+        if (excluded != Facet.CATEGORY && !criteria.getCategoryIds().isEmpty()) {
+            result.and(union(byCategory, criteria.getCategoryIds()));
+        }
+
+        for (Long characteristicId : criteria.getCharacteristicIds()) {
+            Postings postings = byCharacteristic.get(characteristicId);
+            if (postings == null) {
+                result.clear();
+                break;
+            }
+            result.and(postings.bits);
+        }
+
+        return result;
+    }
+
+    // AND + popcount palabra a palabra, sin crear objetos por valor de faceta
+    private long intersectionCount(long[] postings, long[] matches) {
+        int n = Math.min(postings.length, matches.length);
+        long count = 0;
+        for (int i = 0; i < n; i++) {
+            count += Long.bitCount(postings[i] & matches[i]);
+        }
+        return count;
+    }
+
+    private <K> BitSet union(Map<K, Postings> postings, List<K> keys) {
+        BitSet merged = new BitSet();
+        for (K key : keys) {
+            Postings p = postings.get(key);
+            if (p != null) {
+                merged.or(p.bits);
+            }
+        }
+        return merged;
+    }
+
+    private void add(HotelSnapshot h) {
+        int bit = Math.toIntExact(h.getId());
+
+        all.set(bit);
+        String cityKey = TextNormalizer.fold(h.getCity());
+        byCity.computeIfAbsent(cityKey, k -> new Postings()).set(bit);
+        cityLabels.putIfAbsent(cityKey, h.getCity());
+        for (Long categoryId : h.getCategoryIds()) {
+            byCategory.computeIfAbsent(categoryId, k -> new Postings()).set(bit);
+        }
+        for (Long characteristicId : h.getEnabledCharacteristicIds()) {
+            byCharacteristic.computeIfAbsent(characteristicId, k -> new Postings()).set(bit);
+        }
+
+        indexed.put(h.getId(), h);
+    }
+
+    private void remove(Long hotelId) {
+        HotelSnapshot previous = indexed.remove(hotelId);
+        if (previous == null) {
+            return;
+        }
+
+        int bit = Math.toIntExact(hotelId);
+
+        all.clear(bit);
+        String cityKey = TextNormalizer.fold(previous.getCity());
+        clear(byCity, cityKey, bit);
+        if (!byCity.containsKey(cityKey)) {
+            cityLabels.remove(cityKey);
+        }
+        for (Long categoryId : previous.getCategoryIds()) {
+            clear(byCategory, categoryId, bit);
+        }
+        for (Long characteristicId : previous.getEnabledCharacteristicIds()) {
+            clear(byCharacteristic, characteristicId, bit);
+        }
+    }
+
+    private <K> void clear(Map<K, Postings> postings, K key, int bit) {
+        Postings p = postings.get(key);
+        if (p == null) return;
+
+        p.clear(bit);
+        if (p.bits.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    /*
+     * Lista de hoteles de un valor de faceta. Guarda además sus palabras
+     * (long[]) para los conteos; se recalculan solo cuando la lista cambia.
+     */
+    private static final class Postings {
+        private final BitSet bits = new BitSet();
+        private volatile long[] words;
+
+        void set(int bit) {
+            bits.set(bit);
+            words = null;
+        }
+
+        void clear(int bit) {
+            bits.clear(bit);
+            words = null;
+        }
+
+        long[] words() {
+            long[] w = words;
+            if (w == null) {
+                w = bits.toLongArray();
+                words = w;
+            }
+            return w;
+        }
+    }
+}
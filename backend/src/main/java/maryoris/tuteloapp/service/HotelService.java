@@ -1,20 +1,42 @@
 package maryoris.tuteloapp.service;
 
-import maryoris.tuteloapp.dto.CategoryResponse;
 import maryoris.tuteloapp.dto.HotelCharacteristicValueRequest;
-import maryoris.tuteloapp.dto.HotelPublicResponse;
+import maryoris.tuteloapp.dto.HotelComparisonItem;
+import maryoris.tuteloapp.dto.HotelComparisonResponse;
+import maryoris.tuteloapp.dto.HotelFacetsResponse;
+import maryoris.tuteloapp.dto.HotelNearbyItem;
+import maryoris.tuteloapp.dto.HotelNearbyResponse;
+import maryoris.tuteloapp.dto.HotelPageResponse;
+import maryoris.tuteloapp.dto.HotelPricingRequest;
+import maryoris.tuteloapp.dto.HotelPricingResponse;
+import maryoris.tuteloapp.dto.HotelRateRuleRequest;
+import maryoris.tuteloapp.dto.HotelRateRuleResponse;
+import maryoris.tuteloapp.dto.PriceQuoteResponse;
 import maryoris.tuteloapp.dto.HotelRequest;
+import maryoris.tuteloapp.dto.HotelSearchResponse;
+import maryoris.tuteloapp.dto.HotelSimilarItem;
+import maryoris.tuteloapp.dto.RawJson;
 import maryoris.tuteloapp.entity.CategoryEntity;
 import maryoris.tuteloapp.entity.CharacteristicEntity;
 import maryoris.tuteloapp.entity.HotelCharacteristicEntity;
 import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.entity.HotelRateRuleEntity;
 import maryoris.tuteloapp.repository.CategoryRepository;
 import maryoris.tuteloapp.repository.CharacteristicRepository;
-import maryoris.tuteloapp.repository.HotelCharacteristicRepository;
+import maryoris.tuteloapp.repository.FavoriteRepository;
+import maryoris.tuteloapp.repository.HotelProjectionRepository;
+import maryoris.tuteloapp.repository.HotelPublicViewRepository;
+import maryoris.tuteloapp.repository.HotelRateRuleRepository;
 import maryoris.tuteloapp.repository.HotelRepository;
+import maryoris.tuteloapp.repository.ReservationRepository;
+import maryoris.tuteloapp.repository.ReviewRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
@@ -22,45 +44,126 @@ import org.springframework.web.server.ResponseStatusException;
 import java.io.IOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 public class HotelService {
 
+    private static final int DEFAULT_PAGE_LIMIT = 20;
+    private static final int MAX_PAGE_LIMIT = 100;
+    private static final int MAX_COMPARE = 10;
+    private static final double MAX_NEAR_RADIUS_KM = 500;
+    private static final int DEFAULT_SIMILAR_LIMIT = 6;
+    private static final int MAX_SIMILAR_LIMIT = 20;
+    private static final int MAX_DUPLICATE_CANDIDATES = 5;
+
     private final HotelRepository hotelRepository;
     private final CategoryRepository categoryRepository;
     private final CharacteristicRepository characteristicRepository;
-    private final HotelCharacteristicRepository hotelCharacteristicRepository;
+    private final HotelCharacteristicWriter characteristicWriter;
+    private final HotelNameFilter nameFilter;
+    private final HotelGeoIndex geoIndex;
+    private final HotelGeocodingService geocoding;
+    private final ReservationRepository reservationRepository;
+    private final RoomInventory roomInventory;
+    private final HotelRateRuleRepository rateRuleRepository;
+    private final HotelPriceCalendar priceCalendar;
+    private final HotelRatingIndex ratingIndex;
+    private final HotelSimilarityIndex similarityIndex;
+    private final HotelDuplicateIndex duplicateIndex;
+    private final FavoriteRepository favoriteRepository;
+    private final ReviewRepository reviewRepository;
     private final FileStorageService fileStorageService;
+    private final HotelSearchIndex searchIndex;
+    private final HotelTextIndex textIndex;
+    private final HotelCharacteristicColumns characteristicColumns;
+    private final HotelProjectionRepository projectionRepository;
+    private final HotelReadModelService readModel;
+    private final HotelPublicViewRepository viewRepository;
+    private final ApplicationEventPublisher events;
 
     public HotelService(
             HotelRepository hotelRepository,
             CategoryRepository categoryRepository,
             CharacteristicRepository characteristicRepository,
-            HotelCharacteristicRepository hotelCharacteristicRepository,
-            FileStorageService fileStorageService
+            HotelCharacteristicWriter characteristicWriter,
+            HotelNameFilter nameFilter,
+            HotelGeoIndex geoIndex,
+            HotelGeocodingService geocoding,
+            ReservationRepository reservationRepository,
+            RoomInventory roomInventory,
+            HotelRateRuleRepository rateRuleRepository,
+            HotelPriceCalendar priceCalendar,
+            HotelRatingIndex ratingIndex,
+            HotelSimilarityIndex similarityIndex,
+            HotelDuplicateIndex duplicateIndex,
+            FavoriteRepository favoriteRepository,
+            ReviewRepository reviewRepository,
+            FileStorageService fileStorageService,
+            HotelSearchIndex searchIndex,
+            HotelTextIndex textIndex,
+            HotelCharacteristicColumns characteristicColumns,
+            HotelProjectionRepository projectionRepository,
+            HotelReadModelService readModel,
+            HotelPublicViewRepository viewRepository,
+            ApplicationEventPublisher events
     ) {
         this.hotelRepository = hotelRepository;
         this.categoryRepository = categoryRepository;
         this.characteristicRepository = characteristicRepository;
-        this.hotelCharacteristicRepository = hotelCharacteristicRepository;
+        this.characteristicWriter = characteristicWriter;
+        this.nameFilter = nameFilter;
+        this.geoIndex = geoIndex;
+        this.geocoding = geocoding;
+        this.reservationRepository = reservationRepository;
+        this.roomInventory = roomInventory;
+        this.rateRuleRepository = rateRuleRepository;
+        this.priceCalendar = priceCalendar;
+        this.ratingIndex = ratingIndex;
+        this.similarityIndex = similarityIndex;
+        this.duplicateIndex = duplicateIndex;
+        this.favoriteRepository = favoriteRepository;
+        this.reviewRepository = reviewRepository;
         this.fileStorageService = fileStorageService;
+        this.searchIndex = searchIndex;
+        this.textIndex = textIndex;
+        this.characteristicColumns = characteristicColumns;
+        this.projectionRepository = projectionRepository;
+        this.readModel = readModel;
+        this.viewRepository = viewRepository;
+        this.events = events;
     }
 
-    public HotelEntity create(HotelRequest req) {
+    @Transactional
+    public HotelEntity create(HotelRequest req, boolean allowDuplicate) {
         HotelEntity hotel = new HotelEntity();
         hotel.setName(req.getName());
         hotel.setCity(req.getCity());
         hotel.setAddress(req.getAddress());
         hotel.setDescription(req.getDescription());
+        hotel.setLatitude(req.getLatitude());
+        hotel.setLongitude(req.getLongitude());
+        if (req.getRooms() != null) {
+            hotel.setRooms(req.getRooms());
+        }
+        hotel.setBaseRate(req.getBaseRate());
 
         applyCharacteristics(hotel, req.getCharacteristics());
 
-        return create(hotel);
+        return create(hotel, allowDuplicate);
     }
 
-    public HotelEntity create(HotelEntity hotel) {
+    /*
+     * allowDuplicate = false rechaza con 409 (DuplicateHotelException) un hotel
+     * cuyo nombre + dirección se parece a otro de la misma ciudad; los
+     * candidatos salen de HotelDuplicateIndex, sin recorrer la tabla.
+     */
+    @Transactional
+    public HotelEntity create(HotelEntity hotel, boolean allowDuplicate) {
         String name = hotel.getName() == null ? null : hotel.getName().trim();
         String city = hotel.getCity() == null ? null : hotel.getCity().trim();
         String address = hotel.getAddress() == null ? null : hotel.getAddress().trim();
@@ -75,19 +178,36 @@ public class HotelService {
             );
         }
 
-        if (hotelRepository.existsByNameIgnoreCase(name)) {
+        // El filtro descarta sin consultar la base casi todos los nombres nuevos;
+        // en cualquier caso el índice único sobre normalized_name tiene la última palabra
+        String normalized = HotelEntity.normalizeName(name);
+        if (nameFilter.mightContain(normalized) && hotelRepository.existsByNormalizedName(normalized)) {
             throw new ResponseStatusException(
                     HttpStatus.CONFLICT,
                     "Ya existe un hotel con ese nombre"
             );
         }
 
+        if (!allowDuplicate) {
+            List<HotelDuplicateIndex.Candidate> candidates =
+                    duplicateIndex.candidates(name, city, address, MAX_DUPLICATE_CANDIDATES);
+            if (!candidates.isEmpty()) {
+                throw new DuplicateHotelException(candidates.stream()
+                        .map(c -> String.format(Locale.ROOT, "#%d %s (%s, %s) - similitud %.2f",
+                                c.getHotelId(), c.getName(), c.getAddress(), c.getCity(), c.getSimilarity()))
+                        .toList());
+            }
+        }
+
         hotel.setName(name);
         hotel.setCity(city);
         hotel.setAddress(address);
+        geocoding.fillMissing(hotel);
 
         try {
-            return hotelRepository.save(hotel);
+            HotelEntity saved = hotelRepository.save(hotel);
+            afterSave(saved);
+            return saved;
         } catch (DataIntegrityViolationException ex) {
             throw new ResponseStatusException(
                     HttpStatus.CONFLICT,
@@ -105,27 +225,77 @@ public class HotelService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe"));
     }
 
+    // Detalle público: una lectura por PK sobre hotel_public_view, sin joins
+    public HotelPublicViewRepository.DetailRow getPublicDetail(Long id) {
+        return viewRepository.findDetail(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe"));
+    }
+
+    @Transactional
     public void delete(Long id) {
         if (!hotelRepository.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe");
         }
+        if (reservationRepository.existsActiveByHotelId(id, LocalDate.now())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El hotel tiene reservas vigentes");
+        }
+        reservationRepository.deleteByHotelId(id);
+        rateRuleRepository.deleteByHotelId(id);
+        favoriteRepository.deleteByHotelId(id);
+        reviewRepository.deleteByHotelId(id);
+        readModel.delete(id);
         hotelRepository.deleteById(id);
+        events.publishEvent(HotelChangedEvent.deleted(id));
     }
 
+    @Transactional
     public HotelEntity update(Long id, HotelRequest req) {
         HotelEntity h = hotelRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe"));
 
+        // Se compara con el nombre actual y no con normalized_name, que puede
+        // estar vacío en un hotel viejo con nombre repetido
+        String normalized = HotelEntity.normalizeName(req.getName());
+        if (!Objects.equals(normalized, HotelEntity.normalizeName(h.getName()))
+                && nameFilter.mightContain(normalized)
+                && hotelRepository.existsByNormalizedName(normalized)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ya existe un hotel con ese nombre");
+        }
+
+        // Sin coordenadas en el pedido se conservan las actuales, salvo que cambie la ciudad
+        boolean cityChanged = !Objects.equals(h.getCity(), req.getCity());
+        if (req.getLatitude() != null && req.getLongitude() != null) {
+            h.setLatitude(req.getLatitude());
+            h.setLongitude(req.getLongitude());
+        } else if (cityChanged) {
+            h.setLatitude(null);
+            h.setLongitude(null);
+        }
+
         h.setName(req.getName());
         h.setCity(req.getCity());
         h.setAddress(req.getAddress());
         h.setDescription(req.getDescription());
+        if (req.getRooms() != null) {
+            h.setRooms(req.getRooms());
+        }
+        if (req.getBaseRate() != null) {
+            h.setBaseRate(req.getBaseRate());
+        }
+        geocoding.fillMissing(h);
 
         applyCharacteristics(h, req.getCharacteristics());
 
-        return hotelRepository.save(h);
+        try {
+            HotelEntity saved = hotelRepository.save(h);
+            afterSave(saved);
+            return saved;
+        } catch (DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ya existe un hotel con ese nombre");
+        }
     }
 
+    @Transactional
     public HotelEntity updateCategories(Long hotelId, List<Long> categoryIds) {
         if (categoryIds == null || categoryIds.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Debe seleccionar al menos una categoría");
@@ -146,88 +316,598 @@ public class HotelService {
         }
 
         hotel.setCategories(new HashSet<>(found));
-        return hotelRepository.save(hotel);
+        hotel.setUpdatedAt(LocalDateTime.now());
+        HotelEntity saved = hotelRepository.save(hotel);
+        afterSave(saved);
+        return saved;
+    }
+
+    /*
+     * Listado público paginado por cursor (keyset).
+     * Se piden limit + 1 filas para saber si hay más. Sin filtro de categoría
+     * la página sale directamente de hotel_public_view (rango por PK o por
+     * city_key/hotel_id); con categoría primero se obtienen los ids y después sus
+     * documentos. El costo de cada página no depende del tamaño del catálogo.
+     * La ciudad se compara normalizada, igual que en la búsqueda y las facetas:
+     * "cordoba" encuentra los hoteles de "Córdoba".
+     */
+    public HotelPageResponse listPublicPage(String after, Integer limit, String city, Long categoryId) {
+        int size = resolveLimit(limit);
+        long afterId = decodeCursor(after);
+        String cityKey = city == null || city.isBlank() ? null : TextNormalizer.fold(city);
+        Pageable pageable = PageRequest.of(0, size + 1);
+
+        if (categoryId == null) {
+            List<HotelPublicViewRepository.SummaryRow> rows = cityKey != null
+                    ? viewRepository.findSummaryPageByCityKey(afterId, cityKey, pageable)
+                    : viewRepository.findSummaryPage(afterId, pageable);
+
+            boolean hasMore = rows.size() > size;
+            List<HotelPublicViewRepository.SummaryRow> page = hasMore ? rows.subList(0, size) : rows;
+
+            String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1).getHotelId()) : null;
+            HotelPageResponse response = new HotelPageResponse(
+                    page.stream().map(row -> new RawJson(row.getSummaryJson())).toList(),
+                    nextCursor
+            );
+            response.setHotelIds(page.stream().map(HotelPublicViewRepository.SummaryRow::getHotelId).toList());
+            return response;
+        }
+
+        List<Long> ids = cityKey != null
+                ? hotelRepository.findPageIdsByCityKeyAndCategory(afterId, cityKey, categoryId, pageable)
+                : hotelRepository.findPageIdsByCategory(afterId, categoryId, pageable);
+
+        boolean hasMore = ids.size() > size;
+        List<Long> pageIds = hasMore ? ids.subList(0, size) : ids;
+
+        String nextCursor = hasMore ? encodeCursor(pageIds.get(pageIds.size() - 1)) : null;
+        HotelPageResponse response = new HotelPageResponse(loadPublic(pageIds), nextCursor);
+        response.setHotelIds(pageIds);
+        return response;
     }
 
-    public List<HotelPublicResponse> listPublic() {
-        List<HotelEntity> hotels = hotelRepository.findAllWithCategories();
+    /*
+     * Búsqueda facetada: los filtros se resuelven en memoria contra
+     * HotelSearchIndex y la base solo se consulta para hidratar la página pedida.
+     * El cursor es el mismo que en el listado: se avanza sobre el BitSet de
+     * resultados a partir del último id entregado.
+     * Con texto (q) los resultados se ordenan por relevancia BM25 y el cursor
+     * pasa a ser la posición dentro de ese ranking. Lo mismo con sort:
+     * price / -price (HotelPriceCalendar) o rating / -rating (HotelRatingIndex,
+     * -rating = mejor puntuados primero); los hoteles sin tarifa o sin reseñas
+     * van al final. El precio de cada hotel de la página sale de HotelPriceCalendar.
+     */
+    public HotelSearchResponse search(HotelSearchCriteria criteria, String q, String sort, String after, Integer limit) {
+        int size = resolveLimit(limit);
+        SortKey sortKey = SortKey.parse(sort);
+        BitSet matches = searchIndex.match(criteria);
+        BitSet restriction = restriction(criteria);
+        if (restriction != null) {
+            matches.and(restriction);
+        }
+
+        LocalDate checkIn = stayStart(criteria);
+        LocalDate checkOut = stayEnd(criteria);
+
+        boolean text = q != null && !q.isBlank();
+        if (text || sortKey != null) {
+            List<Long> ordered = text ? textIndex.search(q, matches) : ids(matches);
+            if (sortKey != null) {
+                long[] keys = sortKey.price
+                        ? priceCalendar.totals(ordered, checkIn, checkOut)
+                        : ratingIndex.sortKeys(ordered);
+                ordered = sortBy(ordered, keys, sortKey.order);
+            }
+            int offset = (int) Math.min(decodeCursor(after, Integer.MAX_VALUE - 1), ordered.size());
+            int end = Math.min(offset + size, ordered.size());
 
-        return hotels.stream().map(h -> {
-            HotelPublicResponse dto = new HotelPublicResponse();
-            dto.setId(h.getId());
-            dto.setName(h.getName());
-            dto.setCity(h.getCity());
-            dto.setAddress(h.getAddress());
-            dto.setDescription(h.getDescription());
-            dto.setImageUrls(h.getImageUrls());
+            String nextCursor = end < ordered.size() ? encodeCursor((long) end) : null;
+            return withPrices(
+                    new HotelSearchResponse(ordered.size(), loadPublic(ordered.subList(offset, end)), nextCursor),
+                    ordered.subList(offset, end), checkIn, checkOut);
+        }
 
-            dto.setCategories(
-                    h.getCategories().stream()
-                            .map(c -> new CategoryResponse(c.getId(), c.getName()))
-                            .toList()
-            );
+        long afterId = decodeCursor(after, Integer.MAX_VALUE - 1);
+
+        List<Long> pageIds = new ArrayList<>(size);
+        int bit = matches.nextSetBit(Math.toIntExact(afterId + 1));
+        while (bit >= 0 && pageIds.size() < size) {
+            pageIds.add((long) bit);
+            bit = matches.nextSetBit(bit + 1);
+        }
 
-            return dto;
-        }).toList();
+        String nextCursor = bit >= 0 ? encodeCursor(pageIds.get(pageIds.size() - 1)) : null;
+        return withPrices(
+                new HotelSearchResponse(matches.cardinality(), loadPublic(pageIds), nextCursor),
+                pageIds, checkIn, checkOut);
     }
 
-    @Transactional
-    public HotelEntity updateCharacteristics(Long hotelId, List<HotelCharacteristicValueRequest> requests) {
+    private enum SortKey {
+        PRICE_ASC(true, 1),
+        PRICE_DESC(true, -1),
+        RATING_ASC(false, 1),
+        RATING_DESC(false, -1);
+
+        private final boolean price;
+        private final int order;
+
+        SortKey(boolean price, int order) {
+            this.price = price;
+            this.order = order;
+        }
+
+        // null = orden por defecto (id o relevancia)
+        static SortKey parse(String sort) {
+            if (sort == null || sort.isBlank()) return null;
+            return switch (sort) {
+                case "price" -> PRICE_ASC;
+                case "-price" -> PRICE_DESC;
+                case "rating" -> RATING_ASC;
+                case "-rating" -> RATING_DESC;
+                default -> throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST, "sort inválido (price | -price | rating | -rating)");
+            };
+        }
+    }
+
+    private static List<Long> ids(BitSet matches) {
+        List<Long> ids = new ArrayList<>(matches.cardinality());
+        for (int bit = matches.nextSetBit(0); bit >= 0; bit = matches.nextSetBit(bit + 1)) {
+            ids.add((long) bit);
+        }
+        return ids;
+    }
+
+    /*
+     * Ordena ids por keys (mismo orden; negativa = sin valor, al final).
+     * Orden estable: a igual clave se respeta el orden recibido (id o relevancia).
+     */
+    private static List<Long> sortBy(List<Long> ids, long[] keys, int order) {
+        Integer[] positions = new Integer[ids.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+
+        Arrays.sort(positions, (a, b) -> {
+            long ka = keys[a];
+            long kb = keys[b];
+            if (ka < 0 || kb < 0) {
+                return Boolean.compare(ka < 0, kb < 0);
+            }
+            return order * Long.compare(ka, kb);
+        });
+
+        List<Long> sorted = new ArrayList<>(ids.size());
+        for (Integer position : positions) {
+            sorted.add(ids.get(position));
+        }
+        return sorted;
+    }
+
+    private HotelSearchResponse withPrices(
+            HotelSearchResponse response,
+            List<Long> pageIds,
+            LocalDate checkIn,
+            LocalDate checkOut
+    ) {
+        long[] totals = priceCalendar.totals(pageIds, checkIn, checkOut);
+        Map<Long, Long> prices = new LinkedHashMap<>();
+        for (int i = 0; i < totals.length; i++) {
+            if (totals[i] != HotelPriceCalendar.NO_PRICE) {
+                prices.put(pageIds.get(i), totals[i]);
+            }
+        }
+        response.setPrices(prices);
+        response.setHotelIds(pageIds);
+        return response;
+    }
+
+    // Sin fechas, los precios son los de la noche de hoy
+    private static LocalDate stayStart(HotelSearchCriteria criteria) {
+        return criteria.hasStay() ? criteria.getCheckIn() : LocalDate.now();
+    }
+
+    private static LocalDate stayEnd(HotelSearchCriteria criteria) {
+        return criteria.hasStay() ? criteria.getCheckOut() : LocalDate.now().plusDays(1);
+    }
+
+    public HotelFacetsResponse facets(HotelSearchCriteria criteria) {
+        return searchIndex.facetCounts(criteria, restriction(criteria));
+    }
+
+    // Filtros que no viven en HotelSearchIndex: rangos numéricos, disponibilidad y precio. null = sin restricción
+    private BitSet restriction(HotelSearchCriteria criteria) {
+        BitSet mask = characteristicColumns.matchRanges(criteria.getRanges());
+
+        if (criteria.hasStay()) {
+            ReservationService.validateDates(criteria.getCheckIn(), criteria.getCheckOut());
+            roomInventory.requireReady();
+            mask = and(mask, roomInventory.availableHotels(criteria.getCheckIn(), criteria.getCheckOut()));
+        }
+
+        if (criteria.hasPriceRange()) {
+            if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                    && criteria.getMinPrice() > criteria.getMaxPrice()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minPrice no puede ser mayor que maxPrice");
+            }
+            mask = and(mask, priceCalendar.withinPrice(
+                    stayStart(criteria), stayEnd(criteria), criteria.getMinPrice(), criteria.getMaxPrice()));
+        }
+
+        return mask;
+    }
+
+    private static BitSet and(BitSet mask, BitSet other) {
+        if (mask == null) {
+            return other;
+        }
+        mask.and(other);
+        return mask;
+    }
+
+    // =====================================================
+    // TARIFAS
+    // =====================================================
 
+    public HotelPricingResponse getPricing(Long hotelId) {
         HotelEntity hotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe"));
+        return toPricingResponse(hotel, rateRuleRepository.findByHotelId(hotelId));
+    }
 
-        if (hotel.getCharacteristics() == null) {
-            hotel.setCharacteristics(new ArrayList<>());
-        } else {
-            hotel.getCharacteristics().clear();
+    /*
+     * Reemplaza la tarifa base y todas las reglas del hotel.
+     * HotelPriceCalendar recalcula el calendario del hotel tras el commit.
+     */
+    @Transactional
+    public HotelPricingResponse updatePricing(Long hotelId, HotelPricingRequest req) {
+        HotelEntity hotel = hotelRepository.findById(hotelId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe"));
+
+        List<HotelRateRuleRequest> requested = req.getRules() == null ? List.of() : req.getRules();
+        List<HotelRateRuleEntity> rules = new ArrayList<>(requested.size());
+        for (HotelRateRuleRequest r : requested) {
+            if (r == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Regla de tarifa vacía");
+            }
+            if ((r.getFixedRate() == null) == (r.getPercent() == null)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cada regla lleva fixedRate o percent (uno de los dos)");
+            }
+            if (r.getStartDate() != null && r.getEndDate() != null && r.getEndDate().isBefore(r.getStartDate())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "endDate no puede ser anterior a startDate");
+            }
+
+            HotelRateRuleEntity rule = new HotelRateRuleEntity();
+            rule.setHotel(hotel);
+            rule.setStartDate(r.getStartDate());
+            rule.setEndDate(r.getEndDate());
+            rule.setWeekdays(weekdayMask(r.getWeekdays()));
+            rule.setFixedRate(r.getFixedRate());
+            rule.setPercent(r.getPercent());
+            rule.setPriority(r.getPriority());
+            rules.add(rule);
         }
+        // Mismo orden que HotelRateRuleRepository: prioridad y después orden de carga
+        rules.sort(Comparator.comparingInt(HotelRateRuleEntity::getPriority));
 
-        hotelCharacteristicRepository.deleteByHotel_Id(hotelId);
-        hotelCharacteristicRepository.flush();
+        rateRuleRepository.deleteByHotelId(hotelId);
+        rateRuleRepository.saveAll(rules);
 
-        if (requests == null || requests.isEmpty()) {
-            return hotel;
+        hotel.setBaseRate(req.getBaseRate());
+        hotel.setUpdatedAt(LocalDateTime.now());
+        afterSave(hotel);
+        events.publishEvent(new HotelRatesChangedEvent(hotelId, hotel.getBaseRate(), HotelPriceCalendar.rulesOf(rules)));
+
+        return toPricingResponse(hotel, rules);
+    }
+
+    // Precio por noche y total de una estadía, desde el calendario en memoria
+    public PriceQuoteResponse quote(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        ReservationService.validateDates(checkIn, checkOut);
+
+        int[] nights = priceCalendar.nights(hotelId, checkIn, checkOut);
+        if (nights == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe");
         }
 
-        List<HotelCharacteristicEntity> savedList = new ArrayList<>();
+        List<Integer> prices = new ArrayList<>(nights.length);
+        Long total = 0L;
+        for (int price : nights) {
+            if (price < 0) {
+                prices.add(null);
+                total = null;
+            } else {
+                prices.add(price);
+                if (total != null) total += price;
+            }
+        }
 
-        for (HotelCharacteristicValueRequest item : requests) {
+        return new PriceQuoteResponse(hotelId, checkIn, checkOut, prices, total);
+    }
 
-            CharacteristicEntity characteristic = characteristicRepository.findById(item.getCharacteristicId())
-                    .orElseThrow(() -> new ResponseStatusException(
-                            HttpStatus.NOT_FOUND,
-                            "Característica no encontrada: " + item.getCharacteristicId()
-                    ));
+    private static int weekdayMask(Set<DayOfWeek> weekdays) {
+        int mask = 0;
+        if (weekdays != null) {
+            for (DayOfWeek day : weekdays) {
+                if (day != null) mask |= 1 << (day.getValue() - 1);
+            }
+        }
+        return mask;
+    }
 
-            HotelCharacteristicEntity hc = new HotelCharacteristicEntity();
-            hc.setHotel(hotel);
-            hc.setCharacteristic(characteristic);
+    private static HotelPricingResponse toPricingResponse(HotelEntity hotel, List<HotelRateRuleEntity> rules) {
+        List<HotelRateRuleResponse> items = new ArrayList<>(rules.size());
+        for (HotelRateRuleEntity r : rules) {
+            Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if ((r.getWeekdays() & (1 << (day.getValue() - 1))) != 0) weekdays.add(day);
+            }
+            items.add(new HotelRateRuleResponse(
+                    r.getId(), r.getStartDate(), r.getEndDate(), weekdays,
+                    r.getFixedRate(), r.getPercent(), r.getPriority()));
+        }
+        return new HotelPricingResponse(hotel.getId(), hotel.getBaseRate(), items);
+    }
+
+    /*
+     * Tabla comparativa de características para varios hoteles.
+     * Los valores salen de HotelCharacteristicColumns; de la base solo se
+     * leen nombre y ciudad (una consulta de proyección).
+     */
+    public HotelComparisonResponse compare(List<Long> hotelIds) {
+        List<Long> ids = hotelIds == null ? List.of() : hotelIds.stream().distinct().toList();
+        if (ids.size() < 2 || ids.size() > MAX_COMPARE) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Se pueden comparar entre 2 y " + MAX_COMPARE + " hoteles"
+            );
+        }
+
+        Map<Long, HotelProjectionRepository.HotelRow> rows = projectionRepository.findRows(ids).stream()
+                .collect(Collectors.toMap(HotelProjectionRepository.HotelRow::getId, r -> r));
+        List<Long> missing = ids.stream().filter(id -> !rows.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hoteles no encontrados: " + missing);
+        }
+
+        HotelCharacteristicColumns.Comparison comparison = characteristicColumns.compare(ids);
+
+        List<HotelComparisonItem> hotels = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            HotelProjectionRepository.HotelRow row = rows.get(ids.get(i));
+            hotels.add(new HotelComparisonItem(row.getId(), row.getName(), row.getCity(), comparison.getValues().get(i)));
+        }
+
+        return new HotelComparisonResponse(comparison.getCharacteristics(), hotels);
+    }
+
+    /*
+     * Hoteles cerca de un punto, ordenados por distancia.
+     * GET /api/hotels/near?lat=-32.89&lng=-68.84&radiusKm=10
+     * La búsqueda se resuelve en HotelGeoIndex; de la base solo se leen los
+     * resúmenes de la página (hotel_public_view).
+     */
+    public HotelNearbyResponse near(double lat, double lng, double radiusKm, Integer limit) {
+        // Escrito así para que NaN (?lat=NaN) también sea inválido
+        if (!(lat >= -90 && lat <= 90) || !(lng >= -180 && lng <= 180)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Coordenadas inválidas");
+        }
+        if (!(radiusKm > 0) || radiusKm > MAX_NEAR_RADIUS_KM) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "radiusKm debe ser mayor que 0 y como máximo " + (int) MAX_NEAR_RADIUS_KM
+            );
+        }
+
+        HotelGeoIndex.Result result = geoIndex.near(lat, lng, radiusKm, resolveLimit(limit));
+
+        List<Long> ids = result.getHits().stream().map(HotelGeoIndex.Hit::getHotelId).toList();
+        Map<Long, String> summaries = ids.isEmpty() ? Map.of() : viewRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(
+                        HotelPublicViewRepository.SummaryRow::getHotelId,
+                        HotelPublicViewRepository.SummaryRow::getSummaryJson
+                ));
+
+        List<HotelNearbyItem> items = new ArrayList<>(ids.size());
+        for (HotelGeoIndex.Hit hit : result.getHits()) {
+            String summary = summaries.get(hit.getHotelId());
+            if (summary == null) continue;
+
+            // Metros de precisión alcanzan
+            double distance = Math.round(hit.getDistanceKm() * 1000) / 1000.0;
+            items.add(new HotelNearbyItem(distance, hit.getLatitude(), hit.getLongitude(), new RawJson(summary)));
+        }
+
+        return new HotelNearbyResponse(result.getTotal(), items);
+    }
+
+    /*
+     * "También te puede interesar": hoteles con categorías y características
+     * parecidas, resueltos en HotelSimilarityIndex (MinHash + LSH).
+     * De la base solo se leen los resúmenes de los hoteles devueltos.
+     */
+    public List<HotelSimilarItem> similar(Long hotelId, Integer limit) {
+        int size = limit == null ? DEFAULT_SIMILAR_LIMIT : limit;
+        if (size < 1 || size > MAX_SIMILAR_LIMIT) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "limit debe estar entre 1 y " + MAX_SIMILAR_LIMIT
+            );
+        }
+        // Un hotel sin categorías ni características no está en el índice
+        if (!similarityIndex.contains(hotelId) && !hotelRepository.existsById(hotelId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe");
+        }
+
+        List<HotelSimilarityIndex.Hit> hits = similarityIndex.similar(hotelId, size);
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = hits.stream().map(HotelSimilarityIndex.Hit::getHotelId).toList();
+        Map<Long, String> summaries = viewRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(
+                        HotelPublicViewRepository.SummaryRow::getHotelId,
+                        HotelPublicViewRepository.SummaryRow::getSummaryJson
+                ));
+
+        List<HotelSimilarItem> items = new ArrayList<>(hits.size());
+        for (HotelSimilarityIndex.Hit hit : hits) {
+            String summary = summaries.get(hit.getHotelId());
+            if (summary == null) continue;
+            items.add(new HotelSimilarItem(Math.round(hit.getScore() * 1000) / 1000.0, new RawJson(summary)));
+        }
+        return items;
+    }
+
+    // Respeta el orden de ids recibido (por id en el listado, por relevancia en la búsqueda)
+    private List<RawJson> loadPublic(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, String> byId = viewRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(
+                        HotelPublicViewRepository.SummaryRow::getHotelId,
+                        HotelPublicViewRepository.SummaryRow::getSummaryJson
+                ));
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(RawJson::new)
+                .toList();
+    }
+
+    private int resolveLimit(Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_LIMIT : limit;
+        if (size < 1 || size > MAX_PAGE_LIMIT) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "limit debe estar entre 1 y " + MAX_PAGE_LIMIT
+            );
+        }
+        return size;
+    }
+
+    /*
+     * Suma o resta una reseña a los agregados del hotel (UPDATE atómico que
+     * también sube la versión) y rearma su vista pública. Lo usa ReviewService
+     * dentro de su transacción. El evento es solo de puntaje: los índices de
+     * nombres, duplicados, etc. no se tocan y el de texto solo anota la versión.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyReviewScore(Long hotelId, int count, int score) {
+        if (hotelRepository.addReviewScore(hotelId, count, score, LocalDateTime.now()) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe");
+        }
+
+        HotelEntity hotel = hotelRepository.findById(hotelId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe"));
+        readModel.refresh(hotel);
+        events.publishEvent(HotelChangedEvent.rated(HotelSnapshot.from(hotel)));
+    }
+
+    // Reescribe la fila de hotel_public_view en la transacción actual
+    // y avisa a los índices en memoria (que se actualizan tras el commit)
+    private void afterSave(HotelEntity hotel) {
+        hotelRepository.flush(); // asigna la versión nueva antes de armar la vista
+        readModel.refresh(hotel);
+        events.publishEvent(HotelChangedEvent.saved(HotelSnapshot.from(hotel)));
+    }
+
+    // El cursor es el último id entregado, codificado para que el cliente
+    // lo trate como un valor opaco y no dependa de su formato.
+    private String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodeCursor(String cursor) {
+        return decodeCursor(cursor, Long.MAX_VALUE);
+    }
+
+    // max: el mayor valor que acepta quien lo usa (en el BitSet y en las listas son int)
+    private long decodeCursor(String cursor, long max) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        long value;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            value = Long.parseLong(raw);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+        if (value < 0 || value > max) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+        return value;
+    }
+
+    /*
+     * Reemplaza los valores de características del hotel. Las características
+     * pedidas se resuelven con una sola consulta y HotelCharacteristicWriter
+     * escribe solo las altas, cambios y bajas reales (en batch). Si el pedido
+     * coincide con lo guardado no se escribe nada y la versión no cambia.
+     */
+    @Transactional
+    public HotelEntity updateCharacteristics(Long hotelId, List<HotelCharacteristicValueRequest> requests) {
+
+        // Sin characteristics cargada: se lee recién en afterSave, ya con los valores nuevos
+        HotelEntity hotel = hotelRepository.findWithoutCharacteristicsById(hotelId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe"));
+
+        List<HotelCharacteristicValueRequest> items = requests == null ? List.of() : requests;
+
+        List<Long> ids = new ArrayList<>();
+        for (HotelCharacteristicValueRequest item : items) {
+            if (item.getCharacteristicId() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "characteristicId is required");
+            }
+            ids.add(item.getCharacteristicId());
+        }
+
+        Map<Long, CharacteristicEntity> byId = characteristicRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(CharacteristicEntity::getId, c -> c));
+
+        Map<Long, HotelCharacteristicWriter.Value> values = new LinkedHashMap<>();
+        for (HotelCharacteristicValueRequest item : items) {
+            CharacteristicEntity characteristic = byId.get(item.getCharacteristicId());
+            if (characteristic == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Característica no encontrada: " + item.getCharacteristicId());
+            }
 
             if (characteristic.getType() == CharacteristicEntity.Type.BOOLEAN) {
                 if (item.getBoolValue() == null) {
                     throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                             "boolValue requerido para " + characteristic.getName());
                 }
-
-                hc.setBoolValue(item.getBoolValue());
-                hc.setNumValue(null);
-
             } else {
                 if (item.getNumValue() == null || item.getNumValue() < 0) {
                     throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                             "numValue inválido para " + characteristic.getName());
                 }
+            }
 
-                hc.setNumValue(item.getNumValue());
-                hc.setBoolValue(null);
+            HotelCharacteristicWriter.Value value = HotelCharacteristicWriter.Value.of(
+                    characteristic.getType(), item.getBoolValue(), item.getNumValue());
+            if (values.put(characteristic.getId(), value) != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Característica repetida: " + characteristic.getId());
             }
+        }
 
-            savedList.add(hotelCharacteristicRepository.save(hc));
+        if (!characteristicWriter.replace(hotelId, values)) {
+            return hotel;
         }
 
-        hotel.getCharacteristics().addAll(savedList);
+        // La colección es inversa (mappedBy): sin esto la versión del hotel no cambiaría
+        hotel.setUpdatedAt(LocalDateTime.now());
 
+        afterSave(hotel);
         return hotel;
     }
 
@@ -253,7 +933,9 @@ public class HotelService {
             }
 
             hotel.getImageUrls().addAll(urls);
+            hotel.setUpdatedAt(LocalDateTime.now());
             hotelRepository.save(hotel);
+            afterSave(hotel);
 
             return urls;
         } catch (IOException ex) {
@@ -266,6 +948,7 @@ public class HotelService {
      * El service mantiene la lógica de negocio de desvincular la imagen del hotel
      * y delega el borrado físico del archivo a FileStorageService.
      */
+    @Transactional
     public void deleteImageByUrl(Long hotelId, String url) {
         HotelEntity hotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe"));
@@ -278,7 +961,9 @@ public class HotelService {
 
         boolean removed = hotel.getImageUrls().removeIf(u -> u != null && u.equals(decoded));
         if (removed) {
+            hotel.setUpdatedAt(LocalDateTime.now());
             hotelRepository.save(hotel);
+            afterSave(hotel);
         }
 
         try {
@@ -0,0 +1,190 @@
+package maryoris.tuteloapp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Hoteles parecidos ("también te puede interesar").
+ * Cada hotel se describe por el conjunto de sus categorías y sus
+ * características BOOLEAN activas; la similitud es el Jaccard entre conjuntos.
+ * En lugar de comparar contra todo el catálogo se usa MinHash + LSH:
+ * - al indexar un hotel se calcula su firma y se lo agrega a un balde por banda;
+ * - para buscar parecidos solo se miran los hoteles que comparten balde en
+ *   alguna banda (candidatos) y se ordenan por Jaccard exacto.
+ * Con BANDS x ROWS = 16 x 4 entran como candidatos casi todos los pares con
+ * Jaccard >= 0.6 y muy pocos por debajo de 0.3.
+ * Se arma al arrancar (HotelIndexCoordinator) y se actualiza por hotel tras
+ * cada escritura; si los rasgos del hotel no cambiaron no se toca nada.
+ */
+@Component
+public class HotelSimilarityIndex implements HotelIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelSimilarityIndex.class);
+
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    // Un balde enorme (muchos hoteles con exactamente los mismos rasgos) no debe
+    // volver lineal la búsqueda: se revisan como máximo estos candidatos
+    private static final int MAX_CANDIDATES = 5000;
+
+    // Prefijos para que la categoría 3 y la característica 3 sean rasgos distintos
+    private static final long CATEGORY = 1L << 62;
+    private static final long CHARACTERISTIC = 2L << 62;
+
+    private final MinHash minHash = new MinHash(BANDS, ROWS, 0x7A7E10L);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> hotels = new HashMap<>();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+
+    @Override
+    public void rebuild(Collection<HotelSnapshot> snapshots) {
+        lock.writeLock().lock();
+        try {
+            hotels.clear();
+            buckets.clear();
+            for (HotelSnapshot h : snapshots) {
+                add(h.getId(), features(h));
+            }
+            log.info("Índice de hoteles parecidos: {} hoteles, {} baldes", hotels.size(), buckets.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onHotelChanged(HotelChangedEvent event) {
+        Long hotelId = event.getHotelId();
+        long[] features = event.isDeleted() ? null : features(event.getSnapshot());
+
+        lock.writeLock().lock();
+        try {
+            Entry current = hotels.get(hotelId);
+            if (current != null && features != null && Arrays.equals(current.features, features)) {
+                return;
+            }
+            remove(hotelId);
+            if (features != null) {
+                add(hotelId, features);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Hasta limit hoteles parecidos a hotelId, del más al menos parecido
+     * (a igual similitud, por id). Lista vacía si el hotel no tiene rasgos.
+     */
+    public List<Hit> similar(Long hotelId, int limit) {
+        lock.readLock().lock();
+        try {
+            Entry entry = hotels.get(hotelId);
+            if (entry == null) {
+                return List.of();
+            }
+
+            Set<Long> candidates = new HashSet<>();
+            for (long key : entry.bucketKeys) {
+                for (Long other : buckets.getOrDefault(key, List.of())) {
+                    if (!other.equals(hotelId)) {
+                        candidates.add(other);
+                    }
+                    if (candidates.size() >= MAX_CANDIDATES) break;
+                }
+                if (candidates.size() >= MAX_CANDIDATES) break;
+            }
+
+            List<Hit> hits = new ArrayList<>(candidates.size());
+            for (Long other : candidates) {
+                double score = MinHash.jaccard(entry.features, hotels.get(other).features);
+                if (score > 0) {
+                    hits.add(new Hit(other, score));
+                }
+            }
+            hits.sort(Comparator.comparingDouble(Hit::getScore).reversed().thenComparing(Hit::getHotelId));
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(Long hotelId) {
+        lock.readLock().lock();
+        try {
+            return hotels.containsKey(hotelId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static final class Hit {
+        private final Long hotelId;
+        private final double score;
+
+        Hit(Long hotelId, double score) {
+            this.hotelId = hotelId;
+            this.score = score;
+        }
+
+        public Long getHotelId() { return hotelId; }
+        public double getScore() { return score; }
+    }
+
+    // Ordenados y sin repetidos, para comparar y calcular Jaccard exacto
+    private static long[] features(HotelSnapshot h) {
+        long[] features = new long[h.getCategoryIds().size() + h.getEnabledCharacteristicIds().size()];
+        int n = 0;
+        for (Long id : h.getCategoryIds()) {
+            features[n++] = CATEGORY | id;
+        }
+        for (Long id : h.getEnabledCharacteristicIds()) {
+            features[n++] = CHARACTERISTIC | id;
+        }
+        Arrays.sort(features);
+        return features;
+    }
+
+    private void add(Long hotelId, long[] features) {
+        int[] signature = minHash.signature(features);
+        if (signature == null) {
+            return;
+        }
+
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            keys[band] = minHash.bandKey(signature, band);
+            buckets.computeIfAbsent(keys[band], k -> new ArrayList<>()).add(hotelId);
+        }
+        hotels.put(hotelId, new Entry(features, keys));
+    }
+
+    private void remove(Long hotelId) {
+        Entry entry = hotels.remove(hotelId);
+        if (entry == null) {
+            return;
+        }
+        for (long key : entry.bucketKeys) {
+            List<Long> bucket = buckets.get(key);
+            if (bucket == null) continue;
+            bucket.remove(hotelId);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final long[] features;
+        private final long[] bucketKeys;
+
+        Entry(long[] features, long[] bucketKeys) {
+            this.features = features;
+            this.bucketKeys = bucketKeys;
+        }
+    }
+}
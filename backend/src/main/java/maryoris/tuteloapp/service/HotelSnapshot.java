@@ -0,0 +1,146 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.entity.CategoryEntity;
+import maryoris.tuteloapp.entity.CharacteristicEntity;
+import maryoris.tuteloapp.entity.HotelCharacteristicEntity;
+import maryoris.tuteloapp.entity.HotelEntity;
+
+import java.util.*;
+
+/*
+ * Copia inmutable de los datos de un hotel que necesitan los índices en memoria.
+ * Se arma dentro del service (con la entidad todavía cargada) y viaja en
+ * HotelChangedEvent, así ningún índice tiene que volver a consultar la base.
+ */
+public final class HotelSnapshot {
+
+    private final Long id;
+    // @Version del hotel al armar la copia
+    private final long version;
+    private final String name;
+    private final String city;
+    private final String address;
+    private final String description;
+    // null si el hotel no tiene ubicación
+    private final Double latitude;
+    private final Double longitude;
+    // Habitaciones reservables por noche
+    private final int rooms;
+    // Tarifa por noche sin reglas; null si no tiene precio
+    private final Integer baseRate;
+    private final int reviewCount;
+    private final long reviewScoreSum;
+    private final Set<Long> categoryIds;
+    // Características BOOLEAN marcadas en true
+    private final Set<Long> enabledCharacteristicIds;
+    // Características NUMBER con su valor
+    private final Map<Long, Integer> numericValues;
+
+    public HotelSnapshot(
+            Long id,
+            String name,
+            String city,
+            String address,
+            String description,
+            Set<Long> categoryIds,
+            Set<Long> enabledCharacteristicIds,
+            Map<Long, Integer> numericValues
+    ) {
+        this(id, 0, name, city, address, description, null, null, 1, null, 0, 0,
+                categoryIds, enabledCharacteristicIds, numericValues);
+    }
+
+    public HotelSnapshot(
+            Long id,
+            long version,
+            String name,
+            String city,
+            String address,
+            String description,
+            Double latitude,
+            Double longitude,
+            int rooms,
+            Integer baseRate,
+            int reviewCount,
+            long reviewScoreSum,
+            Set<Long> categoryIds,
+            Set<Long> enabledCharacteristicIds,
+            Map<Long, Integer> numericValues
+    ) {
+        this.id = id;
+        this.version = version;
+        this.name = name;
+        this.city = city;
+        this.address = address;
+        this.description = description;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.rooms = rooms;
+        this.baseRate = baseRate;
+        this.reviewCount = reviewCount;
+        this.reviewScoreSum = reviewScoreSum;
+        this.categoryIds = Set.copyOf(categoryIds);
+        this.enabledCharacteristicIds = Set.copyOf(enabledCharacteristicIds);
+        this.numericValues = Map.copyOf(numericValues);
+    }
+
+    public static HotelSnapshot from(HotelEntity hotel) {
+        Set<Long> categoryIds = new HashSet<>();
+        if (hotel.getCategories() != null) {
+            for (CategoryEntity c : hotel.getCategories()) {
+                categoryIds.add(c.getId());
+            }
+        }
+
+        Set<Long> enabled = new HashSet<>();
+        Map<Long, Integer> numeric = new HashMap<>();
+        if (hotel.getCharacteristics() != null) {
+            for (HotelCharacteristicEntity hc : hotel.getCharacteristics()) {
+                CharacteristicEntity c = hc.getCharacteristic();
+                if (c == null || c.getId() == null) continue;
+
+                if (c.getType() == CharacteristicEntity.Type.BOOLEAN) {
+                    if (Boolean.TRUE.equals(hc.getBoolValue())) {
+                        enabled.add(c.getId());
+                    }
+                } else if (hc.getNumValue() != null) {
+                    numeric.put(c.getId(), hc.getNumValue());
+                }
+            }
+        }
+
+        return new HotelSnapshot(
+                hotel.getId(),
+                hotel.getVersion(),
+                hotel.getName(),
+                hotel.getCity(),
+                hotel.getAddress(),
+                hotel.getDescription(),
+                hotel.getLatitude(),
+                hotel.getLongitude(),
+                hotel.getRooms(),
+                hotel.getBaseRate(),
+                hotel.getReviewCount(),
+                hotel.getReviewScoreSum(),
+                categoryIds,
+                enabled,
+                numeric
+        );
+    }
+
+    public Long getId() { return id; }
+    public long getVersion() { return version; }
+    public String getName() { return name; }
+    public String getCity() { return city; }
+    public String getAddress() { return address; }
+    public String getDescription() { return description; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public int getRooms() { return rooms; }
+    public Integer getBaseRate() { return baseRate; }
+    public int getReviewCount() { return reviewCount; }
+    public long getReviewScoreSum() { return reviewScoreSum; }
+    public Set<Long> getCategoryIds() { return categoryIds; }
+    public Set<Long> getEnabledCharacteristicIds() { return enabledCharacteristicIds; }
+    public Map<Long, Integer> getNumericValues() { return numericValues; }
+}
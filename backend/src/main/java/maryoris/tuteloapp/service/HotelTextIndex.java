@@ -0,0 +1,406 @@
+package maryoris.tuteloapp.service;
+
+import jakarta.annotation.PreDestroy;
+import maryoris.tuteloapp.repository.HotelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Índice full-text con ranking BM25 sobre nombre, ciudad, dirección y descripción.
+ *
+ * Cada campo aporta a la frecuencia del término con un peso (el nombre pesa
+ * más que la descripción), al estilo de BM25F simplificado.
+ *
+ * Persistencia en el directorio tutelo.search.index-dir:
+ * - hotels.idx: foto completa del índice (se escribe al reconstruir y al apagar);
+ * - hotels.journal: cada alta/cambio/baja confirmada se agrega al final.
+ * Al arrancar se carga la foto y se reaplica el journal, sin volver a leer
+ * ni tokenizar el catálogo. Cada documento guarda la versión del hotel con
+ * la que se indexó: si la cantidad de hoteles, el id máximo o la suma de
+ * versiones no coinciden con la base (por ejemplo, un hotel editado mientras
+ * el journal no se pudo escribir), se reconstruye desde cero.
+ * El journal se compacta en una foto nueva cuando pasa de MAX_JOURNAL_BYTES.
+ */
+@Component
+public class HotelTextIndex implements HotelIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelTextIndex.class);
+
+    private static final int FORMAT_VERSION = 2;
+    private static final long MAX_JOURNAL_BYTES = 4L * 1024 * 1024;
+
+    // Tipos de registro del journal
+    private static final byte SAVED = 0;
+    private static final byte DELETED = 1;
+    private static final byte VERSION_ONLY = 2;
+    private static final int NAME_WEIGHT = 3;
+    private static final int CITY_WEIGHT = 2;
+    private static final int ADDRESS_WEIGHT = 1;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final HotelRepository hotelRepository;
+    private final Path snapshotFile;
+    private final Path journalFile;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // término -> (hotel -> frecuencia ponderada)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // hotel -> términos del documento (para poder quitarlo y para persistir)
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> lengths = new HashMap<>();
+    private final Map<Long, Long> versions = new HashMap<>();
+    private long totalLength;
+    private long versionSum;
+    private boolean dirty;
+
+    public HotelTextIndex(
+            HotelRepository hotelRepository,
+            @Value("${tutelo.search.index-dir:data/text-index}") String indexDir
+    ) {
+        this.hotelRepository = hotelRepository;
+        Path dir = Paths.get(indexDir);
+        this.snapshotFile = dir.resolve("hotels.idx");
+        this.journalFile = dir.resolve("hotels.journal");
+    }
+
+    @Override
+    public boolean restore() {
+        if (!Files.exists(snapshotFile)) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            readSnapshot();
+            int replayed = replayJournal();
+
+            Long maxId = hotelRepository.findMaxId();
+            boolean consistent = documents.size() == hotelRepository.count()
+                    && Objects.equals(maxId, documents.keySet().stream().max(Long::compare).orElse(null))
+                    && versionSum == hotelRepository.sumVersions();
+
+            if (!consistent) {
+                log.warn("Índice full-text desactualizado respecto de la base, se reconstruye");
+                clear();
+                return false;
+            }
+
+            log.info("Índice full-text restaurado: {} hoteles, {} cambios del journal", documents.size(), replayed);
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("No se pudo leer el índice full-text, se reconstruye", ex);
+            clear();
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild(Collection<HotelSnapshot> hotels) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (HotelSnapshot h : hotels) {
+                add(h.getId(), h.getVersion(), termsOf(h));
+            }
+            writeSnapshot();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Las reseñas no cambian el texto, pero sí la versión del hotel: se anota
+     * para que la suma de versiones siga coincidiendo con la base.
+     */
+    @Override
+    public boolean tracksRating() {
+        return true;
+    }
+
+    @Override
+    public void onHotelChanged(HotelChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Long hotelId = event.getHotelId();
+
+            if (event.isDeleted()) {
+                remove(hotelId);
+                appendJournal(hotelId, DELETED, 0, null);
+            } else if (event.isRatingOnly()) {
+                long version = event.getSnapshot().getVersion();
+                setVersion(hotelId, version);
+                appendJournal(hotelId, VERSION_ONLY, version, null);
+            } else {
+                HotelSnapshot h = event.getSnapshot();
+                Map<String, Integer> terms = termsOf(h);
+                remove(hotelId);
+                add(hotelId, h.getVersion(), terms);
+                appendJournal(hotelId, SAVED, h.getVersion(), terms);
+            }
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Devuelve los ids de hotel ordenados por relevancia BM25 (mayor primero).
+     * Si candidates no es null, solo se consideran hoteles presentes en él
+     * (por ejemplo, el resultado de los filtros facetados).
+     */
+    public List<Long> search(String query, BitSet candidates) {
+        List<String> queryTerms = SpanishAnalyzer.analyze(query).stream().distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int n = documents.size();
+            if (n == 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / n;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : queryTerms) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs == null) continue;
+
+                double idf = Math.log(1 + (n - docs.size() + 0.5) / (docs.size() + 0.5));
+
+                for (Map.Entry<Long, Integer> e : docs.entrySet()) {
+                    Long hotelId = e.getKey();
+                    if (candidates != null && !candidates.get(Math.toIntExact(hotelId))) continue;
+
+                    int tf = e.getValue();
+                    double norm = K1 * (1 - B + B * lengths.get(hotelId) / avgLength);
+                    scores.merge(hotelId, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            if (dirty) {
+                writeSnapshot();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<String, Integer> termsOf(HotelSnapshot h) {
+        Map<String, Integer> terms = new HashMap<>();
+        addField(terms, h.getName(), NAME_WEIGHT);
+        addField(terms, h.getCity(), CITY_WEIGHT);
+        addField(terms, h.getAddress(), ADDRESS_WEIGHT);
+        addField(terms, h.getDescription(), DESCRIPTION_WEIGHT);
+        return terms;
+    }
+
+    private void addField(Map<String, Integer> terms, String text, int weight) {
+        for (String token : SpanishAnalyzer.analyze(text)) {
+            terms.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private void add(Long hotelId, long version, Map<String, Integer> terms) {
+        int length = 0;
+        for (Map.Entry<String, Integer> e : terms.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(hotelId, e.getValue());
+            length += e.getValue();
+        }
+        documents.put(hotelId, terms);
+        lengths.put(hotelId, length);
+        versions.put(hotelId, version);
+        totalLength += length;
+        versionSum += version;
+    }
+
+    private void setVersion(Long hotelId, long version) {
+        Long previous = versions.replace(hotelId, version);
+        if (previous != null) {
+            versionSum += version - previous;
+        }
+    }
+
+    private void remove(Long hotelId) {
+        Map<String, Integer> terms = documents.remove(hotelId);
+        if (terms == null) return;
+
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs == null) continue;
+            docs.remove(hotelId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= lengths.remove(hotelId);
+        versionSum -= versions.remove(hotelId);
+    }
+
+    private void clear() {
+        postings.clear();
+        documents.clear();
+        lengths.clear();
+        versions.clear();
+        totalLength = 0;
+        versionSum = 0;
+        dirty = false;
+    }
+
+    // =============================
+    // PERSISTENCIA
+    // =============================
+
+    private void writeSnapshot() {
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(documents.size());
+                for (Map.Entry<Long, Map<String, Integer>> doc : documents.entrySet()) {
+                    out.writeLong(doc.getKey());
+                    out.writeLong(versions.get(doc.getKey()));
+                    writeTerms(out, doc.getValue());
+                }
+            }
+
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(journalFile);
+            dirty = false;
+        } catch (IOException ex) {
+            // El índice en memoria sigue siendo válido; solo se pierde el arranque rápido
+            log.warn("No se pudo guardar el índice full-text en {}", snapshotFile, ex);
+        }
+    }
+
+    private void readSnapshot() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(snapshotFile))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Formato de índice no soportado");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long hotelId = in.readLong();
+                long version = in.readLong();
+                add(hotelId, version, readTerms(in));
+            }
+        }
+    }
+
+    private void appendJournal(Long hotelId, byte kind, long version, Map<String, Integer> terms) {
+        try {
+            Files.createDirectories(journalFile.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                    journalFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+                out.writeLong(hotelId);
+                out.writeByte(kind);
+                out.writeLong(version);
+                if (kind == SAVED) {
+                    writeTerms(out, terms);
+                }
+            }
+
+            // Sin compactar, el journal crecería hasta el próximo apagado ordenado
+            if (Files.size(journalFile) > MAX_JOURNAL_BYTES) {
+                writeSnapshot();
+            }
+        } catch (IOException ex) {
+            log.warn("No se pudo escribir el journal del índice full-text", ex);
+        }
+    }
+
+    private int replayJournal() throws IOException {
+        if (!Files.exists(journalFile)) {
+            return 0;
+        }
+
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile)))) {
+            while (true) {
+                long hotelId;
+                try {
+                    hotelId = in.readLong();
+                } catch (EOFException end) {
+                    break;
+                }
+
+                try {
+                    byte kind = in.readByte();
+                    long version = in.readLong();
+
+                    if (kind == VERSION_ONLY) {
+                        setVersion(hotelId, version);
+                    } else {
+                        Map<String, Integer> terms = kind == SAVED ? readTerms(in) : null;
+                        remove(hotelId);
+                        if (terms != null) {
+                            add(hotelId, version, terms);
+                        }
+                    }
+                    replayed++;
+                } catch (EOFException truncated) {
+                    // Último registro a medio escribir (caída del proceso): se descarta
+                    break;
+                }
+            }
+        }
+        dirty = replayed > 0;
+        return replayed;
+    }
+
+    private void writeTerms(DataOutputStream out, Map<String, Integer> terms) throws IOException {
+        out.writeInt(terms.size());
+        for (Map.Entry<String, Integer> t : terms.entrySet()) {
+            out.writeUTF(t.getKey());
+            out.writeInt(t.getValue());
+        }
+    }
+
+    private Map<String, Integer> readTerms(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, Integer> terms = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            terms.put(in.readUTF(), in.readInt());
+        }
+        return terms;
+    }
+}
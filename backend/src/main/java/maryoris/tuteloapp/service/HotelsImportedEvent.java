@@ -0,0 +1,20 @@
+package maryoris.tuteloapp.service;
+
+import java.util.List;
+
+/*
+ * Evento de la importación masiva: un lote de hoteles nuevos ya confirmado.
+ * Equivale a un HotelChangedEvent.saved por hotel, pero permite a quien
+ * reconstruye estructuras completas (PublicCatalogCache) hacerlo una vez
+ * por lote en lugar de una vez por hotel.
+ */
+public class HotelsImportedEvent {
+
+    private final List<HotelSnapshot> snapshots;
+
+    public HotelsImportedEvent(List<HotelSnapshot> snapshots) {
+        this.snapshots = List.copyOf(snapshots);
+    }
+
+    public List<HotelSnapshot> getSnapshots() { return snapshots; }
+}
@@ -0,0 +1,111 @@
+package maryoris.tuteloapp.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/*
+ * Conjunto inmutable de ids (long > 0) con direccionamiento abierto sobre
+ * un long[]: contains() es un hash y unas pocas comparaciones, sin Long ni
+ * nodos por elemento. El 0 marca una posición vacía (los ids de la base
+ * empiezan en 1). with/without devuelven una copia, así que un conjunto
+ * compartido se puede leer desde varios hilos sin locks.
+ */
+final class LongHashSet {
+
+    static final LongHashSet EMPTY = new LongHashSet(new long[8], 0);
+
+    private final long[] slots;
+    private final int size;
+
+    private LongHashSet(long[] slots, int size) {
+        this.slots = slots;
+        this.size = size;
+    }
+
+    static LongHashSet of(Collection<Long> values) {
+        long[] slots = new long[capacityFor(values.size())];
+        int size = 0;
+        for (Long value : values) {
+            if (value != null && value > 0 && insert(slots, value)) {
+                size++;
+            }
+        }
+        return new LongHashSet(slots, size);
+    }
+
+    boolean contains(long value) {
+        if (value <= 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        for (int i = index(value, mask); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == value) return true;
+            if (slot == 0) return false;
+        }
+    }
+
+    LongHashSet with(long value) {
+        if (value <= 0 || contains(value)) {
+            return this;
+        }
+        long[] copy = new long[capacityFor(size + 1)];
+        for (long slot : slots) {
+            if (slot != 0) insert(copy, slot);
+        }
+        insert(copy, value);
+        return new LongHashSet(copy, size + 1);
+    }
+
+    // Se rearma la tabla entera: borrar con direccionamiento abierto rompería las cadenas de sondeo
+    LongHashSet without(long value) {
+        if (!contains(value)) {
+            return this;
+        }
+        long[] copy = new long[capacityFor(size - 1)];
+        for (long slot : slots) {
+            if (slot != 0 && slot != value) insert(copy, slot);
+        }
+        return new LongHashSet(copy, size - 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Ordenados de menor a mayor
+    long[] toArray() {
+        long[] values = new long[size];
+        int n = 0;
+        for (long slot : slots) {
+            if (slot != 0) values[n++] = slot;
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static boolean insert(long[] slots, long value) {
+        int mask = slots.length - 1;
+        for (int i = index(value, mask); ; i = (i + 1) & mask) {
+            if (slots[i] == value) return false;
+            if (slots[i] == 0) {
+                slots[i] = value;
+                return true;
+            }
+        }
+    }
+
+    private static int index(long value, int mask) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    // Potencia de 2 con carga <= 50%
+    private static int capacityFor(int size) {
+        int capacity = 8;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,95 @@
+package maryoris.tuteloapp.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/*
+ * Firmas MinHash y claves LSH por bandas.
+ * Cada elemento de un conjunto llega como un long (id o hash de un shingle);
+ * la firma guarda, para cada una de las `hashes` funciones, el menor valor
+ * visto. La fracción de posiciones iguales entre dos firmas estima la
+ * similitud de Jaccard entre los conjuntos.
+ * Para no comparar contra todo el catálogo, la firma se parte en `bands`
+ * bandas de `rows` valores: dos conjuntos caen en el mismo balde de alguna
+ * banda con probabilidad 1 - (1 - J^rows)^bands, una curva en S centrada
+ * cerca de (1/bands)^(1/rows).
+ */
+final class MinHash {
+
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+
+    MinHash(int bands, int rows, long seed) {
+        this.bands = bands;
+        this.rows = rows;
+        this.seeds = new long[bands * rows];
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    int bands() {
+        return bands;
+    }
+
+    // null si el conjunto está vacío: no tiene con qué parecerse a nada
+    int[] signature(long[] elements) {
+        if (elements.length == 0) {
+            return null;
+        }
+
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long element : elements) {
+            for (int i = 0; i < seeds.length; i++) {
+                int h = (int) (mix(element ^ seeds[i]) >>> 33);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // Clave del balde de la banda `band`; incluye el número de banda para no mezclar bandas
+    long bandKey(int[] signature, int band) {
+        long h = band * 0x9E3779B97F4A7C15L;
+        int from = band * rows;
+        for (int i = from; i < from + rows; i++) {
+            h = mix(h ^ signature[i]);
+        }
+        return h;
+    }
+
+    // Jaccard exacto entre dos conjuntos ordenados sin repetidos
+    static double jaccard(long[] a, long[] b) {
+        if (a.length == 0 && b.length == 0) {
+            return 0;
+        }
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    // Finalizador de SplitMix64
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
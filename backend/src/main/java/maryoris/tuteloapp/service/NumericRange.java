@@ -0,0 +1,51 @@
+package maryoris.tuteloapp.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/*
+ * Filtro por valor de una característica NUMBER, con límites inclusivos
+ * y opcionales. En la URL se escribe characteristicId:min-max:
+ *   range=3:50-      habitaciones >= 50
+ *   range=3:-10      habitaciones <= 10
+ *   range=3:20-80    entre 20 y 80
+ */
+public class NumericRange {
+
+    private final Long characteristicId;
+    private final Integer min;
+    private final Integer max;
+
+    public NumericRange(Long characteristicId, Integer min, Integer max) {
+        this.characteristicId = characteristicId;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static NumericRange parse(String raw) {
+        try {
+            String[] parts = raw.trim().split(":", 2);
+            String[] bounds = parts[1].split("-", -1);
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException();
+            }
+
+            Integer min = bounds[0].isBlank() ? null : Integer.valueOf(bounds[0].trim());
+            Integer max = bounds[1].isBlank() ? null : Integer.valueOf(bounds[1].trim());
+            if (min != null && max != null && min > max) {
+                throw new IllegalArgumentException();
+            }
+
+            return new NumericRange(Long.valueOf(parts[0].trim()), min, max);
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "range inválido: " + raw + " (formato: characteristicId:min-max)"
+            );
+        }
+    }
+
+    public Long getCharacteristicId() { return characteristicId; }
+    public Integer getMin() { return min; }
+    public Integer getMax() { return max; }
+}
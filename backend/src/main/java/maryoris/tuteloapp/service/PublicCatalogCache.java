@@ -0,0 +1,261 @@
+package maryoris.tuteloapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import maryoris.tuteloapp.dto.CharacteristicPublicResponse;
+import maryoris.tuteloapp.entity.CategoryEntity;
+import maryoris.tuteloapp.repository.CategoryRepository;
+import maryoris.tuteloapp.repository.CharacteristicRepository;
+import maryoris.tuteloapp.repository.HotelPublicViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Catálogo público en memoria (copy-on-write).
+ * GET /api/hotels, /api/categories y /api/characteristics leen siempre
+ * snapshot.get(): sin locks, sin Hibernate y sin serializar en cada request.
+ * Armar una foto nueva copia el mapa de hoteles y vuelve a unir, comprimir
+ * y hashear el listado completo, así que no se hace por cada cambio ni en el
+ * hilo del request: los hoteles modificados (altas, ediciones, reseñas,
+ * lotes de la importación) se juntan en pending y un hilo propio arma una
+ * sola foto para todo el lote FLUSH_DELAY_MS después del primero.
+ * Mientras un hotel está pendiente hotelVersion no lo conoce, así el detalle
+ * no responde 304 con una versión vieja.
+ * Si ningún resumen cambió se conserva el cuerpo anterior (sin gzip ni hash).
+ */
+@Component
+public class PublicCatalogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicCatalogCache.class);
+
+    static final long FLUSH_DELAY_MS = 500;
+
+    private final HotelPublicViewRepository viewRepository;
+    private final CategoryRepository categoryRepository;
+    private final CharacteristicRepository characteristicRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<PublicCatalogSnapshot> snapshot =
+            new AtomicReference<>(PublicCatalogSnapshot.EMPTY);
+
+    /*
+     * Hotel -> número del último cambio recibido. Al aplicar un lote solo se
+     * quitan las entradas que no volvieron a cambiar mientras tanto.
+     */
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicLong changeSequence = new AtomicLong();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "public-catalog-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PublicCatalogCache(
+            HotelPublicViewRepository viewRepository,
+            CategoryRepository categoryRepository,
+            CharacteristicRepository characteristicRepository,
+            ObjectMapper objectMapper
+    ) {
+        this.viewRepository = viewRepository;
+        this.categoryRepository = categoryRepository;
+        this.characteristicRepository = characteristicRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public PublicCatalogSnapshot get() {
+        return snapshot.get();
+    }
+
+    // Versión publicada del hotel; null si no está o si tiene un cambio sin aplicar
+    public Long hotelVersion(Long hotelId) {
+        return pending.containsKey(hotelId) ? null : snapshot.get().getHotelVersion(hotelId);
+    }
+
+    // Después del backfill de hotel_public_view (ver HotelReadModelService)
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public synchronized void reload() {
+        TreeMap<Long, PublicCatalogSnapshot.HotelEntry> hotels = new TreeMap<>();
+        for (HotelPublicViewRepository.SummaryRow row : viewRepository.findAllSummaries()) {
+            hotels.put(row.getHotelId(), toEntry(row));
+        }
+
+        snapshot.set(build(hotels, loadCategories(), loadCharacteristics()));
+        log.info("Catálogo público en memoria: {} hoteles", hotels.size());
+    }
+
+    /*
+     * Se procesa después del commit, cuando la fila de hotel_public_view
+     * ya quedó escrita; el hotel se relee en el próximo lote.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        enqueue(List.of(event.getHotelId()));
+    }
+
+    // Importación masiva: los lotes se acumulan igual que los cambios sueltos
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelsImported(HotelsImportedEvent event) {
+        enqueue(event.getSnapshots().stream().map(HotelSnapshot::getId).toList());
+    }
+
+    private void enqueue(Collection<Long> hotelIds) {
+        if (hotelIds.isEmpty()) {
+            return;
+        }
+        for (Long hotelId : hotelIds) {
+            pending.put(hotelId, changeSequence.incrementAndGet());
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flushPending, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized void flushPending() {
+        // Lo que llegue mientras se aplica este lote agenda el siguiente
+        flushScheduled.set(false);
+
+        Map<Long, Long> batch = new HashMap<>(pending);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            apply(batch.keySet());
+            batch.forEach(pending::remove);
+        } catch (RuntimeException ex) {
+            // Quedan pendientes (hotelVersion sigue sin confiar en ellos) y se reintenta
+            log.error("No se pudieron aplicar {} cambios al catálogo público", batch.size(), ex);
+            if (flushScheduled.compareAndSet(false, true)) {
+                scheduler.schedule(this::flushPending, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // Relee esos hoteles de hotel_public_view (los que ya no están se quitan)
+    private void apply(Collection<Long> hotelIds) {
+        PublicCatalogSnapshot current = snapshot.get();
+        TreeMap<Long, PublicCatalogSnapshot.HotelEntry> hotels = new TreeMap<>(current.getHotels());
+
+        hotels.keySet().removeAll(hotelIds);
+        List<Long> ids = new ArrayList<>(hotelIds);
+        for (int from = 0; from < ids.size(); from += HotelProjectionService.BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + HotelProjectionService.BATCH_SIZE, ids.size()));
+            for (HotelPublicViewRepository.SummaryRow row : viewRepository.findSummariesByIdIn(batch)) {
+                hotels.put(row.getHotelId(), toEntry(row));
+            }
+        }
+
+        boolean summariesChanged = false;
+        for (Long hotelId : hotelIds) {
+            summariesChanged |= !Objects.equals(summaryOf(current.getHotels().get(hotelId)), summaryOf(hotels.get(hotelId)));
+        }
+
+        PublicCatalogSnapshot.Body hotelsBody = summariesChanged
+                ? PublicCatalogSnapshot.Body.of(joinArray(hotels))
+                : current.getHotelsBody();
+        snapshot.set(new PublicCatalogSnapshot(hotels, current.getCategories(), current.getCharacteristics(),
+                hotelsBody, current.getCategoriesBody(), current.getCharacteristicsBody()));
+    }
+
+    /*
+     * Un cambio de categoría o característica también cambia el resumen de los
+     * hoteles que la usan, así que se recarga todo. Corre después de que
+     * HotelReadModelService reescribió esas filas.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        reload();
+    }
+
+    private PublicCatalogSnapshot build(
+            TreeMap<Long, PublicCatalogSnapshot.HotelEntry> hotels,
+            List<CategoryEntity> categories,
+            List<CharacteristicPublicResponse> characteristics
+    ) {
+        return new PublicCatalogSnapshot(
+                hotels,
+                categories,
+                characteristics,
+                PublicCatalogSnapshot.Body.of(joinArray(hotels)),
+                PublicCatalogSnapshot.Body.of(write(categories)),
+                PublicCatalogSnapshot.Body.of(write(characteristics))
+        );
+    }
+
+    private List<CategoryEntity> loadCategories() {
+        return categoryRepository.findAll();
+    }
+
+    private List<CharacteristicPublicResponse> loadCharacteristics() {
+        return characteristicRepository.findAll().stream()
+                .map(c -> new CharacteristicPublicResponse(
+                        c.getId(),
+                        c.getName(),
+                        c.getType() != null ? c.getType().name() : null
+                ))
+                .toList();
+    }
+
+    // Los resúmenes ya son JSON: alcanza con unirlos en un array
+    private byte[] joinArray(TreeMap<Long, PublicCatalogSnapshot.HotelEntry> hotels) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, hotels.size() * 512));
+        out.write('[');
+        boolean first = true;
+        for (PublicCatalogSnapshot.HotelEntry hotel : hotels.values()) {
+            if (!first) {
+                out.write(',');
+            }
+            out.writeBytes(hotel.getSummaryJson().getBytes(StandardCharsets.UTF_8));
+            first = false;
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private static String summaryOf(PublicCatalogSnapshot.HotelEntry entry) {
+        return entry == null ? null : entry.getSummaryJson();
+    }
+
+    private PublicCatalogSnapshot.HotelEntry toEntry(HotelPublicViewRepository.SummaryRow row) {
+        return new PublicCatalogSnapshot.HotelEntry(row.getHotelVersion(), row.getSummaryJson());
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar el catálogo público", ex);
+        }
+    }
+}
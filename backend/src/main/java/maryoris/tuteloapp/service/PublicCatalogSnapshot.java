@@ -0,0 +1,131 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.CharacteristicPublicResponse;
+import maryoris.tuteloapp.entity.CategoryEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Foto inmutable del catálogo público. Cada escritura del admin arma una
+ * nueva y PublicCatalogCache la publica de una sola vez, así que los lectores
+ * nunca ven un estado a medias ni necesitan sincronizarse.
+ * Además de los datos guarda los cuerpos HTTP ya codificados (JSON y JSON+gzip).
+ */
+public final class PublicCatalogSnapshot {
+
+    public static final PublicCatalogSnapshot EMPTY = new PublicCatalogSnapshot(
+            Collections.emptyNavigableMap(), List.of(), List.of(),
+            Body.of("[]".getBytes(StandardCharsets.UTF_8)), Body.of("[]".getBytes(StandardCharsets.UTF_8)), Body.of("[]".getBytes(StandardCharsets.UTF_8))
+    );
+
+    // id -> versión y JSON del resumen (los de hotel_public_view), ordenado por id
+    private final NavigableMap<Long, HotelEntry> hotels;
+    private final List<CategoryEntity> categories;
+    private final List<CharacteristicPublicResponse> characteristics;
+
+    private final Body hotelsBody;
+    private final Body categoriesBody;
+    private final Body characteristicsBody;
+
+    PublicCatalogSnapshot(
+            NavigableMap<Long, HotelEntry> hotels,
+            List<CategoryEntity> categories,
+            List<CharacteristicPublicResponse> characteristics,
+            Body hotelsBody,
+            Body categoriesBody,
+            Body characteristicsBody
+    ) {
+        this.hotels = Collections.unmodifiableNavigableMap(hotels);
+        this.categories = List.copyOf(categories);
+        this.characteristics = List.copyOf(characteristics);
+        this.hotelsBody = hotelsBody;
+        this.categoriesBody = categoriesBody;
+        this.characteristicsBody = characteristicsBody;
+    }
+
+    public NavigableMap<Long, HotelEntry> getHotels() { return hotels; }
+    public List<CategoryEntity> getCategories() { return categories; }
+    public List<CharacteristicPublicResponse> getCharacteristics() { return characteristics; }
+
+    public Body getHotelsBody() { return hotelsBody; }
+    public Body getCategoriesBody() { return categoriesBody; }
+    public Body getCharacteristicsBody() { return characteristicsBody; }
+
+    // Versión vigente de un hotel, o null si no está publicado
+    public Long getHotelVersion(Long hotelId) {
+        HotelEntry entry = hotels.get(hotelId);
+        return entry == null ? null : entry.getVersion();
+    }
+
+    public static final class HotelEntry {
+
+        private final long version;
+        private final String summaryJson;
+
+        public HotelEntry(long version, String summaryJson) {
+            this.version = version;
+            this.summaryJson = summaryJson;
+        }
+
+        public long getVersion() { return version; }
+        public String getSummaryJson() { return summaryJson; }
+    }
+
+    /*
+     * Cuerpo de respuesta listo para escribir en el socket.
+     * Los arrays no se exponen a nadie que pueda modificarlos: solo se
+     * entregan a la capa HTTP para copiarlos a la salida.
+     * etag es un hash del contenido: cambia si y solo si cambian los bytes,
+     * incluso cuando el cambio viene de otra entidad (renombrar una categoría
+     * cambia el listado de hoteles).
+     */
+    public static final class Body {
+
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+
+        private Body(byte[] json, byte[] gzip, String etag) {
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = etag;
+        }
+
+        static Body of(byte[] json) {
+            return new Body(json, gzip(json), hash(json));
+        }
+
+        public byte[] getJson() { return json; }
+        public byte[] getGzip() { return gzip; }
+        public String getEtag() { return etag; }
+
+        private static String hash(byte[] data) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+                return HexFormat.of().formatHex(digest, 0, 16);
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        private static byte[] gzip(byte[] data) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+                gz.write(data);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.AvailabilityResponse;
+import maryoris.tuteloapp.dto.ReservationRequest;
+import maryoris.tuteloapp.dto.ReservationResponse;
+import maryoris.tuteloapp.entity.ReservationEntity;
+import maryoris.tuteloapp.entity.UserEntity;
+import maryoris.tuteloapp.repository.HotelRepository;
+import maryoris.tuteloapp.repository.ReservationRepository;
+import maryoris.tuteloapp.repository.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/*
+ * Reservas de habitaciones.
+ * La disponibilidad se decide en RoomInventory (memoria, lock por franja de
+ * hoteles) y recién después se escribe la reserva en su propia transacción.
+ * La base solo recibe INSERTs de reservas: no hay una fila de inventario
+ * compartida que bloquear, así que las reservas del mismo hotel no se
+ * encolan detrás de un lock de la base.
+ * - Si el INSERT falla, se devuelven las habitaciones al inventario.
+ * - Al cancelar, primero se confirma el cambio de estado y después se
+ *   liberan las habitaciones: nunca se ofrece un lugar que la base todavía
+ *   considera ocupado.
+ */
+@Service
+public class ReservationService {
+
+    public static final int MAX_NIGHTS = 30;
+
+    private final ReservationRepository reservationRepository;
+    private final HotelRepository hotelRepository;
+    private final UserRepository userRepository;
+    private final RoomInventory inventory;
+    private final TransactionTemplate tx;
+
+    public ReservationService(
+            ReservationRepository reservationRepository,
+            HotelRepository hotelRepository,
+            UserRepository userRepository,
+            RoomInventory inventory,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.reservationRepository = reservationRepository;
+        this.hotelRepository = hotelRepository;
+        this.userRepository = userRepository;
+        this.inventory = inventory;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    public ReservationResponse create(String email, ReservationRequest req) {
+        UserEntity user = findUser(email);
+        validateDates(req.getCheckIn(), req.getCheckOut());
+        inventory.requireReady();
+
+        if (!inventory.contains(req.getHotelId())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe");
+        }
+        if (req.getRooms() > inventory.capacity(req.getHotelId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El hotel no tiene tantas habitaciones");
+        }
+
+        if (!inventory.tryReserve(req.getHotelId(), req.getCheckIn(), req.getCheckOut(), req.getRooms())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "No hay disponibilidad para esas fechas");
+        }
+
+        try {
+            ReservationEntity saved = tx.execute(status -> {
+                ReservationEntity r = new ReservationEntity();
+                r.setHotel(hotelRepository.getReferenceById(req.getHotelId()));
+                r.setUser(userRepository.getReferenceById(user.getId()));
+                r.setCheckIn(req.getCheckIn());
+                r.setCheckOut(req.getCheckOut());
+                r.setRooms(req.getRooms());
+                return reservationRepository.save(r);
+            });
+            return toResponse(saved, req.getHotelId());
+
+        } catch (RuntimeException ex) {
+            inventory.release(req.getHotelId(), req.getCheckIn(), req.getCheckOut(), req.getRooms());
+
+            if (ex instanceof DataIntegrityViolationException) {
+                // el hotel se borró entre la verificación y el INSERT
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe");
+            }
+            throw ex;
+        }
+    }
+
+    public ReservationResponse cancel(String email, boolean admin, Long reservationId) {
+        UserEntity user = findUser(email);
+        // Antes de cargar el inventario no habría de dónde liberar las habitaciones
+        inventory.requireReady();
+
+        ReservationEntity cancelled;
+        try {
+            cancelled = tx.execute(status -> {
+                ReservationEntity r = reservationRepository.findById(reservationId)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reserva no existe"));
+
+                if (!admin && !r.getUser().getId().equals(user.getId())) {
+                    throw new ResponseStatusException(HttpStatus.FORBIDDEN, "La reserva pertenece a otro usuario");
+                }
+                if (r.getStatus() == ReservationEntity.Status.CANCELLED) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "La reserva ya está cancelada");
+                }
+
+                r.setStatus(ReservationEntity.Status.CANCELLED);
+                r.setCancelledAt(LocalDateTime.now());
+                return reservationRepository.saveAndFlush(r);
+            });
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            // otra cancelación simultánea ganó: ella libera las habitaciones
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "La reserva ya está cancelada");
+        }
+
+        Long hotelId = cancelled.getHotel().getId();
+        inventory.release(hotelId, cancelled.getCheckIn(), cancelled.getCheckOut(), cancelled.getRooms());
+        return toResponse(cancelled, hotelId);
+    }
+
+    public List<ReservationResponse> listMine(String email) {
+        UserEntity user = findUser(email);
+
+        return reservationRepository.findRowsByUserId(user.getId()).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    public AvailabilityResponse availability(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        validateDates(checkIn, checkOut);
+        inventory.requireReady();
+        if (!inventory.contains(hotelId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe");
+        }
+
+        return new AvailabilityResponse(hotelId, checkIn, checkOut, inventory.available(hotelId, checkIn, checkOut));
+    }
+
+    // También la usa la búsqueda por disponibilidad (HotelService)
+    static void validateDates(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "checkIn y checkOut son obligatorios");
+        }
+
+        LocalDate today = LocalDate.now();
+        if (checkIn.isBefore(today)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "checkIn no puede ser anterior a hoy");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "checkOut debe ser posterior a checkIn");
+        }
+        if (checkOut.isAfter(today.plusDays(RoomInventory.WINDOW_DAYS))) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Solo se puede reservar hasta " + RoomInventory.WINDOW_DAYS + " días adelante"
+            );
+        }
+        if (ChronoUnit.DAYS.between(checkIn, checkOut) > MAX_NIGHTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Máximo " + MAX_NIGHTS + " noches por reserva");
+        }
+    }
+
+    private UserEntity findUser(String email) {
+        return userRepository.findByEmailIgnoreCase(email)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Usuario autenticado no encontrado en base de datos"
+                ));
+    }
+
+    private ReservationResponse toResponse(ReservationEntity r, Long hotelId) {
+        ReservationResponse dto = new ReservationResponse();
+        dto.setId(r.getId());
+        dto.setHotelId(hotelId);
+        dto.setCheckIn(r.getCheckIn());
+        dto.setCheckOut(r.getCheckOut());
+        dto.setNights((int) ChronoUnit.DAYS.between(r.getCheckIn(), r.getCheckOut()));
+        dto.setRooms(r.getRooms());
+        dto.setStatus(r.getStatus().name());
+        dto.setCreatedAt(r.getCreatedAt());
+        return dto;
+    }
+
+    private ReservationResponse toResponse(ReservationRepository.ReservationRow row) {
+        ReservationResponse dto = new ReservationResponse();
+        dto.setId(row.getId());
+        dto.setHotelId(row.getHotelId());
+        dto.setHotelName(row.getHotelName());
+        dto.setHotelCity(row.getHotelCity());
+        dto.setCheckIn(row.getCheckIn());
+        dto.setCheckOut(row.getCheckOut());
+        dto.setNights((int) ChronoUnit.DAYS.between(row.getCheckIn(), row.getCheckOut()));
+        dto.setRooms(row.getRooms());
+        dto.setStatus(row.getStatus().name());
+        dto.setCreatedAt(row.getCreatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,162 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.ReviewPageResponse;
+import maryoris.tuteloapp.dto.ReviewRequest;
+import maryoris.tuteloapp.dto.ReviewResponse;
+import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.entity.ReviewEntity;
+import maryoris.tuteloapp.entity.UserEntity;
+import maryoris.tuteloapp.repository.HotelRepository;
+import maryoris.tuteloapp.repository.ReviewRepository;
+import maryoris.tuteloapp.repository.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/*
+ * Reseñas de hoteles.
+ * El promedio y la cantidad de cada hotel son agregados que se mantienen al
+ * escribir: crear o borrar una reseña suma o resta su puntaje en la fila del
+ * hotel con un UPDATE atómico, en la misma transacción (HotelService.applyReviewScore).
+ * Mostrar el puntaje en el listado no cuesta ningún AVG() ni COUNT().
+ */
+@Service
+public class ReviewService {
+
+    private static final int DEFAULT_PAGE_LIMIT = 20;
+    private static final int MAX_PAGE_LIMIT = 100;
+
+    private final ReviewRepository reviewRepository;
+    private final HotelRepository hotelRepository;
+    private final UserRepository userRepository;
+    private final HotelService hotelService;
+
+    public ReviewService(
+            ReviewRepository reviewRepository,
+            HotelRepository hotelRepository,
+            UserRepository userRepository,
+            HotelService hotelService
+    ) {
+        this.reviewRepository = reviewRepository;
+        this.hotelRepository = hotelRepository;
+        this.userRepository = userRepository;
+        this.hotelService = hotelService;
+    }
+
+    @Transactional
+    public ReviewResponse create(String email, Long hotelId, ReviewRequest req) {
+        UserEntity user = findUser(email);
+        if (!hotelRepository.existsById(hotelId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe");
+        }
+        if (reviewRepository.existsByHotelIdAndUserId(hotelId, user.getId())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ya dejaste una reseña para este hotel");
+        }
+
+        ReviewEntity review = new ReviewEntity();
+        review.setHotel(hotelRepository.getReferenceById(hotelId));
+        review.setUser(user);
+        review.setScore(req.getScore());
+        review.setText(req.getText() == null || req.getText().isBlank() ? null : req.getText().trim());
+
+        try {
+            review = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException ex) {
+            // Dos envíos simultáneos del mismo usuario: la restricción única deja pasar uno
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ya dejaste una reseña para este hotel");
+        }
+
+        hotelService.applyReviewScore(hotelId, 1, review.getScore());
+        return toResponse(review, user);
+    }
+
+    // El autor o un admin pueden borrarla
+    @Transactional
+    public void delete(String email, boolean admin, Long hotelId, Long reviewId) {
+        UserEntity user = findUser(email);
+
+        ReviewEntity review = reviewRepository.findById(reviewId)
+                .filter(r -> r.getHotel().getId().equals(hotelId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reseña no existe"));
+        if (!admin && !review.getUser().getId().equals(user.getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "La reseña pertenece a otro usuario");
+        }
+
+        int score = review.getScore();
+        if (reviewRepository.deleteReview(reviewId) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reseña no existe");
+        }
+        hotelService.applyReviewScore(hotelId, -1, -score);
+    }
+
+    @Transactional(readOnly = true)
+    public ReviewPageResponse list(Long hotelId, String after, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_LIMIT : limit;
+        if (size < 1 || size > MAX_PAGE_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit debe estar entre 1 y " + MAX_PAGE_LIMIT);
+        }
+
+        HotelEntity hotel = hotelRepository.findById(hotelId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Hotel no existe"));
+
+        long beforeId = after == null || after.isBlank() ? Long.MAX_VALUE : decodeCursor(after);
+        List<ReviewRepository.ReviewRow> rows = reviewRepository.findPageByHotelId(
+                hotelId, beforeId, PageRequest.of(0, size + 1));
+
+        boolean hasMore = rows.size() > size;
+        List<ReviewRepository.ReviewRow> page = hasMore ? rows.subList(0, size) : rows;
+
+        List<ReviewResponse> items = page.stream()
+                .map(r -> new ReviewResponse(
+                        r.getId(), r.getHotelId(), author(r.getFirstName(), r.getLastName()),
+                        r.getScore(), r.getText(), r.getCreatedAt()))
+                .toList();
+
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1).getId()) : null;
+        return new ReviewPageResponse(hotel.getRating(), hotel.getReviewCount(), items, nextCursor);
+    }
+
+    private UserEntity findUser(String email) {
+        return userRepository.findByEmailIgnoreCase(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuario no encontrado"));
+    }
+
+    private static ReviewResponse toResponse(ReviewEntity review, UserEntity user) {
+        return new ReviewResponse(
+                review.getId(),
+                review.getHotel().getId(),
+                author(user.getFirstName(), user.getLastName()),
+                review.getScore(),
+                review.getText(),
+                review.getCreatedAt()
+        );
+    }
+
+    private static String author(String firstName, String lastName) {
+        if (lastName == null || lastName.isBlank()) {
+            return firstName;
+        }
+        return firstName + " " + lastName.trim().charAt(0) + ".";
+    }
+
+    private static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            return Long.parseLong(raw);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+}
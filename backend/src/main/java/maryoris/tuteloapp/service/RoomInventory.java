@@ -0,0 +1,335 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Inventario de habitaciones por hotel y por noche, en memoria.
+ * - Cada hotel tiene un contador atómico por noche (habitaciones ocupadas)
+ *   en un arreglo circular de RING posiciones indexado por epochDay; cada
+ *   posición recuerda a qué día corresponde y se pone en cero al reutilizarse.
+ * - Reservar varias noches es "verificar todas y sumar en todas": eso se hace
+ *   con el lock de la franja (stripe) del hotel, así dos reservas del mismo
+ *   hotel no se pisan y las de hoteles distintos casi nunca esperan.
+ * - Las lecturas (disponibilidad) no toman lock.
+ * - Además se mantiene, por noche, un BitSet con los hoteles completos
+ *   (indexado por id de hotel, como HotelSearchIndex). Buscar hoteles con
+ *   lugar del 3 al 7 es tomar los hoteles conocidos y restar los completos
+ *   de cada noche: unas pocas operaciones sobre palabras de 64 bits por
+ *   noche, sin leer la tabla de reservas.
+ * La base sigue siendo la fuente de verdad: ReservationService guarda cada
+ * reserva antes de confirmarla y al arrancar el inventario se rearma con las
+ * reservas vigentes; hasta que termina, reservar y consultar disponibilidad
+ * responden 503. Supone una sola instancia de la aplicación, igual que el
+ * resto de los índices en memoria.
+ */
+@Component
+public class RoomInventory implements HotelIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomInventory.class);
+
+    // Se puede reservar desde hoy hasta WINDOW_DAYS días adelante
+    public static final int WINDOW_DAYS = 365;
+
+    static final int RING = 512;
+    private static final int STRIPES = 64;
+    private static final int EMPTY_DAY = Integer.MIN_VALUE;
+
+    private final ReservationRepository reservationRepository;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    // Se reemplaza entero en rebuild; los cambios por hotel, con el lock de su franja
+    private volatile ConcurrentHashMap<Long, Nights> hotels = new ConcurrentHashMap<>();
+    // false hasta el primer rebuild: antes no se sabe qué está ocupado
+    private volatile boolean ready;
+
+    // Hoteles completos por noche: anillo de RING BitSets, igual que los contadores
+    private final ReentrantReadWriteLock bitmapLock = new ReentrantReadWriteLock();
+    private final BitSet[] soldOut = new BitSet[RING];
+    private final int[] soldOutDay = new int[RING];
+    private final BitSet known = new BitSet();
+
+    public RoomInventory(ReservationRepository reservationRepository) {
+        this.reservationRepository = reservationRepository;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        for (int i = 0; i < RING; i++) {
+            soldOut[i] = new BitSet();
+            soldOutDay[i] = EMPTY_DAY;
+        }
+    }
+
+    /*
+     * Se arma el inventario nuevo aparte y se publica de una vez. Todo corre
+     * con las franjas de todos los hoteles tomadas: ninguna reserva puede
+     * sumarse entre la lectura de la base y el reemplazo (se contaría dos
+     * veces, o no quedaría marcada en los hoteles completos).
+     */
+    @Override
+    public void rebuild(Collection<HotelSnapshot> snapshots) {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+        try {
+            ConcurrentHashMap<Long, Nights> fresh = new ConcurrentHashMap<>();
+            for (HotelSnapshot h : snapshots) {
+                fresh.put(h.getId(), new Nights(h.getRooms()));
+            }
+
+            LocalDate today = LocalDate.now();
+            Set<Long> booked = new HashSet<>();
+            int loaded = 0;
+            for (ReservationRepository.NightsRow row : reservationRepository.findActiveNights(today)) {
+                Nights nights = fresh.get(row.getHotelId());
+                if (nights == null) continue;
+
+                long from = Math.max(row.getCheckIn().toEpochDay(), today.toEpochDay());
+                for (long day = from; day < row.getCheckOut().toEpochDay(); day++) {
+                    nights.add((int) day, row.getRooms());
+                }
+                booked.add(row.getHotelId());
+                loaded++;
+            }
+
+            bitmapLock.writeLock().lock();
+            try {
+                hotels = fresh;
+                known.clear();
+                for (int i = 0; i < RING; i++) {
+                    soldOut[i].clear();
+                    soldOutDay[i] = EMPTY_DAY;
+                }
+                for (Long hotelId : fresh.keySet()) {
+                    known.set(Math.toIntExact(hotelId));
+                }
+                // Un hotel sin reservas no está completo ninguna noche
+                for (Long hotelId : booked) {
+                    markWindow(hotelId, fresh.get(hotelId), today);
+                }
+            } finally {
+                bitmapLock.writeLock().unlock();
+            }
+            ready = true;
+
+            log.info("Inventario de habitaciones: {} hoteles, {} reservas vigentes", fresh.size(), loaded);
+        } finally {
+            for (ReentrantLock stripe : stripes) {
+                stripe.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void onHotelChanged(HotelChangedEvent event) {
+        Long hotelId = event.getHotelId();
+        ReentrantLock lock = stripe(hotelId);
+        lock.lock();
+        bitmapLock.writeLock().lock();
+        try {
+            if (event.isDeleted()) {
+                hotels.remove(hotelId);
+                known.clear(Math.toIntExact(hotelId));
+                for (BitSet day : soldOut) {
+                    day.clear(Math.toIntExact(hotelId));
+                }
+                return;
+            }
+
+            // Cambiar la cantidad de habitaciones no toca lo ya reservado,
+            // pero sí qué noches quedan completas
+            Nights nights = hotels.computeIfAbsent(hotelId, id -> new Nights(event.getSnapshot().getRooms()));
+            nights.capacity = event.getSnapshot().getRooms();
+            known.set(Math.toIntExact(hotelId));
+            markWindow(hotelId, nights, LocalDate.now());
+        } finally {
+            bitmapLock.writeLock().unlock();
+            lock.unlock();
+        }
+    }
+
+    /*
+     * El inventario se arma después de que el servidor ya acepta requests;
+     * hasta entonces reservar o consultar disponibilidad responde 503 en
+     * lugar de "Hotel no existe".
+     */
+    public void requireReady() {
+        if (!ready) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "El inventario de habitaciones se está cargando, reintente en unos segundos");
+        }
+    }
+
+    public boolean contains(Long hotelId) {
+        return hotels.containsKey(hotelId);
+    }
+
+    public int capacity(Long hotelId) {
+        Nights nights = hotels.get(hotelId);
+        return nights == null ? 0 : nights.capacity;
+    }
+
+    /*
+     * Ocupa rooms habitaciones en cada noche de [checkIn, checkOut) si todas
+     * tienen lugar. Devuelve false sin modificar nada si alguna está completa.
+     */
+    public boolean tryReserve(Long hotelId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        int from = (int) checkIn.toEpochDay();
+        int to = (int) checkOut.toEpochDay();
+
+        ReentrantLock lock = stripe(hotelId);
+        lock.lock();
+        try {
+            // Se busca con el lock tomado: rebuild puede haber reemplazado el mapa mientras se esperaba
+            Nights nights = hotels.get(hotelId);
+            if (nights == null) {
+                return false;
+            }
+            for (int day = from; day < to; day++) {
+                if (nights.booked(day) + rooms > nights.capacity) {
+                    return false;
+                }
+            }
+            for (int day = from; day < to; day++) {
+                nights.add(day, rooms);
+            }
+            markRange(hotelId, nights, from, to);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Devuelve las habitaciones de una reserva cancelada (o que no se pudo guardar)
+    public void release(Long hotelId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        int from = (int) Math.max(checkIn.toEpochDay(), LocalDate.now().toEpochDay());
+        int to = (int) checkOut.toEpochDay();
+
+        ReentrantLock lock = stripe(hotelId);
+        lock.lock();
+        try {
+            Nights nights = hotels.get(hotelId);
+            if (nights == null) {
+                return;
+            }
+            for (int day = from; day < to; day++) {
+                nights.add(day, -rooms);
+            }
+            markRange(hotelId, nights, from, to);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Habitaciones libres en todas las noches de [checkIn, checkOut)
+    public int available(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        Nights nights = hotels.get(hotelId);
+        if (nights == null) {
+            return 0;
+        }
+
+        int free = nights.capacity;
+        for (int day = (int) checkIn.toEpochDay(); day < checkOut.toEpochDay(); day++) {
+            free = Math.min(free, nights.capacity - nights.booked(day));
+        }
+        return Math.max(0, free);
+    }
+
+    /*
+     * Hoteles con al menos una habitación libre en todas las noches de
+     * [checkIn, checkOut). El BitSet es nuevo: quien llama puede modificarlo.
+     */
+    public BitSet availableHotels(LocalDate checkIn, LocalDate checkOut) {
+        bitmapLock.readLock().lock();
+        try {
+            BitSet result = (BitSet) known.clone();
+            for (int day = (int) checkIn.toEpochDay(); day < checkOut.toEpochDay(); day++) {
+                int slot = Math.floorMod(day, RING);
+                if (soldOutDay[slot] == day) {
+                    result.andNot(soldOut[slot]);
+                }
+            }
+            return result;
+        } finally {
+            bitmapLock.readLock().unlock();
+        }
+    }
+
+    // Se llama con el lock de la franja del hotel tomado
+    private void markRange(Long hotelId, Nights nights, int from, int to) {
+        bitmapLock.writeLock().lock();
+        try {
+            for (int day = from; day < to; day++) {
+                markDay(hotelId, nights, day);
+            }
+        } finally {
+            bitmapLock.writeLock().unlock();
+        }
+    }
+
+    // Se llama con bitmapLock tomado para escritura
+    private void markWindow(Long hotelId, Nights nights, LocalDate today) {
+        int from = (int) today.toEpochDay();
+        for (int day = from; day < from + WINDOW_DAYS; day++) {
+            markDay(hotelId, nights, day);
+        }
+    }
+
+    private void markDay(Long hotelId, Nights nights, int day) {
+        int slot = Math.floorMod(day, RING);
+        if (soldOutDay[slot] != day) {
+            // la posición era de una noche ya pasada
+            soldOut[slot].clear();
+            soldOutDay[slot] = day;
+        }
+        soldOut[slot].set(Math.toIntExact(hotelId), nights.booked(day) >= nights.capacity);
+    }
+
+    private ReentrantLock stripe(Long hotelId) {
+        return stripes[Math.floorMod(Long.hashCode(hotelId), STRIPES)];
+    }
+
+    private static final class Nights {
+        private volatile int capacity;
+        private final AtomicIntegerArray booked = new AtomicIntegerArray(RING);
+        // Día (epochDay) al que corresponde cada posición del anillo
+        private final AtomicIntegerArray slotDay = new AtomicIntegerArray(RING);
+
+        Nights(int capacity) {
+            this.capacity = capacity;
+            for (int i = 0; i < RING; i++) {
+                slotDay.set(i, EMPTY_DAY);
+            }
+        }
+
+        int booked(int day) {
+            int slot = Math.floorMod(day, RING);
+            return slotDay.get(slot) == day ? booked.get(slot) : 0;
+        }
+
+        // Se llama con el lock de la franja tomado (o durante rebuild)
+        void add(int day, int rooms) {
+            int slot = Math.floorMod(day, RING);
+            if (slotDay.get(slot) != day) {
+                // La posición era de un día ya pasado: se reinicia antes de publicarla
+                booked.set(slot, 0);
+                slotDay.set(slot, day);
+            }
+            booked.set(slot, Math.max(0, booked.get(slot) + rooms));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package maryoris.tuteloapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Analizador de texto para el índice full-text:
+ * normaliza (minúsculas, sin acentos), separa en palabras, descarta stopwords
+ * y aplica un stemming liviano de plurales/género ("habitaciones" -> "habitacion",
+ * "piletas" -> "pilet", "luces" -> "luz").
+ */
+public final class SpanishAnalyzer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "al", "algo", "algunas", "algunos", "ante", "antes", "como", "con", "contra",
+            "cual", "cuando", "de", "del", "desde", "donde", "durante", "e", "el", "ella",
+            "ellos", "en", "entre", "era", "es", "esa", "ese", "eso", "esta", "estas",
+            "este", "esto", "estos", "fue", "ha", "hay", "hasta", "la", "las", "le",
+            "les", "lo", "los", "mas", "me", "mi", "muy", "nada", "ni", "no",
+            "nos", "o", "otra", "otro", "para", "pero", "poco", "por", "que", "se",
+            "sin", "sobre", "son", "su", "sus", "tambien", "todo", "todos", "u", "un",
+            "una", "uno", "unos", "y", "ya"
+    );
+
+    private SpanishAnalyzer() {}
+
+    public static List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        String folded = TextNormalizer.fold(text);
+
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letterOrDigit = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                String word = folded.substring(start, i);
+                if (!STOPWORDS.contains(word)) {
+                    tokens.add(stem(word));
+                }
+                start = -1;
+            }
+        }
+
+        return tokens;
+    }
+
+    // Recibe la palabra ya normalizada (sin acentos, en minúsculas)
+    static String stem(String word) {
+        int len = word.length();
+        if (len < 5) {
+            return word;
+        }
+
+        char last = word.charAt(len - 1);
+        if (last == 'o' || last == 'a' || last == 'e') {
+            return word.substring(0, len - 1);
+        }
+
+        if (last == 's') {
+            char prev = word.charAt(len - 2);
+            if (word.endsWith("eses")) {
+                return word.substring(0, len - 2);
+            }
+            if (word.endsWith("ces")) {
+                return word.substring(0, len - 3) + "z";
+            }
+            if (prev == 'o' || prev == 'a' || prev == 'e') {
+                return word.substring(0, len - 2);
+            }
+        }
+
+        return word;
+    }
+}
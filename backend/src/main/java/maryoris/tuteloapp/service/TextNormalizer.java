@@ -0,0 +1,27 @@
+package maryoris.tuteloapp.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/*
+ * Normalización de texto compartida por los índices en memoria:
+ * "  San Carlos de BARILOCHE " y "san carlos de bariloche" quedan iguales,
+ * igual que "Córdoba" y "cordoba".
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private TextNormalizer() {}
+
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String plain = DIACRITICS.matcher(decomposed).replaceAll("");
+        return SPACES.matcher(plain.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,176 @@
+package maryoris.tuteloapp.service;
+
+import java.util.*;
+
+/*
+ * Índice de trigramas para búsqueda tolerante a errores de tipeo.
+ *
+ * Los términos se guardan ya normalizados. Si la distancia de edición es <= k,
+ * la consulta comparte al menos (trigramas - 3k) trigramas con el término.
+ * Por eso alcanza con tomar candidatos de los (3k + 1) trigramas con menos
+ * términos (los muy comunes como "hot" de "hotel" nunca se recorren),
+ * contar en cuántos trigramas aparece cada candidato y verificar los que
+ * llegan al mínimo con Levenshtein acotado (corta apenas la fila supera k).
+ *
+ * Palabras presentes en demasiados valores (por ejemplo "hotel") se ignoran:
+ * no sirven para corregir un error de tipeo.
+ *
+ * La distancia es "de prefijo": "barilh" contra "bariloche" vale 1, para que
+ * funcione mientras el usuario todavía está escribiendo.
+ *
+ * No es thread-safe: lo protege el lock del índice que lo contiene.
+ */
+final class TrigramIndex<T> {
+
+    private static final int MAX_VALUES_PER_TERM = 200;
+
+    private final Map<String, Term<T>> terms = new HashMap<>();
+    private final Map<String, Set<Term<T>>> grams = new HashMap<>();
+
+    void add(String term, T value) {
+        if (term.isEmpty()) return;
+
+        Term<T> t = terms.get(term);
+        if (t == null) {
+            t = new Term<>(term);
+            terms.put(term, t);
+            for (String gram : termGrams(term)) {
+                grams.computeIfAbsent(gram, k -> new HashSet<>()).add(t);
+            }
+        }
+        t.values.add(value);
+    }
+
+    void remove(String term, T value) {
+        Term<T> t = terms.get(term);
+        if (t == null) return;
+
+        t.values.remove(value);
+        if (!t.values.isEmpty()) return;
+
+        terms.remove(term);
+        for (String gram : termGrams(term)) {
+            Set<Term<T>> postings = grams.get(gram);
+            if (postings == null) continue;
+            postings.remove(t);
+            if (postings.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+    }
+
+    void clear() {
+        terms.clear();
+        grams.clear();
+    }
+
+    /*
+     * Valores cuyo término está a distancia (de prefijo) <= maxDistance de la
+     * consulta, con la menor distancia encontrada para cada valor.
+     */
+    Map<T, Integer> search(String query, int maxDistance) {
+        List<Set<Term<T>>> postings = new ArrayList<>();
+        for (String gram : queryGrams(query)) {
+            postings.add(grams.getOrDefault(gram, Set.of()));
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        int minShared = Math.max(1, postings.size() - 3 * maxDistance);
+        int probe = postings.size() - minShared + 1;
+
+        Set<Term<T>> candidates = new HashSet<>();
+        for (int i = 0; i < probe; i++) {
+            candidates.addAll(postings.get(i));
+        }
+
+        Map<T, Integer> matches = new HashMap<>();
+        for (Term<T> t : candidates) {
+            if (t.values.size() > MAX_VALUES_PER_TERM) continue;
+
+            int shared = 0;
+            for (Set<Term<T>> p : postings) {
+                if (p.contains(t)) shared++;
+            }
+            if (shared < minShared) continue;
+
+            int distance = prefixDistance(query, t.text, maxDistance);
+            if (distance > maxDistance) continue;
+
+            for (T value : t.values) {
+                matches.merge(value, distance, Math::min);
+            }
+        }
+        return matches;
+    }
+
+    // Trigramas del término con marcas de inicio y fin: "$ba", "bar", ..., "he$"
+    private static List<String> termGrams(String term) {
+        return grams("$" + term + "$");
+    }
+
+    // La consulta puede estar incompleta: solo se marca el inicio
+    private static List<String> queryGrams(String query) {
+        return grams("$" + query);
+    }
+
+    private static List<String> grams(String padded) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            String gram = padded.substring(i, i + 3);
+            if (!out.contains(gram)) {
+                out.add(gram);
+            }
+        }
+        return out;
+    }
+
+    /*
+     * Menor distancia de Levenshtein entre query y algún prefijo de term.
+     * Devuelve maxDistance + 1 apenas se sabe que no puede quedar <= maxDistance.
+     */
+    static int prefixDistance(String query, String term, int maxDistance) {
+        int m = query.length();
+        int n = term.length();
+        int[] prev = new int[n + 1];
+        int[] curr = new int[n + 1];
+
+        for (int j = 0; j <= n; j++) {
+            prev[j] = j;
+        }
+
+        for (int i = 1; i <= m; i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            char qc = query.charAt(i - 1);
+
+            for (int j = 1; j <= n; j++) {
+                int cost = qc == term.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+
+        int best = Integer.MAX_VALUE;
+        for (int j = 0; j <= n; j++) {
+            best = Math.min(best, prev[j]);
+        }
+        return best;
+    }
+
+    private static final class Term<T> {
+        private final String text;
+        private final Set<T> values = new HashSet<>(2);
+
+        Term(String text) {
+            this.text = text;
+        }
+    }
+}
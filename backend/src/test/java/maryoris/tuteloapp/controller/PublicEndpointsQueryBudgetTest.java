@@ -0,0 +1,394 @@
+package maryoris.tuteloapp.controller;
+
+import maryoris.tuteloapp.entity.CategoryEntity;
+import maryoris.tuteloapp.entity.CharacteristicEntity;
+import maryoris.tuteloapp.entity.HotelCharacteristicEntity;
+import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.entity.ReviewEntity;
+import maryoris.tuteloapp.entity.UserEntity;
+import maryoris.tuteloapp.repository.CategoryRepository;
+import maryoris.tuteloapp.repository.CharacteristicRepository;
+import maryoris.tuteloapp.repository.HotelRepository;
+import maryoris.tuteloapp.repository.ReviewRepository;
+import maryoris.tuteloapp.repository.UserRepository;
+import maryoris.tuteloapp.dto.ReservationRequest;
+import maryoris.tuteloapp.service.FavoriteService;
+import maryoris.tuteloapp.service.HotelIndexCoordinator;
+import maryoris.tuteloapp.service.HotelReadModelService;
+import maryoris.tuteloapp.service.PublicCatalogCache;
+import maryoris.tuteloapp.service.ReservationService;
+import maryoris.tuteloapp.support.SqlStatementBudget;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * Presupuesto de sentencias SQL con un catálogo de 1.000 hoteles: endpoints
+ * públicos, los del usuario autenticado (perfil, favoritos, reservas) y las
+ * escrituras de usuario y de admin. Si un cambio vuelve a introducir un N+1,
+ * el endpoint pasa de unas pocas sentencias a cientos y este test falla.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "logging.level.org.springframework.web=INFO",
+        "logging.level.org.springframework.security=INFO"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PublicEndpointsQueryBudgetTest {
+
+    private static final int HOTELS = 1_000;
+    private static final int REVIEWS = 30;
+    private static final int MAX_STATEMENTS = 3;
+    private static final int MAX_WRITE_STATEMENTS = 15;
+    // Los renombres reescriben cientos de hoteles, de a lotes de 500
+    private static final int MAX_RENAME_STATEMENTS = 60;
+    private static final String GUEST_EMAIL = "huesped@tutelo.test";
+    private static final String GUEST_PASSWORD = "huesped-123";
+    private static final String ADMIN_EMAIL = "admin@tutelo.test";
+    private static final String ADMIN_PASSWORD = "admin-123";
+    private static final int FAVORITES = 20;
+    private static final int RESERVATIONS = 10;
+
+    @DynamicPropertySource
+    static void indexDir(DynamicPropertyRegistry registry) throws IOException {
+        String dir = Files.createTempDirectory("tutelo-text-index").toString();
+        registry.add("tutelo.search.index-dir", () -> dir);
+    }
+
+    @Autowired private MockMvc mvc;
+    @Autowired private HotelRepository hotelRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private CharacteristicRepository characteristicRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ReviewRepository reviewRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private HotelReadModelService readModel;
+    @Autowired private HotelIndexCoordinator indexCoordinator;
+    @Autowired private PublicCatalogCache catalogCache;
+    @Autowired private FavoriteService favoriteService;
+    @Autowired private ReservationService reservationService;
+
+    private Long firstHotelId;
+    private Long categoryId;
+    private Long roomsId;
+    private Long wifiId;
+    private Long lastHotelId;
+
+    @BeforeAll
+    void seedCatalog() {
+        List<CategoryEntity> categories = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CategoryEntity c = new CategoryEntity();
+            c.setName("Categoría " + i);
+            c.setSlug("categoria-" + i);
+            c.setDescription("Descripción " + i);
+            c.setImageUrl("/uploads/categoria-" + i + ".jpg");
+            categories.add(c);
+        }
+        categories = categoryRepository.saveAll(categories);
+
+        CharacteristicEntity wifi = characteristicRepository.save(
+                new CharacteristicEntity("Wifi", "wifi", CharacteristicEntity.Type.BOOLEAN));
+        CharacteristicEntity rooms = characteristicRepository.save(
+                new CharacteristicEntity("Habitaciones", "bed", CharacteristicEntity.Type.NUMBER));
+
+        String[] cities = {"Mendoza", "Córdoba", "Salta", "Bariloche", "Rosario"};
+        List<HotelEntity> hotels = new ArrayList<>();
+        for (int i = 0; i < HOTELS; i++) {
+            HotelEntity h = new HotelEntity();
+            h.setName("Hotel " + i);
+            h.setCity(cities[i % cities.length]);
+            h.setAddress("Calle " + i);
+            h.setLatitude(-32.89 + (i % 100) * 0.001);
+            h.setLongitude(-68.84 + (i / 100) * 0.001);
+            h.setBaseRate(100 + i % 50);
+            h.setDescription("Hotel de prueba número " + i + " con vista a la montaña");
+            h.setCategories(new HashSet<>(Set.of(categories.get(i % categories.size()))));
+            h.setImageUrls(new ArrayList<>(List.of("/uploads/h" + i + "-1.jpg", "/uploads/h" + i + "-2.jpg")));
+
+            HotelCharacteristicEntity hasWifi = new HotelCharacteristicEntity();
+            hasWifi.setHotel(h);
+            hasWifi.setCharacteristic(wifi);
+            hasWifi.setBoolValue(i % 2 == 0);
+
+            HotelCharacteristicEntity roomCount = new HotelCharacteristicEntity();
+            roomCount.setHotel(h);
+            roomCount.setCharacteristic(rooms);
+            roomCount.setNumValue(10 + i % 50);
+
+            h.setCharacteristics(new ArrayList<>(List.of(hasWifi, roomCount)));
+            hotels.add(h);
+        }
+        hotels = hotelRepository.saveAll(hotels);
+
+        UserEntity guest = new UserEntity();
+        guest.setFirstName("Huésped");
+        guest.setLastName("Prueba");
+        guest.setEmail(GUEST_EMAIL);
+        guest.setPassword(passwordEncoder.encode(GUEST_PASSWORD));
+        userRepository.save(guest);
+
+        UserEntity admin = new UserEntity();
+        admin.setFirstName("Admin");
+        admin.setLastName("Prueba");
+        admin.setEmail(ADMIN_EMAIL);
+        admin.setPassword(passwordEncoder.encode(ADMIN_PASSWORD));
+        admin.setAdmin(true);
+        userRepository.save(admin);
+
+        // Una reseña por autor: el listado no debe buscar a cada autor por separado
+        List<ReviewEntity> reviews = new ArrayList<>();
+        for (int i = 0; i < REVIEWS; i++) {
+            UserEntity author = new UserEntity();
+            author.setFirstName("Autor " + i);
+            author.setLastName("Prueba");
+            author.setEmail("autor" + i + "@tutelo.test");
+            author.setPassword(passwordEncoder.encode("autor-123"));
+
+            ReviewEntity review = new ReviewEntity();
+            review.setHotel(hotels.get(0));
+            review.setUser(userRepository.save(author));
+            review.setScore(1 + i % 5);
+            review.setText("Reseña " + i);
+            reviews.add(review);
+        }
+        reviewRepository.saveAll(reviews);
+
+        firstHotelId = hotels.get(0).getId();
+        categoryId = categories.get(0).getId();
+        roomsId = rooms.getId();
+        wifiId = wifi.getId();
+        lastHotelId = hotels.get(hotels.size() - 1).getId();
+
+        // Los datos se cargaron por fuera de HotelService: se sincroniza lo derivado
+        readModel.backfill();
+        indexCoordinator.rebuildAll();
+        catalogCache.reload();
+
+        // Listas del usuario con varios elementos: un N+1 se notaría
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        for (int i = 0; i < FAVORITES; i++) {
+            favoriteService.add(GUEST_EMAIL, hotels.get(i).getId());
+        }
+        for (int i = 0; i < RESERVATIONS; i++) {
+            ReservationRequest req = new ReservationRequest();
+            req.setHotelId(hotels.get(i).getId());
+            req.setCheckIn(checkIn);
+            req.setCheckOut(checkIn.plusDays(2));
+            reservationService.create(GUEST_EMAIL, req);
+        }
+    }
+
+    @Test
+    void hotelList() throws Exception {
+        expectOk("GET /api/hotels", "/api/hotels");
+    }
+
+    @Test
+    void hotelPages() throws Exception {
+        expectOk("GET /api/hotels?limit=20", "/api/hotels?limit=20");
+        expectOk("GET /api/hotels?city=Mendoza", "/api/hotels?city=Mendoza&limit=50");
+        expectOk("GET /api/hotels?categoryId=", "/api/hotels?categoryId=" + categoryId + "&limit=50");
+    }
+
+    // Igual que la búsqueda: sin distinguir mayúsculas, acentos ni espacios de más
+    @Test
+    void hotelPagesFoldTheCity() throws Exception {
+        mvc.perform(get("/api/hotels?city=cordoba&limit=50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(50));
+        mvc.perform(get("/api/hotels?city=  MENDOZA &categoryId=" + categoryId + "&limit=50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(50));
+    }
+
+    @Test
+    void hotelDetail() throws Exception {
+        expectOk("GET /api/hotels/{id}", "/api/hotels/" + firstHotelId);
+    }
+
+    @Test
+    void hotelSearchAndFacets() throws Exception {
+        expectOk("GET /api/hotels/search", "/api/hotels/search?city=Mendoza&categoryId=" + categoryId + "&limit=100");
+        expectOk("GET /api/hotels/search?q=", "/api/hotels/search?q=montaña&limit=100");
+        expectOk("GET /api/hotels/facets", "/api/hotels/facets?city=Salta");
+        expectOk("GET /api/hotels/search?range=", "/api/hotels/search?range=" + roomsId + ":40-&limit=100");
+    }
+
+    @Test
+    void hotelComparison() throws Exception {
+        expectOk("GET /api/hotels/compare", "/api/hotels/compare?id=" + firstHotelId + "&id=" + (firstHotelId + 1));
+    }
+
+    @Test
+    void catalogLists() throws Exception {
+        expectOk("GET /api/categories", "/api/categories");
+        expectOk("GET /api/characteristics", "/api/characteristics");
+    }
+
+    @Test
+    void suggestions() throws Exception {
+        expectOk("GET /api/cities", "/api/cities?s=men");
+        expectOk("GET /api/autocomplete", "/api/autocomplete?q=hot");
+    }
+
+    @Test
+    void nearby() throws Exception {
+        expectOk("GET /api/hotels/near", "/api/hotels/near?lat=-32.89&lng=-68.84&radiusKm=5&limit=50");
+        mvc.perform(get("/api/hotels/near?lat=NaN&lng=-68.84&radiusKm=5")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/hotels/near?lat=-32.89&lng=NaN&radiusKm=5")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void priceQuote() throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(7);
+        expectOk("GET /api/hotels/{id}/price", "/api/hotels/" + firstHotelId
+                + "/price?checkIn=" + checkIn + "&checkOut=" + checkIn.plusDays(3));
+    }
+
+    @Test
+    void reviews() throws Exception {
+        expectOk("GET /api/hotels/{id}/reviews", "/api/hotels/" + firstHotelId + "/reviews?limit=" + REVIEWS);
+    }
+
+    // Los 1.000 hoteles comparten categorías y wifi: hay candidatos de sobra
+    @Test
+    void similarHotels() throws Exception {
+        expectOk("GET /api/hotels/{id}/similar", "/api/hotels/" + firstHotelId + "/similar?limit=6");
+    }
+
+    // Requiere usuario: la búsqueda del usuario para autenticar entra en el presupuesto
+    @Test
+    void availability() throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(7);
+        expectOk("GET /api/reservations/availability", get("/api/reservations/availability")
+                .param("hotelId", String.valueOf(firstHotelId))
+                .param("checkIn", checkIn.toString())
+                .param("checkOut", checkIn.plusDays(3).toString())
+                .header(HttpHeaders.AUTHORIZATION, basicAuth(GUEST_EMAIL, GUEST_PASSWORD)));
+    }
+
+    // =============================
+    // USUARIO AUTENTICADO
+    // =============================
+
+    @Test
+    void profile() throws Exception {
+        expectOk("GET /api/me", asGuest(get("/api/me")));
+    }
+
+    @Test
+    void favorites() throws Exception {
+        expectOk("GET /api/me/favorites", asGuest(get("/api/me/favorites")));
+        expectOk("GET /api/me/favorites/ids", asGuest(get("/api/me/favorites/ids")));
+    }
+
+    @Test
+    void myReservations() throws Exception {
+        expectOk("GET /api/reservations", asGuest(get("/api/reservations")));
+    }
+
+    // =============================
+    // ESCRITURAS
+    // =============================
+
+    @Test
+    void userWrites() throws Exception {
+        expectWrite("PUT /api/me/favorites/{id}", asGuest(put("/api/me/favorites/" + lastHotelId)));
+
+        LocalDate checkIn = LocalDate.now().plusDays(60);
+        expectWrite("POST /api/reservations", asGuest(post("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"hotelId\":" + lastHotelId + ",\"checkIn\":\"" + checkIn
+                        + "\",\"checkOut\":\"" + checkIn.plusDays(3) + "\",\"rooms\":1}")));
+        expectWrite("POST /api/hotels/{id}/reviews", asGuest(post("/api/hotels/" + lastHotelId + "/reviews")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"score\":4,\"text\":\"Muy bueno\"}")));
+    }
+
+    @Test
+    void adminHotelWrites() throws Exception {
+        expectWrite("PUT /api/admin/hotels/{id}", asAdmin(put("/api/admin/hotels/" + lastHotelId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Hotel Renovado\",\"city\":\"Rosario\",\"address\":\"Calle 999\","
+                        + "\"description\":\"Recién renovado\",\"rooms\":4}")));
+        expectWrite("PATCH /api/admin/hotels/{id}/characteristics", asAdmin(patch("/api/admin/hotels/" + lastHotelId + "/characteristics")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"characteristicId\":" + wifiId + ",\"boolValue\":true},"
+                        + "{\"characteristicId\":" + roomsId + ",\"numValue\":25}]")));
+        expectWrite("PUT /api/admin/hotels/{id}/pricing", asAdmin(put("/api/admin/hotels/" + lastHotelId + "/pricing")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"baseRate\":150,\"rules\":[{\"weekdays\":[\"FRIDAY\",\"SATURDAY\"],\"percent\":15}]}")));
+    }
+
+    // Renombrar reescribe la vista de todos los hoteles que la usan: el costo va por lotes, no por hotel
+    @Test
+    void catalogRenames() throws Exception {
+        expectRename("PUT /api/admin/characteristics/{id}", asAdmin(put("/api/admin/characteristics/" + wifiId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Wi-Fi\",\"icon\":\"wifi\",\"type\":\"BOOLEAN\"}")));
+        expectRename("PUT /api/categories/{id}", asAdmin(put("/api/categories/" + categoryId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Categoría renombrada\",\"slug\":\"categoria-0\",\"description\":\"Descripción 0\"}")));
+    }
+
+    private void expectOk(String description, String url) throws Exception {
+        expectOk(description, get(url));
+    }
+
+    private void expectOk(String description, MockHttpServletRequestBuilder request) throws Exception {
+        SqlStatementBudget.assertAtMost(MAX_STATEMENTS, description,
+                () -> mvc.perform(request).andExpect(status().isOk()));
+    }
+
+    private void expectWrite(String description, MockHttpServletRequestBuilder request) throws Exception {
+        SqlStatementBudget.assertAtMost(MAX_WRITE_STATEMENTS, description,
+                () -> mvc.perform(request).andExpect(status().is2xxSuccessful()));
+    }
+
+    private void expectRename(String description, MockHttpServletRequestBuilder request) throws Exception {
+        SqlStatementBudget.assertAtMost(MAX_RENAME_STATEMENTS, description,
+                () -> mvc.perform(request).andExpect(status().isOk()));
+    }
+
+    private static MockHttpServletRequestBuilder asGuest(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, basicAuth(GUEST_EMAIL, GUEST_PASSWORD));
+    }
+
+    private static MockHttpServletRequestBuilder asAdmin(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, basicAuth(ADMIN_EMAIL, ADMIN_PASSWORD));
+    }
+
+    private static String basicAuth(String user, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
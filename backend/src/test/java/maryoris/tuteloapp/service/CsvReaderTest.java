@@ -0,0 +1,87 @@
+package maryoris.tuteloapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * CsvReader: campos entre comillas (comas, "" y saltos de línea adentro) y
+ * número de línea de cada registro con finales \n, \r\n y \r.
+ */
+class CsvReaderTest {
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() throws IOException {
+        CsvReader csv = reader("name,description\n\"Hotel \"\"Sol\"\"\",\"Playa, pileta y spa\"\n");
+
+        assertThat(csv.next()).containsExactly("name", "description");
+        assertThat(csv.next()).containsExactly("Hotel \"Sol\"", "Playa, pileta y spa");
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void newlineInsideQuotesBelongsToTheField() throws IOException {
+        CsvReader csv = reader("name,description\nHotel A,\"Primera\nsegunda\r\ntercera\"\nHotel B,x\n");
+
+        csv.next();
+        assertThat(csv.next()).containsExactly("Hotel A", "Primera\nsegunda\r\ntercera");
+        assertThat(csv.recordLine()).isEqualTo(2);
+        assertThat(csv.next()).containsExactly("Hotel B", "x");
+        assertThat(csv.recordLine()).isEqualTo(5);
+    }
+
+    @Test
+    void lineNumbersWithEveryLineEnding() throws IOException {
+        for (String eol : List.of("\n", "\r\n", "\r")) {
+            CsvReader csv = reader("name" + eol + "A" + eol + eol + "B" + eol + "C");
+
+            assertThat(csv.next()).containsExactly("name");
+            assertThat(csv.recordLine()).as("eol %s", eol.replace("\r", "CR").replace("\n", "LF")).isEqualTo(1);
+            assertThat(csv.next()).containsExactly("A");
+            assertThat(csv.recordLine()).isEqualTo(2);
+            // La línea en blanco se salta pero cuenta
+            assertThat(csv.next()).containsExactly("B");
+            assertThat(csv.recordLine()).isEqualTo(4);
+            assertThat(csv.next()).containsExactly("C");
+            assertThat(csv.recordLine()).isEqualTo(5);
+            assertThat(csv.next()).isNull();
+        }
+    }
+
+    @Test
+    void quotedFieldEndingARecordWithCr() throws IOException {
+        CsvReader csv = reader("\"A\"\r\"B\"\r\n\"C\"");
+
+        assertThat(csv.next()).containsExactly("A");
+        assertThat(csv.next()).containsExactly("B");
+        assertThat(csv.recordLine()).isEqualTo(2);
+        assertThat(csv.next()).containsExactly("C");
+        assertThat(csv.recordLine()).isEqualTo(3);
+    }
+
+    @Test
+    void emptyFieldsAreKept() throws IOException {
+        CsvReader csv = reader("a,,\"\",d\n");
+
+        assertThat(csv.next()).containsExactly("a", "", "", "d");
+    }
+
+    @Test
+    void unclosedQuoteReportsWhereTheRecordStarted() throws IOException {
+        CsvReader csv = reader("name\r\n\"Hotel\r\nsin cerrar");
+
+        csv.next();
+        assertThatThrownBy(csv::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("línea 2");
+    }
+
+    private static CsvReader reader(String text) {
+        return new CsvReader(new StringReader(text));
+    }
+}
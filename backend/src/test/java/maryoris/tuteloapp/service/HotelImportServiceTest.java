@@ -0,0 +1,126 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.HotelImportError;
+import maryoris.tuteloapp.dto.HotelImportResponse;
+import maryoris.tuteloapp.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/*
+ * HotelImportService: errores de validación con la línea del archivo, BOM en
+ * el encabezado y reintento fila por fila cuando un lote falla en la base.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hotel-import;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class HotelImportServiceTest {
+
+    @DynamicPropertySource
+    static void indexDir(DynamicPropertyRegistry registry) throws IOException {
+        String dir = Files.createTempDirectory("tutelo-text-index").toString();
+        registry.add("tutelo.search.index-dir", () -> dir);
+    }
+
+    @Autowired private HotelImportService importService;
+    @Autowired private HotelRepository hotelRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void emptyDatabase() {
+        jdbcTemplate.update("DELETE FROM hotel_public_view");
+        jdbcTemplate.update("DELETE FROM hotel_categories");
+        jdbcTemplate.update("DELETE FROM hotel_characteristics");
+        hotelRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void invalidRowsAreReportedWithTheirLine() {
+        HotelImportResponse report = importCsv("""
+                name,city,address,latitude,longitude,rooms
+                Hotel Norte,Salta,Belgrano 10,,,2
+                ,Salta,Belgrano 20,,,
+                Hotel Sur,Ushuaia,"San Martín 5,
+                piso 2",NaN,-68.3,
+                Hotel Este,Posadas,Colón 1,,,0
+                hotel  norte,Salta,Belgrano 30,,,
+                Hotel Oeste,Mendoza,Sarmiento 4,,,muchas
+                """);
+
+        assertThat(report.getTotal()).isEqualTo(6);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors())
+                .extracting(HotelImportError::getLine, HotelImportError::getMessage)
+                .containsExactly(
+                        tuple(3L, "Nombre, Ciudad y Dirección son obligatorios"),
+                        tuple(4L, "latitude must be between -90 and 90"),
+                        tuple(6L, "rooms must be >= 1"),
+                        tuple(7L, "Ya existe un hotel con ese nombre"),
+                        tuple(8L, "rooms inválido: muchas"));
+    }
+
+    @Test
+    void byteOrderMarkBeforeTheHeaderIsIgnored() {
+        HotelImportResponse report = importCsv("\uFEFFname,city,address\r\nHotel Norte,Salta,Belgrano 10\r\n");
+
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(hotelRepository.findAll()).extracting("name").containsExactly("Hotel Norte");
+    }
+
+    @Test
+    void byteOrderMarkBeforeTheFirstJsonLineIsIgnored() {
+        HotelImportResponse report = importNdjson(
+                "\uFEFF{\"name\":\"Hotel Norte\",\"city\":\"Salta\",\"address\":\"Belgrano 10\"}\n");
+
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(report.getImported()).isEqualTo(1);
+    }
+
+    @Test
+    void aRowTheDatabaseRejectsDoesNotSinkItsChunk() {
+        // La dirección pasa la validación pero no entra en la columna (255)
+        String tooLong = "Calle ".repeat(60);
+        HotelImportResponse report = importCsv("""
+                name,city,address
+                Hotel Uno,Salta,Belgrano 1
+                Hotel Dos,Salta,%s
+                Hotel Tres,Salta,Belgrano 3
+                """.formatted(tooLong));
+
+        assertThat(report.getTotal()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors())
+                .extracting(HotelImportError::getLine, HotelImportError::getName)
+                .containsExactly(tuple(3L, "Hotel Dos"));
+        assertThat(report.getErrors().get(0).getMessage()).startsWith("No se pudo guardar");
+        assertThat(hotelRepository.findAll()).extracting("name")
+                .containsExactlyInAnyOrder("Hotel Uno", "Hotel Tres");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hotel_public_view", Long.class)).isEqualTo(2);
+    }
+
+    private HotelImportResponse importCsv(String text) {
+        return importService.importHotels(stream(text), HotelImportService.Format.CSV);
+    }
+
+    private HotelImportResponse importNdjson(String text) {
+        return importService.importHotels(stream(text), HotelImportService.Format.NDJSON);
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
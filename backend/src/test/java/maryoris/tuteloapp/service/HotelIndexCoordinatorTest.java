@@ -0,0 +1,75 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.repository.HotelCharacteristicRepository;
+import maryoris.tuteloapp.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+ * HotelIndexCoordinator: si una característica pasa de BOOLEAN a NUMBER,
+ * los hoteles que la tenían marcada dejan de figurar en sus postings y
+ * de compartir ese rasgo en HotelSimilarityIndex.
+ */
+class HotelIndexCoordinatorTest {
+
+    private static final long POOL = 7L;
+    private static final long CATEGORY = 1L;
+
+    private final HotelSearchIndex searchIndex = new HotelSearchIndex();
+    private final HotelSimilarityIndex similarityIndex = new HotelSimilarityIndex();
+
+    private HotelCharacteristicRepository hotelCharacteristicRepository;
+    private HotelProjectionService projections;
+    private HotelIndexCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        hotelCharacteristicRepository = mock(HotelCharacteristicRepository.class);
+        projections = mock(HotelProjectionService.class);
+        coordinator = new HotelIndexCoordinator(mock(HotelRepository.class), hotelCharacteristicRepository,
+                projections, List.of(searchIndex, similarityIndex));
+
+        // Dos hoteles que solo se parecen por la pileta
+        List<HotelSnapshot> hotels = List.of(
+                hotel(1, Set.of(CATEGORY), Set.of(POOL), Map.of()),
+                hotel(2, Set.of(), Set.of(POOL), Map.of())
+        );
+        searchIndex.rebuild(hotels);
+        similarityIndex.rebuild(hotels);
+    }
+
+    @Test
+    void characteristicTypeChangeUpdatesPostingsAndFeatures() {
+        assertThat(matches(POOL)).containsExactly(1, 2);
+        assertThat(similarityIndex.similar(1L, 5)).extracting(HotelSimilarityIndex.Hit::getHotelId).containsExactly(2L);
+
+        // Ahora es NUMBER: los valores booleanos ya no cuentan
+        when(hotelCharacteristicRepository.findHotelIdsByCharacteristicId(POOL)).thenReturn(List.of(1L, 2L));
+        when(projections.loadSnapshots(List.of(1L, 2L))).thenReturn(List.of(
+                hotel(1, Set.of(CATEGORY), Set.of(), Map.of(POOL, 25)),
+                hotel(2, Set.of(), Set.of(), Map.of(POOL, 12))
+        ));
+
+        coordinator.onCatalogChanged(new CatalogChangedEvent(CatalogChangedEvent.Kind.CHARACTERISTIC, POOL));
+
+        assertThat(matches(POOL)).isEmpty();
+        assertThat(similarityIndex.similar(1L, 5)).isEmpty();
+    }
+
+    private List<Integer> matches(long characteristicId) {
+        return searchIndex.match(new HotelSearchCriteria(List.of(), List.of(), List.of(characteristicId)))
+                .stream().boxed().toList();
+    }
+
+    private static HotelSnapshot hotel(long id, Set<Long> categories, Set<Long> enabled, Map<Long, Integer> numeric) {
+        return new HotelSnapshot(id, "Hotel " + id, "Salta", "Calle " + id, "", categories, enabled, numeric);
+    }
+}
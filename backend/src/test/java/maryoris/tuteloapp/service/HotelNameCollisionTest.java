@@ -0,0 +1,141 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.HotelPricingRequest;
+import maryoris.tuteloapp.dto.HotelRequest;
+import maryoris.tuteloapp.entity.CategoryEntity;
+import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.repository.CategoryRepository;
+import maryoris.tuteloapp.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * Dos hoteles viejos (anteriores a normalized_name) con el mismo nombre:
+ * el backfill deja sin valor al segundo y ese hotel se tiene que poder
+ * seguir editando sin chocar con uk_hotels_normalized_name.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:name-collision;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HotelNameCollisionTest {
+
+    @DynamicPropertySource
+    static void indexDir(DynamicPropertyRegistry registry) throws IOException {
+        String dir = Files.createTempDirectory("tutelo-text-index").toString();
+        registry.add("tutelo.search.index-dir", () -> dir);
+    }
+
+    @Autowired private HotelService hotelService;
+    @Autowired private HotelNameFilter nameFilter;
+    @Autowired private HotelRepository hotelRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long original;
+    private Long repeated;
+    private Long categoryId;
+
+    @BeforeAll
+    void seedCategory() {
+        CategoryEntity category = new CategoryEntity();
+        category.setName("Cabañas");
+        category.setSlug("cabanas");
+        category.setDescription("Cabañas");
+        category.setImageUrl("/uploads/cabanas.jpg");
+        categoryId = categoryRepository.save(category).getId();
+    }
+
+    @BeforeEach
+    void twoOldHotelsWithTheSameName() {
+        jdbcTemplate.update("DELETE FROM hotel_public_view");
+        jdbcTemplate.update("DELETE FROM hotel_categories");
+        hotelRepository.deleteAllInBatch();
+
+        original = hotelRepository.saveAndFlush(hotel("Hotel Sol")).getId();
+        repeated = hotelRepository.saveAndFlush(hotel("Hotel Luna")).getId();
+
+        // Como quedaron antes de que existiera la columna
+        jdbcTemplate.update("UPDATE hotels SET normalized_name = NULL");
+        jdbcTemplate.update("UPDATE hotels SET name = 'Hotel  Sol' WHERE id = ?", repeated);
+        nameFilter.backfillNormalizedNames();
+    }
+
+    @Test
+    void backfillLeavesTheSecondOneEmpty() {
+        assertThat(normalizedName(original)).isEqualTo("hotel sol");
+        assertThat(normalizedName(repeated)).isNull();
+    }
+
+    @Test
+    void updateKeepingTheNameSucceeds() {
+        HotelEntity updated = hotelService.update(repeated, request("Hotel  Sol", "Frente a la plaza"));
+
+        assertThat(updated.getDescription()).isEqualTo("Frente a la plaza");
+        assertThat(normalizedName(repeated)).isNull();
+    }
+
+    @Test
+    void otherWritesSucceed() {
+        hotelService.updateCategories(repeated, List.of(categoryId));
+
+        HotelPricingRequest pricing = new HotelPricingRequest();
+        pricing.setBaseRate(120);
+        hotelService.updatePricing(repeated, pricing);
+
+        assertThat(hotelRepository.findById(repeated).orElseThrow().getBaseRate()).isEqualTo(120);
+        assertThat(normalizedName(repeated)).isNull();
+    }
+
+    @Test
+    void renamingFillsTheNormalizedName() {
+        hotelService.update(repeated, request("Hotel Sol Naciente", null));
+
+        assertThat(normalizedName(repeated)).isEqualTo("hotel sol naciente");
+    }
+
+    @Test
+    void renamingOntoTheTakenNameIsAConflict() {
+        assertThatThrownBy(() -> hotelService.update(repeated, request("hotel sol", null)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    private String normalizedName(Long id) {
+        return jdbcTemplate.queryForObject("SELECT normalized_name FROM hotels WHERE id = ?", String.class, id);
+    }
+
+    private static HotelEntity hotel(String name) {
+        HotelEntity h = new HotelEntity();
+        h.setName(name);
+        h.setCity("Mendoza");
+        h.setAddress("San Martín 100");
+        return h;
+    }
+
+    private static HotelRequest request(String name, String description) {
+        HotelRequest req = new HotelRequest();
+        req.setName(name);
+        req.setCity("Mendoza");
+        req.setAddress("San Martín 100");
+        req.setDescription(description);
+        return req;
+    }
+}
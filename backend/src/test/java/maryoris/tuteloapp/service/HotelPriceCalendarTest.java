@@ -0,0 +1,213 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.entity.HotelRateRuleEntity;
+import maryoris.tuteloapp.repository.HotelRateRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.SATURDAY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+ * HotelPriceCalendar: los días de la semana de las reglas coinciden con
+ * DayOfWeek, las reglas se aplican en orden de prioridad (fija reemplaza,
+ * porcentaje ajusta lo que dejó la anterior), las noches sin tarifa dejan
+ * la estadía sin precio y un calendario atrasado se rearma con las mismas reglas.
+ */
+class HotelPriceCalendarTest {
+
+    // Domingo
+    private static final LocalDate TODAY = LocalDate.of(2026, 12, 20);
+    private static final long HOTEL = 1L;
+
+    private HotelRateRuleRepository ruleRepository;
+    private HotelPriceCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        ruleRepository = mock(HotelRateRuleRepository.class);
+        calendar = new HotelPriceCalendar(ruleRepository);
+        today(TODAY);
+    }
+
+    @Test
+    void seasonAndWeekendTotals() {
+        // Temporada de enero a 150 y, encima, +20% viernes y sábado (como vienen de la base)
+        when(ruleRepository.findAllRows()).thenReturn(List.of(
+                row(HOTEL, 0, LocalDate.of(2027, 1, 1), LocalDate.of(2027, 1, 31), null, 150, null),
+                row(HOTEL, 1, null, null, mask(FRIDAY, SATURDAY), null, 20)
+        ));
+        calendar.rebuild(List.of(hotel(HOTEL, 100)));
+
+        // mié 100 + jue 100 + vie 180 + sáb 180 + dom 150
+        assertThat(calendar.total(HOTEL, LocalDate.of(2026, 12, 30), LocalDate.of(2027, 1, 4))).isEqualTo(710);
+        assertThat(calendar.nights(HOTEL, LocalDate.of(2026, 12, 30), LocalDate.of(2027, 1, 4)))
+                .containsExactly(100, 100, 180, 180, 150);
+        // Fuera de temporada: vie 120 + sáb 120
+        assertThat(calendar.total(HOTEL, LocalDate.of(2026, 12, 25), LocalDate.of(2026, 12, 27))).isEqualTo(240);
+        // Semana entera de temporada: 5 x 150 + 2 x 180
+        assertThat(calendar.total(HOTEL, LocalDate.of(2027, 1, 11), LocalDate.of(2027, 1, 18))).isEqualTo(1110);
+    }
+
+    @Test
+    void weekdayBitsMatchDayOfWeek() {
+        // Incluye fechas anteriores a 1970 (epochDay negativo) y fuera del arreglo
+        for (LocalDate monday : List.of(LocalDate.of(2027, 3, 1), LocalDate.of(1969, 12, 29), LocalDate.of(2031, 6, 2))) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                rates(100, rule(null, null, mask(day), 1000, null, 0));
+
+                int[] week = calendar.nights(HOTEL, monday, monday.plusDays(7));
+                for (int i = 0; i < 7; i++) {
+                    DayOfWeek night = monday.plusDays(i).getDayOfWeek();
+                    assertThat(week[i]).as("%s con regla de %s", monday.plusDays(i), day)
+                            .isEqualTo(night == day ? 1000 : 100);
+                }
+            }
+        }
+    }
+
+    @Test
+    void laterRulesWorkOnThePriceTheEarlierOnesLeft() {
+        LocalDate saturday = LocalDate.of(2027, 1, 2);
+
+        // Fija y después porcentaje: el porcentaje se aplica sobre la fija
+        rates(100, rule(null, null, 0, 200, null, 0), rule(null, null, mask(SATURDAY), null, 50, 1));
+        assertThat(calendar.total(HOTEL, saturday, saturday.plusDays(1))).isEqualTo(300);
+
+        // Porcentaje y después fija: gana la fija
+        rates(100, rule(null, null, mask(SATURDAY), null, 50, 0), rule(null, null, 0, 200, null, 1));
+        assertThat(calendar.total(HOTEL, saturday, saturday.plusDays(1))).isEqualTo(200);
+
+        // Dos porcentajes se acumulan: 100 * 1.1 = 110, 110 * 0.85 = 93.5 -> 94
+        rates(100, rule(null, null, 0, null, 10, 0), rule(null, null, 0, null, -15, 1));
+        assertThat(calendar.total(HOTEL, saturday, saturday.plusDays(1))).isEqualTo(94);
+
+        // Un descuento de más del 100% no deja precios negativos
+        rates(100, rule(null, null, 0, null, -150, 0));
+        assertThat(calendar.total(HOTEL, saturday, saturday.plusDays(1))).isZero();
+    }
+
+    @Test
+    void rulesWithoutWeekdaysFromTheDatabaseApplyEveryDay() {
+        LocalDate saturday = LocalDate.of(2027, 1, 2);
+        // findAllRows ya las trae ordenadas por priority; weekdays puede venir null
+        when(ruleRepository.findAllRows()).thenReturn(List.of(
+                row(HOTEL, 1, null, null, null, 200, null),
+                row(HOTEL, 5, null, null, mask(SATURDAY), null, 50)
+        ));
+
+        calendar.rebuild(List.of(hotel(HOTEL, 100)));
+
+        assertThat(calendar.total(HOTEL, saturday, saturday.plusDays(1))).isEqualTo(300);
+        assertThat(calendar.total(HOTEL, saturday.plusDays(1), saturday.plusDays(2))).isEqualTo(200);
+    }
+
+    @Test
+    void nightsWithoutARateLeaveTheStayUnpriced() {
+        LocalDate friday = LocalDate.of(2027, 1, 1);
+
+        // Sin tarifa base: solo el fin de semana tiene precio
+        calendar.onRatesChanged(new HotelRatesChangedEvent(HOTEL, null,
+                HotelPriceCalendar.rulesOf(List.of(rule(null, null, mask(FRIDAY, SATURDAY), 90, null, 0)))));
+        assertThat(calendar.total(HOTEL, friday, friday.plusDays(2))).isEqualTo(180);
+        assertThat(calendar.total(HOTEL, friday, friday.plusDays(3))).isEqualTo(HotelPriceCalendar.NO_PRICE);
+        assertThat(calendar.nights(HOTEL, friday, friday.plusDays(3))).containsExactly(90, 90, -1);
+
+        // Un porcentaje no le pone precio a una noche que no lo tiene
+        calendar.onRatesChanged(new HotelRatesChangedEvent(HOTEL, null,
+                HotelPriceCalendar.rulesOf(List.of(rule(null, null, 0, null, 10, 0)))));
+        assertThat(calendar.total(HOTEL, friday, friday.plusDays(1))).isEqualTo(HotelPriceCalendar.NO_PRICE);
+
+        // Sin reglas ni tarifa base, y hotel inexistente
+        calendar.rebuild(List.of(hotel(HOTEL, null), hotel(2L, 80)));
+        assertThat(calendar.total(HOTEL, friday, friday.plusDays(1))).isEqualTo(HotelPriceCalendar.NO_PRICE);
+        assertThat(calendar.total(99L, friday, friday.plusDays(1))).isEqualTo(HotelPriceCalendar.NO_PRICE);
+        assertThat(calendar.totals(List.of(HOTEL, 2L, 99L), friday, friday.plusDays(2)))
+                .containsExactly(HotelPriceCalendar.NO_PRICE, 160, HotelPriceCalendar.NO_PRICE);
+        assertThat(calendar.withinPrice(friday, friday.plusDays(2), null, null).stream().boxed().toList())
+                .containsExactly(2);
+    }
+
+    @Test
+    void staleCalendarIsRebuiltWithTheSameRules() {
+        when(ruleRepository.findAllRows()).thenReturn(List.of(
+                row(HOTEL, 0, null, null, mask(FRIDAY, SATURDAY), null, 20)
+        ));
+        calendar.rebuild(List.of(hotel(HOTEL, 100)));
+
+        // Tres semanas después: el arreglo quedó atrasado más de STALE_DAYS
+        today(TODAY.plusDays(21));
+
+        // Viernes y sábado que el arreglo original no cubría
+        LocalDate friday = LocalDate.of(2028, 1, 7);
+        assertThat(friday.getDayOfWeek()).isEqualTo(FRIDAY);
+        assertThat(calendar.total(HOTEL, friday, friday.plusDays(3))).isEqualTo(120 + 120 + 100);
+        // Y una estadía que ya quedó antes del arreglo nuevo
+        assertThat(calendar.total(HOTEL, LocalDate.of(2026, 12, 25), LocalDate.of(2026, 12, 28))).isEqualTo(340);
+
+        // Un cambio de tarifa base conserva las reglas
+        calendar.onHotelChanged(HotelChangedEvent.saved(hotel(HOTEL, 200)));
+        assertThat(calendar.total(HOTEL, friday, friday.plusDays(3))).isEqualTo(240 + 240 + 200);
+        verify(ruleRepository, times(1)).findAllRows();
+    }
+
+    private void today(LocalDate day) {
+        calendar.setClock(Clock.fixed(day.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    private void rates(Integer baseRate, HotelRateRuleEntity... rules) {
+        calendar.onRatesChanged(new HotelRatesChangedEvent(HOTEL, baseRate, HotelPriceCalendar.rulesOf(List.of(rules))));
+    }
+
+    // Mismo armado que HotelService: bit 0 = lunes ... bit 6 = domingo
+    private static int mask(DayOfWeek... days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+
+    private static HotelRateRuleEntity rule(LocalDate start, LocalDate end, int weekdays,
+                                            Integer fixedRate, Integer percent, int priority) {
+        HotelRateRuleEntity rule = new HotelRateRuleEntity();
+        rule.setStartDate(start);
+        rule.setEndDate(end);
+        rule.setWeekdays(weekdays);
+        rule.setFixedRate(fixedRate);
+        rule.setPercent(percent);
+        rule.setPriority(priority);
+        return rule;
+    }
+
+    private static HotelRateRuleRepository.RuleRow row(long hotelId, int priority, LocalDate start, LocalDate end,
+                                                       Integer weekdays, Integer fixedRate, Integer percent) {
+        return new HotelRateRuleRepository.RuleRow() {
+            @Override public Long getHotelId() { return hotelId; }
+            @Override public LocalDate getStartDate() { return start; }
+            @Override public LocalDate getEndDate() { return end; }
+            @Override public Integer getWeekdays() { return weekdays; }
+            @Override public Integer getFixedRate() { return fixedRate; }
+            @Override public Integer getPercent() { return percent; }
+            @Override public Integer getPriority() { return priority; }
+        };
+    }
+
+    private static HotelSnapshot hotel(long id, Integer baseRate) {
+        return new HotelSnapshot(id, 0, "Hotel " + id, "Salta", "Calle " + id, "", null, null, 1, baseRate, 0, 0,
+                Set.of(), Set.of(), Map.of());
+    }
+}
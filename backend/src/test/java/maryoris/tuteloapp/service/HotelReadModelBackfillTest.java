@@ -0,0 +1,70 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Filas de hotel_public_view escritas con un formato anterior (sin los campos
+ * que se agregaron después) se vuelven a armar al arrancar, con versión nueva.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:read-model-backfill;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class HotelReadModelBackfillTest {
+
+    @DynamicPropertySource
+    static void indexDir(DynamicPropertyRegistry registry) throws IOException {
+        String dir = Files.createTempDirectory("tutelo-text-index").toString();
+        registry.add("tutelo.search.index-dir", () -> dir);
+    }
+
+    @Autowired private HotelReadModelService readModel;
+    @Autowired private HotelRepository hotelRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rowsWithAnOlderFormatAreRenderedAgain() {
+        HotelEntity hotel = new HotelEntity();
+        hotel.setName("Hotel Aconcagua");
+        hotel.setCity("Mendoza");
+        hotel.setAddress("San Martín 100");
+        Long id = hotelRepository.saveAndFlush(hotel).getId();
+
+        readModel.backfill();
+        long version = hotelVersion(id);
+
+        // Como quedó escrita antes de que existieran rating y reviewCount
+        jdbcTemplate.update("""
+            UPDATE hotel_public_view
+            SET format_version = 0,
+                summary_json = '{"id":%d,"name":"Hotel Aconcagua","city":"Mendoza"}'
+            WHERE hotel_id = ?
+        """.formatted(id), id);
+
+        readModel.backfill();
+
+        String summary = jdbcTemplate.queryForObject(
+                "SELECT summary_json FROM hotel_public_view WHERE hotel_id = ?", String.class, id);
+        assertThat(summary).contains("\"reviewCount\"");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT format_version FROM hotel_public_view WHERE hotel_id = ?", Integer.class, id))
+                .isEqualTo(HotelReadModelService.FORMAT_VERSION);
+        assertThat(hotelVersion(id)).isGreaterThan(version);
+    }
+
+    private long hotelVersion(Long id) {
+        return jdbcTemplate.queryForObject("SELECT hotel_version FROM hotel_public_view WHERE hotel_id = ?", Long.class, id);
+    }
+}
@@ -0,0 +1,83 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.HotelFacetsResponse;
+
+import java.util.*;
+
+/*
+ * Benchmark manual (no corre con los tests): mide la latencia de
+ * HotelSearchIndex.facetCounts con un catálogo sintético.
+ *
+ *   java -cp target/classes:target/test-classes \
+ *        maryoris.tuteloapp.service.HotelSearchIndexBenchmark [hoteles]
+ */
+public class HotelSearchIndexBenchmark {
+
+    private static final int CITIES = 400;
+    private static final int CATEGORIES = 12;
+    private static final int CHARACTERISTICS = 30;
+    private static final int WARMUP = 2_000;
+    private static final int RUNS = 5_000;
+
+    public static void main(String[] args) {
+        int hotels = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(42);
+
+        List<HotelSnapshot> catalog = new ArrayList<>(hotels);
+        for (long id = 1; id <= hotels; id++) {
+            Set<Long> categories = Set.of(1L + random.nextInt(CATEGORIES));
+
+            Set<Long> enabled = new HashSet<>();
+            for (long c = 1; c <= CHARACTERISTICS; c++) {
+                // Características comunes (Wi-Fi) y raras (spa) mezcladas
+                if (random.nextDouble() < 1.0 / c) {
+                    enabled.add(c);
+                }
+            }
+
+            catalog.add(new HotelSnapshot(
+                    id,
+                    "Hotel " + id,
+                    "Ciudad " + random.nextInt(CITIES),
+                    "Calle " + id,
+                    "",
+                    categories,
+                    enabled,
+                    Map.of()
+            ));
+        }
+
+        HotelSearchIndex index = new HotelSearchIndex();
+        long start = System.nanoTime();
+        index.rebuild(catalog);
+        System.out.printf("rebuild de %,d hoteles: %.1f ms%n", hotels, (System.nanoTime() - start) / 1e6);
+
+        List<HotelSearchCriteria> queries = List.of(
+                new HotelSearchCriteria(null, null, null),
+                new HotelSearchCriteria(List.of("Ciudad 7"), null, null),
+                new HotelSearchCriteria(null, List.of(3L), List.of(1L, 2L)),
+                new HotelSearchCriteria(List.of("Ciudad 7", "Ciudad 8"), List.of(3L, 4L), List.of(1L))
+        );
+
+        for (int i = 0; i < WARMUP; i++) {
+            index.facetCounts(queries.get(i % queries.size()), null);
+        }
+
+        long[] samples = new long[RUNS];
+        long sink = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long t0 = System.nanoTime();
+            HotelFacetsResponse r = index.facetCounts(queries.get(i % queries.size()), null);
+            samples[i] = System.nanoTime() - t0;
+            sink += r.getTotal();
+        }
+
+        Arrays.sort(samples);
+        System.out.printf("facetCounts (%d corridas): p50 %.3f ms | p99 %.3f ms | max %.3f ms (checksum %d)%n",
+                RUNS,
+                samples[RUNS / 2] / 1e6,
+                samples[(int) (RUNS * 0.99)] / 1e6,
+                samples[RUNS - 1] / 1e6,
+                sink);
+    }
+}
@@ -0,0 +1,92 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+ * HotelTextIndex: la foto más el journal se restauran solo si coinciden con
+ * la base (cantidad, id máximo y suma de versiones), y el journal no crece
+ * sin límite mientras la aplicación sigue levantada.
+ */
+class HotelTextIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private HotelRepository hotelRepository;
+    private HotelTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        hotelRepository = mock(HotelRepository.class);
+        index = new HotelTextIndex(hotelRepository, dir.toString());
+        index.rebuild(List.of(hotel(1, 3, "Frente al mar"), hotel(2, 5, "Cerca del centro")));
+    }
+
+    @Test
+    void restoresSnapshotAndJournalWhenVersionsMatch() {
+        index.onHotelChanged(HotelChangedEvent.saved(hotel(1, 4, "Con piscina climatizada")));
+        index.onHotelChanged(HotelChangedEvent.rated(hotel(2, 6, "Cerca del centro")));
+        database(2, 2L, 4 + 6);
+
+        HotelTextIndex restored = new HotelTextIndex(hotelRepository, dir.toString());
+
+        assertThat(restored.restore()).isTrue();
+        assertThat(restored.search("piscina", null)).containsExactly(1L);
+        assertThat(restored.search("mar", null)).isEmpty();
+    }
+
+    @Test
+    void rebuildsWhenAHotelChangedWithoutReachingTheJournal() {
+        // Misma cantidad e id máximo, pero el hotel 1 se editó (versión 4)
+        database(2, 2L, 4 + 5);
+
+        HotelTextIndex restored = new HotelTextIndex(hotelRepository, dir.toString());
+
+        assertThat(restored.restore()).isFalse();
+    }
+
+    @Test
+    void compactsTheJournalWhenItGrowsTooLarge() throws Exception {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            description.append("termino").append(i).append(' ');
+        }
+
+        long version = 3;
+        for (int i = 0; i < 200; i++) {
+            index.onHotelChanged(HotelChangedEvent.saved(hotel(1, ++version, description.toString())));
+        }
+
+        Path journal = dir.resolve("hotels.journal");
+        assertThat(!Files.exists(journal) || Files.size(journal) < 4L * 1024 * 1024).isTrue();
+
+        database(2, 2L, version + 5);
+        HotelTextIndex restored = new HotelTextIndex(hotelRepository, dir.toString());
+        assertThat(restored.restore()).isTrue();
+        assertThat(restored.search("termino7", null)).containsExactly(1L);
+    }
+
+    private void database(long count, Long maxId, long versionSum) {
+        when(hotelRepository.count()).thenReturn(count);
+        when(hotelRepository.findMaxId()).thenReturn(maxId);
+        when(hotelRepository.sumVersions()).thenReturn(versionSum);
+    }
+
+    private static HotelSnapshot hotel(long id, long version, String description) {
+        return new HotelSnapshot(id, version, "Hotel " + id, "Salta", "Calle " + id, description, null, null, 1, null, 0, 0,
+                Set.of(), Set.of(), Map.of());
+    }
+}
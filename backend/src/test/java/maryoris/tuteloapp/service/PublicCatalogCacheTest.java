@@ -0,0 +1,116 @@
+package maryoris.tuteloapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import maryoris.tuteloapp.repository.CategoryRepository;
+import maryoris.tuteloapp.repository.CharacteristicRepository;
+import maryoris.tuteloapp.repository.HotelPublicViewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+ * PublicCatalogCache: los cambios no rearman el catálogo en el hilo del
+ * request; se juntan y se aplican en un solo lote, y mientras tanto el
+ * hotel no tiene versión publicada (el detalle no puede responder 304).
+ */
+class PublicCatalogCacheTest {
+
+    private HotelPublicViewRepository viewRepository;
+    private PublicCatalogCache cache;
+    // Versión que devuelve la "base" para cualquier hotel
+    private final AtomicLong version = new AtomicLong(1);
+
+    @BeforeEach
+    void setUp() {
+        viewRepository = mock(HotelPublicViewRepository.class);
+        when(viewRepository.findSummariesByIdIn(anyCollection())).thenAnswer(inv -> rows(inv.getArgument(0)));
+
+        cache = new PublicCatalogCache(viewRepository, mock(CategoryRepository.class),
+                mock(CharacteristicRepository.class), new ObjectMapper());
+        cache.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void manyChangesAreAppliedInOneBatch() {
+        for (long id = 1; id <= 300; id++) {
+            cache.onHotelChanged(HotelChangedEvent.deleted(id));
+        }
+        cache.onHotelsImported(new HotelsImportedEvent(List.of(hotel(301), hotel(302))));
+
+        assertThat(cache.hotelVersion(1L)).isNull();
+        verify(viewRepository, times(0)).findSummariesByIdIn(anyCollection());
+
+        cache.flushPending();
+
+        assertThat(cache.hotelVersion(1L)).isEqualTo(1L);
+        assertThat(cache.hotelVersion(302L)).isEqualTo(1L);
+        assertThat(cache.get().getHotels()).hasSize(302);
+        // Un lote de 302 hoteles se lee en bloques de BATCH_SIZE
+        verify(viewRepository, times((302 + HotelProjectionService.BATCH_SIZE - 1) / HotelProjectionService.BATCH_SIZE))
+                .findSummariesByIdIn(anyCollection());
+    }
+
+    @Test
+    void changeDuringAFlushStaysPending() {
+        cache.onHotelChanged(HotelChangedEvent.deleted(7L));
+
+        // El hotel vuelve a cambiar mientras se está leyendo el lote
+        when(viewRepository.findSummariesByIdIn(anyCollection())).thenAnswer(inv -> {
+            cache.onHotelChanged(HotelChangedEvent.deleted(7L));
+            return rows(inv.getArgument(0));
+        });
+        cache.flushPending();
+        assertThat(cache.hotelVersion(7L)).isNull();
+
+        when(viewRepository.findSummariesByIdIn(anyCollection())).thenAnswer(inv -> rows(inv.getArgument(0)));
+        version.set(2);
+        cache.flushPending();
+        assertThat(cache.hotelVersion(7L)).isEqualTo(2L);
+    }
+
+    @Test
+    void failedFlushKeepsTheChangesPending() {
+        cache.onHotelChanged(HotelChangedEvent.deleted(3L));
+        when(viewRepository.findSummariesByIdIn(anyCollection())).thenThrow(new IllegalStateException("base caída"));
+
+        cache.flushPending();
+
+        assertThat(cache.hotelVersion(3L)).isNull();
+    }
+
+    private List<HotelPublicViewRepository.SummaryRow> rows(Collection<Long> ids) {
+        List<HotelPublicViewRepository.SummaryRow> rows = new ArrayList<>();
+        for (Long id : ids) {
+            long v = version.get();
+            rows.add(new HotelPublicViewRepository.SummaryRow() {
+                @Override public Long getHotelId() { return id; }
+                @Override public long getHotelVersion() { return v; }
+                @Override public String getSummaryJson() { return "{\"id\":" + id + ",\"v\":" + v + "}"; }
+            });
+        }
+        return rows;
+    }
+
+    private static HotelSnapshot hotel(long id) {
+        return new HotelSnapshot(id, "Hotel " + id, "Salta", "Calle " + id, "", Set.of(), Set.of(), Map.of());
+    }
+}
@@ -0,0 +1,235 @@
+package maryoris.tuteloapp.service;
+
+import maryoris.tuteloapp.dto.ReservationRequest;
+import maryoris.tuteloapp.dto.ReservationResponse;
+import maryoris.tuteloapp.entity.HotelEntity;
+import maryoris.tuteloapp.entity.ReservationEntity;
+import maryoris.tuteloapp.entity.UserEntity;
+import maryoris.tuteloapp.repository.HotelRepository;
+import maryoris.tuteloapp.repository.ReservationRepository;
+import maryoris.tuteloapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+ * RoomInventory: nunca se venden más habitaciones que las que tiene el hotel,
+ * aunque muchas reservas de la misma noche lleguen a la vez, y lo que se
+ * libera (o se cancela) vuelve a estar disponible.
+ */
+class RoomInventoryTest {
+
+    private static final long HOTEL = 1L;
+    private static final int CAPACITY = 5;
+    private static final int THREADS = 32;
+
+    private final LocalDate night = LocalDate.now().plusDays(10);
+
+    private ReservationRepository reservationRepository;
+    private RoomInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        inventory = new RoomInventory(reservationRepository);
+        inventory.rebuild(List.of(hotel(HOTEL, CAPACITY)));
+    }
+
+    @Test
+    void concurrentBookingsNeverOversell() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            setUp();
+
+            int booked = bookConcurrently(() -> inventory.tryReserve(HOTEL, night, night.plusDays(1), 1));
+
+            assertThat(booked).as("reservas confirmadas en la ronda %d", round).isEqualTo(CAPACITY);
+            assertThat(inventory.available(HOTEL, night, night.plusDays(1))).isZero();
+            assertThat(inventory.availableHotels(night, night.plusDays(1)).get((int) HOTEL)).isFalse();
+        }
+    }
+
+    @Test
+    void overlappingStaysAreAllOrNothing() throws Exception {
+        // La mitad pide [n, n+2) y la otra mitad [n+1, n+3): la noche n+1 es compartida
+        int[] counter = {0};
+        int booked = bookConcurrently(() -> {
+            int offset;
+            synchronized (counter) {
+                offset = counter[0]++ % 2;
+            }
+            return inventory.tryReserve(HOTEL, night.plusDays(offset), night.plusDays(offset + 2), 1);
+        });
+
+        assertThat(booked).isEqualTo(CAPACITY);
+        assertThat(inventory.available(HOTEL, night.plusDays(1), night.plusDays(2))).isZero();
+        assertThat(inventory.available(HOTEL, night, night.plusDays(1))
+                + inventory.available(HOTEL, night.plusDays(2), night.plusDays(3))).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void releaseRestoresCapacity() {
+        assertThat(inventory.tryReserve(HOTEL, night, night.plusDays(3), CAPACITY)).isTrue();
+        assertThat(inventory.tryReserve(HOTEL, night.plusDays(1), night.plusDays(2), 1)).isFalse();
+        assertThat(inventory.availableHotels(night, night.plusDays(3)).get((int) HOTEL)).isFalse();
+
+        inventory.release(HOTEL, night, night.plusDays(3), 2);
+
+        assertThat(inventory.available(HOTEL, night, night.plusDays(3))).isEqualTo(2);
+        assertThat(inventory.availableHotels(night, night.plusDays(3)).get((int) HOTEL)).isTrue();
+        assertThat(inventory.tryReserve(HOTEL, night.plusDays(1), night.plusDays(2), 2)).isTrue();
+        assertThat(inventory.tryReserve(HOTEL, night.plusDays(1), night.plusDays(2), 1)).isFalse();
+    }
+
+    @Test
+    void cancelReleasesRooms() {
+        UserEntity user = new UserEntity();
+        user.setId(7L);
+        user.setEmail("huesped@tutelo.test");
+        HotelEntity hotel = mock(HotelEntity.class);
+        when(hotel.getId()).thenReturn(HOTEL);
+
+        HotelRepository hotelRepository = mock(HotelRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(hotelRepository.getReferenceById(HOTEL)).thenReturn(hotel);
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+        when(userRepository.findByEmailIgnoreCase(user.getEmail())).thenReturn(Optional.of(user));
+
+        List<ReservationEntity> saved = new ArrayList<>();
+        when(reservationRepository.save(any())).thenAnswer(inv -> {
+            saved.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        when(reservationRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        ReservationService service = new ReservationService(
+                reservationRepository, hotelRepository, userRepository, inventory, mock(PlatformTransactionManager.class));
+
+        ReservationRequest req = new ReservationRequest();
+        req.setHotelId(HOTEL);
+        req.setCheckIn(night);
+        req.setCheckOut(night.plusDays(2));
+        req.setRooms(CAPACITY);
+        service.create(user.getEmail(), req);
+        assertThat(inventory.available(HOTEL, night, night.plusDays(2))).isZero();
+
+        when(reservationRepository.findById(any())).thenReturn(Optional.of(saved.get(0)));
+        ReservationResponse cancelled = service.cancel(user.getEmail(), false, 1L);
+
+        assertThat(cancelled.getStatus()).isEqualTo(ReservationEntity.Status.CANCELLED.name());
+        assertThat(inventory.available(HOTEL, night, night.plusDays(2))).isEqualTo(CAPACITY);
+        assertThat(inventory.availableHotels(night, night.plusDays(2)).get((int) HOTEL)).isTrue();
+    }
+
+    @Test
+    void reusedRingSlotStartsEmpty() {
+        // night y night + RING caen en la misma posición del anillo
+        LocalDate later = night.plusDays(RoomInventory.RING);
+        assertThat(inventory.tryReserve(HOTEL, night, night.plusDays(1), CAPACITY)).isTrue();
+
+        assertThat(inventory.available(HOTEL, later, later.plusDays(1))).isEqualTo(CAPACITY);
+        assertThat(inventory.availableHotels(later, later.plusDays(1)).get((int) HOTEL)).isTrue();
+
+        assertThat(inventory.tryReserve(HOTEL, later, later.plusDays(1), 2)).isTrue();
+        assertThat(inventory.available(HOTEL, later, later.plusDays(1))).isEqualTo(CAPACITY - 2);
+        // La noche vieja ya no ocupa la posición: no arrastra su ocupación a la nueva
+        assertThat(inventory.available(HOTEL, night, night.plusDays(1))).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void notReadyUntilRebuilt() {
+        RoomInventory loading = new RoomInventory(reservationRepository);
+
+        assertThatThrownBy(loading::requireReady)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        loading.rebuild(List.of(hotel(HOTEL, CAPACITY)));
+        loading.requireReady();
+    }
+
+    @Test
+    void bookingDuringRebuildWaitsForTheNewInventory() throws Exception {
+        // Un hotel de una sola habitación: la reserva que llega en medio lo deja completo
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch finishReading = new CountDownLatch(1);
+        when(reservationRepository.findActiveNights(any())).thenAnswer(inv -> {
+            reading.countDown();
+            finishReading.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> rebuild = pool.submit(() -> inventory.rebuild(List.of(hotel(HOTEL, 1))));
+            assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<Boolean> booking = pool.submit(() -> inventory.tryReserve(HOTEL, night, night.plusDays(1), 1));
+            Thread.sleep(200);
+            assertThat(booking.isDone()).as("la reserva espera a que termine rebuild").isFalse();
+
+            finishReading.countDown();
+            rebuild.get(10, TimeUnit.SECONDS);
+            assertThat(booking.get(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(inventory.available(HOTEL, night, night.plusDays(1))).isZero();
+        assertThat(inventory.availableHotels(night, night.plusDays(1)).get((int) HOTEL)).isFalse();
+    }
+
+    private interface Booking {
+        boolean attempt();
+    }
+
+    // Lanza THREADS intentos a la vez y devuelve cuántos reservaron
+    private int bookConcurrently(Booking booking) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return booking.attempt();
+                }));
+            }
+            start.countDown();
+
+            int booked = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    booked++;
+                }
+            }
+            return booked;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static HotelSnapshot hotel(long id, int rooms) {
+        return new HotelSnapshot(id, 0, "Hotel " + id, "Salta", "Calle " + id, "", null, null, rooms, null, 0, 0,
+                Set.of(), Set.of(), Map.of());
+    }
+}
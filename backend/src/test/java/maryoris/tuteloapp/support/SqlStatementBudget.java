@@ -0,0 +1,30 @@
+package maryoris.tuteloapp.support;
+
+import maryoris.tuteloapp.config.SqlStatementCounter;
+
+import java.util.concurrent.Callable;
+
+/*
+ * Helper para tests: falla si la acción ejecuta más sentencias SQL que las
+ * permitidas. La acción corre en el hilo del test, así que sirve con MockMvc
+ * (que procesa el request en el mismo hilo) o llamando a un service directo.
+ *
+ *   SqlStatementBudget.assertAtMost(3, "GET /api/hotels",
+ *           () -> mvc.perform(get("/api/hotels")).andExpect(status().isOk()));
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {}
+
+    public static <T> T assertAtMost(long maxStatements, String description, Callable<T> action) throws Exception {
+        SqlStatementCounter.Snapshot snapshot = SqlStatementCounter.start();
+        T result = action.call();
+        long executed = snapshot.usage().getStatements();
+
+        if (executed > maxStatements) {
+            throw new AssertionError(description + " ejecutó " + executed
+                    + " sentencias SQL (máximo permitido: " + maxStatements + ")");
+        }
+        return result;
+    }
+}